@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.benchmark;
+
+import jnr.ffi.annotations.IgnoreError;
+import jnr.ffi.annotations.In;
+import jnr.ffi.annotations.Pinned;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures passing a byte[] to a native function that reads each cache line of it, when the array is copied in and out,
+ * copied in only ({@link In}), or passed without copying ({@link Pinned}).  Multiply the score by the size to get
+ * the throughput in bytes per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArrayParameterBenchmark {
+
+    public interface CopiedLib {
+        @IgnoreError int touchBytes(byte[] buf, int len);
+    }
+
+    public interface InLib {
+        @IgnoreError int touchBytes(@In byte[] buf, int len);
+    }
+
+    public interface PinnedLib {
+        @IgnoreError int touchBytes(@Pinned @In byte[] buf, int len);
+    }
+
+    @Param({ "64", "4096", "262144", "16777216" })
+    int size;
+
+    CopiedLib copiedLib;
+    InLib inLib;
+    PinnedLib pinnedLib;
+    byte[] buf;
+
+    @Setup
+    public void setup() {
+        copiedLib = BenchmarkUtil.loadTestLib(CopiedLib.class);
+        inLib = BenchmarkUtil.loadTestLib(InLib.class);
+        pinnedLib = BenchmarkUtil.loadTestLib(PinnedLib.class);
+        buf = new byte[size];
+        for (int i = 0; i < buf.length; i++) {
+            buf[i] = (byte) i;
+        }
+    }
+
+    @Benchmark
+    public int copied() {
+        return copiedLib.touchBytes(buf, buf.length);
+    }
+
+    @Benchmark
+    public int in() {
+        return inLib.touchBytes(buf, buf.length);
+    }
+
+    @Benchmark
+    public int pinned() {
+        return pinnedLib.touchBytes(buf, buf.length);
+    }
+}
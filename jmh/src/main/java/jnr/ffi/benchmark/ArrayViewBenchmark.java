@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.benchmark;
+
+import jnr.ffi.IntArray;
+import jnr.ffi.Memory;
+import jnr.ffi.Pointer;
+import jnr.ffi.Runtime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares summing native ints through the bounds checked {@link Pointer} returned by {@link Memory#allocateDirect}
+ * with summing them through an {@link IntArray} view.  Scores are per element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArrayViewBenchmark {
+    private static final int COUNT = 4096;
+
+    Pointer memory;
+    IntArray ints;
+
+    @Setup
+    public void setup() {
+        memory = Memory.allocateDirect(Runtime.getSystemRuntime(), COUNT * 4);
+        ints = memory.asIntArray(0, COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            ints.set(i, i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public int pointerLoop() {
+        int sum = 0;
+        for (int i = 0; i < COUNT; i++) {
+            sum += memory.getInt(i * 4L);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public int viewLoop() {
+        int sum = 0;
+        for (int i = 0; i < ints.length(); i++) {
+            sum += ints.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public int viewReduce() {
+        return ints.reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void viewFill() {
+        ints.fill(1);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.benchmark;
+
+import jnr.ffi.annotations.Batch;
+import jnr.ffi.annotations.IgnoreError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares calling a native function once per element from a Java loop with a single {@link Batch} call.
+ *
+ * Scores are per element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+    private static final int COUNT = 1024;
+
+    public interface Scalar {
+        @IgnoreError int returnIntI(int arg);
+        @IgnoreError double returnDoubleD(double arg);
+    }
+
+    public interface Batched {
+        @Batch int[] returnIntI(int[] arg);
+        @Batch double[] returnDoubleD(double[] arg);
+    }
+
+    Scalar scalar;
+    Batched batched;
+    int[] ints = new int[COUNT];
+    double[] doubles = new double[COUNT];
+
+    @Setup
+    public void setup() {
+        scalar = BenchmarkUtil.loadTestLib(Scalar.class);
+        batched = BenchmarkUtil.loadTestLib(Batched.class);
+        for (int i = 0; i < COUNT; i++) {
+            ints[i] = i;
+            doubles[i] = i;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public int[] scalarInt() {
+        int[] results = new int[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            results[i] = scalar.returnIntI(ints[i]);
+        }
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public int[] batchInt() {
+        return batched.returnIntI(ints);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public double[] scalarDouble() {
+        double[] results = new double[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            results[i] = scalar.returnDoubleD(doubles[i]);
+        }
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public double[] batchDouble() {
+        return batched.returnDoubleD(doubles);
+    }
+}
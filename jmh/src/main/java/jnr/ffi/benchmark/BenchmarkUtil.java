@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.benchmark;
+
+import jnr.ffi.LibraryLoader;
+import jnr.ffi.LibraryOption;
+
+/**
+ * Loads libtest (which includes libtest/Benchmark.c) for the benchmarks.
+ *
+ * The library is looked up in the directory named by the {@code jnr.ffi.benchmark.library.path}
+ * system property, falling back to {@code target} which is where the jmh build puts it.
+ */
+public final class BenchmarkUtil {
+    static final String LIBRARY_PATH = System.getProperty("jnr.ffi.benchmark.library.path", "target");
+
+    private BenchmarkUtil() {}
+
+    public static <T> T loadTestLib(Class<T> interfaceClass) {
+        return LibraryLoader.create(interfaceClass).search(LIBRARY_PATH).failImmediately().load("test");
+    }
+
+    public static <T> T loadTestLib(Class<T> interfaceClass, LibraryOption option) {
+        return LibraryLoader.create(interfaceClass).search(LIBRARY_PATH).option(option, true).failImmediately().load("test");
+    }
+}
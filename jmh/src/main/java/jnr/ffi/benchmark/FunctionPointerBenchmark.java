@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.benchmark;
+
+import jnr.ffi.annotations.Delegate;
+import jnr.ffi.annotations.IgnoreError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of a native function returning a function pointer, which is converted to a wrapper implementing
+ * the callback interface.  Run with {@code -prof gc} to see the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FunctionPointerBenchmark {
+
+    public interface Lib {
+        interface Callback {
+            @Delegate void call();
+        }
+
+        @IgnoreError Callback ret_pointer(Callback callback);
+    }
+
+    Lib lib;
+    Lib.Callback callback;
+
+    @Setup
+    public void setup() {
+        lib = BenchmarkUtil.loadTestLib(Lib.class);
+        // A wrapper of the native closure, so that each call converts it to native and back again
+        callback = lib.ret_pointer(new Lib.Callback() {
+            public void call() {
+            }
+        });
+    }
+
+    @Benchmark
+    public Lib.Callback returnFunctionPointer() {
+        return lib.ret_pointer(callback);
+    }
+}
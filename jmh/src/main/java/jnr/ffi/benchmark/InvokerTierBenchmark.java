@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.benchmark;
+
+import jnr.ffi.Memory;
+import jnr.ffi.Pointer;
+import jnr.ffi.Runtime;
+import jnr.ffi.annotations.IgnoreError;
+import jnr.ffi.provider.jffi.NoX86;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the call overhead of each of the method generators the ASM library loader can pick.
+ *
+ * The generators are tried in order (X86, FastInt, FastLong, FastNumeric, Buffer) and the first
+ * that supports a signature wins, so each tier below X86 is reached by disabling the x86 stub
+ * compiler with {@link NoX86} and choosing a signature the faster tiers reject.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvokerTierBenchmark {
+
+    /** Primitive int signatures are compiled to native stubs by the X86MethodGenerator. */
+    public interface X86 {
+        @IgnoreError void returnVoid();
+        @IgnoreError int returnIntI(int arg);
+        @IgnoreError long returnLongL(long arg);
+        @IgnoreError double returnDoubleD(double arg);
+
+        /** Calls with only direct pointers jump straight to the stub; heap arrays go through jffi's invokeN. */
+        @IgnoreError long weightedPPPPII(Pointer p1, Pointer p2, Pointer p3, Pointer p4, int i1, int i2);
+        @IgnoreError double weightedPDPIFP(Pointer p1, double d, Pointer p2, int i, float f, Pointer p3);
+        @IgnoreError long weightedPPPPII(int[] p1, int[] p2, int[] p3, int[] p4, int i1, int i2);
+    }
+
+    /** Without the x86 stubs, int-only signatures go through the FastIntMethodGenerator. */
+    @NoX86
+    public interface FastInt {
+        @IgnoreError void returnVoid();
+        @IgnoreError int returnIntI(int arg);
+    }
+
+    /** Without the x86 stubs, 64 bit integer signatures go through the FastLongMethodGenerator. */
+    @NoX86
+    public interface FastLong {
+        @IgnoreError long returnLongL(long arg);
+    }
+
+    /** Without the x86 stubs, floating point and pointer signatures go through the FastNumericMethodGenerator. */
+    @NoX86
+    public interface FastNumeric {
+        @IgnoreError double returnDoubleD(double arg);
+        @IgnoreError long weightedPPPPII(Pointer p1, Pointer p2, Pointer p3, Pointer p4, int i1, int i2);
+        @IgnoreError double weightedPDPIFP(Pointer p1, double d, Pointer p2, int i, float f, Pointer p3);
+    }
+
+    /** More parameters than the fast-numeric invokers take falls back to the BufferMethodGenerator. */
+    @NoX86
+    public interface Buffer {
+        @IgnoreError int returnIntIIIIIII(int i1, int i2, int i3, int i4, int i5, int i6, int i7);
+    }
+
+    X86 x86;
+    FastInt fastInt;
+    FastLong fastLong;
+    FastNumeric fastNumeric;
+    Buffer buffer;
+    Pointer pointer;
+    int[] array = { 1 };
+
+    @Setup
+    public void setup() {
+        pointer = Memory.allocateDirect(Runtime.getSystemRuntime(), 4);
+        pointer.putInt(0, 1);
+        x86 = BenchmarkUtil.loadTestLib(X86.class);
+        fastInt = BenchmarkUtil.loadTestLib(FastInt.class);
+        fastLong = BenchmarkUtil.loadTestLib(FastLong.class);
+        fastNumeric = BenchmarkUtil.loadTestLib(FastNumeric.class);
+        buffer = BenchmarkUtil.loadTestLib(Buffer.class);
+    }
+
+    @Benchmark
+    public void x86Void() {
+        x86.returnVoid();
+    }
+
+    @Benchmark
+    public int x86Int() {
+        return x86.returnIntI(1);
+    }
+
+    @Benchmark
+    public long x86Long() {
+        return x86.returnLongL(1L);
+    }
+
+    @Benchmark
+    public double x86Double() {
+        return x86.returnDoubleD(1d);
+    }
+
+    @Benchmark
+    public long x86Pointers() {
+        return x86.weightedPPPPII(pointer, pointer, pointer, pointer, 5, 6);
+    }
+
+    @Benchmark
+    public double x86PointersMixed() {
+        return x86.weightedPDPIFP(pointer, 2d, pointer, 4, 5f, pointer);
+    }
+
+    @Benchmark
+    public long x86Arrays() {
+        return x86.weightedPPPPII(array, array, array, array, 5, 6);
+    }
+
+    @Benchmark
+    public void fastIntVoid() {
+        fastInt.returnVoid();
+    }
+
+    @Benchmark
+    public int fastInt() {
+        return fastInt.returnIntI(1);
+    }
+
+    @Benchmark
+    public long fastLong() {
+        return fastLong.returnLongL(1L);
+    }
+
+    @Benchmark
+    public double fastNumeric() {
+        return fastNumeric.returnDoubleD(1d);
+    }
+
+    @Benchmark
+    public long fastNumericPointers() {
+        return fastNumeric.weightedPPPPII(pointer, pointer, pointer, pointer, 5, 6);
+    }
+
+    @Benchmark
+    public double fastNumericPointersMixed() {
+        return fastNumeric.weightedPDPIFP(pointer, 2d, pointer, 4, 5f, pointer);
+    }
+
+    @Benchmark
+    public int buffer() {
+        return buffer.returnIntIIIIIII(1, 2, 3, 4, 5, 6, 7);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.benchmark;
+
+import jnr.ffi.annotations.IgnoreError;
+import jnr.ffi.annotations.SaveError;
+import jnr.ffi.provider.jffi.NoX86;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of saving errno after each call ({@link SaveError}, the default) against
+ * {@link IgnoreError}, both on the x86 stubs and on the FastInt invokers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LastErrorBenchmark {
+
+    public interface X86Ignore {
+        @IgnoreError int returnIntI(int arg);
+    }
+
+    public interface X86Save {
+        @SaveError int returnIntI(int arg);
+    }
+
+    @NoX86
+    public interface FastIntIgnore {
+        @IgnoreError int returnIntI(int arg);
+    }
+
+    @NoX86
+    public interface FastIntSave {
+        @SaveError int returnIntI(int arg);
+    }
+
+    X86Ignore x86Ignore;
+    X86Save x86Save;
+    FastIntIgnore fastIntIgnore;
+    FastIntSave fastIntSave;
+
+    @Setup
+    public void setup() {
+        x86Ignore = BenchmarkUtil.loadTestLib(X86Ignore.class);
+        x86Save = BenchmarkUtil.loadTestLib(X86Save.class);
+        fastIntIgnore = BenchmarkUtil.loadTestLib(FastIntIgnore.class);
+        fastIntSave = BenchmarkUtil.loadTestLib(FastIntSave.class);
+    }
+
+    @Benchmark
+    public int x86IgnoreError() {
+        return x86Ignore.returnIntI(1);
+    }
+
+    @Benchmark
+    public int x86SaveError() {
+        return x86Save.returnIntI(1);
+    }
+
+    @Benchmark
+    public int fastIntIgnoreError() {
+        return fastIntIgnore.returnIntI(1);
+    }
+
+    @Benchmark
+    public int fastIntSaveError() {
+        return fastIntSave.returnIntI(1);
+    }
+}
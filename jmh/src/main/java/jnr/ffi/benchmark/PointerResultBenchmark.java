@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.benchmark;
+
+import jnr.ffi.Memory;
+import jnr.ffi.Pointer;
+import jnr.ffi.Runtime;
+import jnr.ffi.annotations.IgnoreError;
+import jnr.ffi.types.uintptr_t;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of returning pointers: a new {@link Pointer} per call, and a raw {@code @uintptr_t long}
+ * address.  Run with {@code -prof gc} to see the allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PointerResultBenchmark {
+
+    public interface Lib {
+        @IgnoreError Pointer ptr_return_array_element(Pointer array, int index);
+        @IgnoreError @uintptr_t long ptr_return_array_element(@uintptr_t long array, int index);
+    }
+
+    Lib lib;
+    Pointer array;
+
+    @Setup
+    public void setup() {
+        Runtime runtime = Runtime.getSystemRuntime();
+        array = Memory.allocateDirect(runtime, 2 * runtime.addressSize());
+        array.putAddress(0, array.address());
+        array.putAddress(runtime.addressSize(), array.address() + 1);
+        lib = BenchmarkUtil.loadTestLib(Lib.class);
+    }
+
+    @Benchmark
+    public Pointer newPointer() {
+        return lib.ptr_return_array_element(array, 1);
+    }
+
+    @Benchmark
+    public long rawAddress() {
+        return lib.ptr_return_array_element(array.address(), 1);
+    }
+}
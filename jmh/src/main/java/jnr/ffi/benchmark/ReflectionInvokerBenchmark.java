@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.benchmark;
+
+import jnr.ffi.annotations.IgnoreError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the proxy based ReflectionLibraryLoader, which is used when {@code jnr.ffi.asm.enabled}
+ * is false. Compare against {@link InvokerTierBenchmark} for the generated implementations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djnr.ffi.asm.enabled=false")
+@State(Scope.Benchmark)
+public class ReflectionInvokerBenchmark {
+
+    public interface Lib {
+        @IgnoreError void returnVoid();
+        @IgnoreError int returnIntI(int arg);
+        @IgnoreError long returnLongL(long arg);
+        @IgnoreError double returnDoubleD(double arg);
+        @IgnoreError int returnIntIIIIIII(int i1, int i2, int i3, int i4, int i5, int i6, int i7);
+    }
+
+    Lib lib;
+
+    @Setup
+    public void setup() {
+        lib = BenchmarkUtil.loadTestLib(Lib.class);
+    }
+
+    @Benchmark
+    public void reflectionVoid() {
+        lib.returnVoid();
+    }
+
+    @Benchmark
+    public int reflectionInt() {
+        return lib.returnIntI(1);
+    }
+
+    @Benchmark
+    public long reflectionLong() {
+        return lib.returnLongL(1L);
+    }
+
+    @Benchmark
+    public double reflectionDouble() {
+        return lib.returnDoubleD(1d);
+    }
+
+    @Benchmark
+    public int reflectionSevenInts() {
+        return lib.returnIntIIIIIII(1, 2, 3, 4, 5, 6, 7);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.benchmark;
+
+import jnr.ffi.annotations.Encoding;
+import jnr.ffi.annotations.IgnoreError;
+import jnr.ffi.mapper.ToNativeConverter;
+import jnr.ffi.provider.converters.CharSequenceParameterConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.CoderResult;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encoding a String parameter with the UTF-8 fast path in {@link CharSequenceParameterConverter}
+ * against the general {@link CharsetEncoder} loop, which is still used for other charsets.
+ * Run with {@code -prof gc} to compare the allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringParameterBenchmark {
+
+    @Encoding("UTF-8")
+    public interface Lib {
+        @IgnoreError int string_equals(CharSequence s1, CharSequence s2);
+    }
+
+    @Param({ "ascii", "latin", "cjk" })
+    String text;
+
+    @Param({ "16", "256" })
+    int length;
+
+    Lib lib;
+    String value;
+    ToNativeConverter<CharSequence, ByteBuffer> converter;
+    CharsetEncoder encoder;
+
+    @Setup
+    public void setup() {
+        lib = BenchmarkUtil.loadTestLib(Lib.class);
+        String unit = "ascii".equals(text) ? "abcdefgh" : "latin".equals(text) ? "crème br" : "中文字符中文字符";
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < length) {
+            sb.append(unit);
+        }
+        value = sb.substring(0, length);
+
+        Charset utf8 = Charset.forName("UTF-8");
+        converter = CharSequenceParameterConverter.getInstance(utf8, null);
+        encoder = utf8.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    @Benchmark
+    public ByteBuffer fastPath() {
+        return converter.toNative(value, null);
+    }
+
+    /**
+     * The encoding loop used by {@link CharSequenceParameterConverter} for charsets without a fast path.
+     */
+    @Benchmark
+    public ByteBuffer encoderPath() {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(new byte[(int) (value.length() * encoder.averageBytesPerChar()) + 4]);
+        CharBuffer charBuffer = CharBuffer.wrap(value);
+
+        encoder.reset();
+        while (charBuffer.hasRemaining()) {
+            CoderResult result = encoder.encode(charBuffer, byteBuffer, true);
+
+            if (result.isUnderflow() && (result = encoder.flush(byteBuffer)).isUnderflow()) {
+                break;
+
+            } else if (result.isOverflow()) {
+                byteBuffer = grow(byteBuffer);
+
+            } else {
+                throw new IllegalStateException(result.toString());
+            }
+        }
+
+        if (byteBuffer.remaining() <= 4) byteBuffer = grow(byteBuffer);
+        byteBuffer.position(byteBuffer.position() + 4);
+        byteBuffer.flip();
+
+        return byteBuffer;
+    }
+
+    @Benchmark
+    public int nativeCall() {
+        return lib.string_equals(value, value);
+    }
+
+    private static ByteBuffer grow(ByteBuffer oldBuffer) {
+        ByteBuffer buf = ByteBuffer.wrap(new byte[oldBuffer.capacity() * 2]);
+        oldBuffer.flip();
+        buf.put(oldBuffer);
+        return buf;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.benchmark;
+
+import jnr.ffi.Memory;
+import jnr.ffi.Pointer;
+import jnr.ffi.Runtime;
+import jnr.ffi.Struct;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading two fields from each element of a native struct array through a {@link Struct} instance
+ * per element with reading them through a generated {@link Struct#getAccessor struct accessor}.
+ * Scores are per element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StructAccessorBenchmark {
+    private static final int COUNT = 1024;
+    private static final Runtime runtime = Runtime.getSystemRuntime();
+
+    public static final class FileInfo extends Struct {
+        public final Signed64 st_dev = new Signed64();
+        public final Unsigned32 st_mode = new Unsigned32();
+        public final Signed64 st_size = new Signed64();
+
+        public FileInfo(Runtime runtime) {
+            super(runtime);
+        }
+    }
+
+
+    public interface FileInfoAddressAccessor {
+        long st_mode(long address);
+        long st_size(long address);
+    }
+
+    Pointer memory;
+    int size;
+    FileInfoAddressAccessor accessor;
+
+    @Setup
+    public void setup() {
+        size = Struct.size(FileInfo.class, runtime);
+        memory = Memory.allocateDirect(runtime, size * COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            memory.putInt((long) i * size + 8, 0644);
+            memory.putLongLong((long) i * size + 16, i);
+        }
+        accessor = Struct.getAccessor(runtime, FileInfo.class, FileInfoAddressAccessor.class);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public long structPerElement() {
+        long sum = 0;
+        for (int i = 0; i < COUNT; i++) {
+            FileInfo info = new FileInfo(runtime);
+            info.useMemory(memory.slice((long) i * size, size));
+            sum += info.st_mode.get() + info.st_size.get();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public long accessor() {
+        long sum = 0;
+        long address = memory.address();
+        for (int i = 0; i < COUNT; i++, address += size) {
+            sum += accessor.st_mode(address) + accessor.st_size(address);
+        }
+        return sum;
+    }
+}
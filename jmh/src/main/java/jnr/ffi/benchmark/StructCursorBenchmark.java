@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.benchmark;
+
+import jnr.ffi.Memory;
+import jnr.ffi.Pointer;
+import jnr.ffi.Runtime;
+import jnr.ffi.StructCursor;
+import jnr.ffi.StructLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.CompilerControl;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares scanning a native array of structs with a {@link StructLayout} by slicing a {@link Pointer} per element
+ * with scanning it through a {@link StructCursor}.  Each element is handed to a method that is not inlined, as
+ * an event handler would be.  Scores are per element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StructCursorBenchmark {
+    private static final int COUNT = 1024;
+
+    public static final class Event extends StructLayout {
+        public final Unsigned32 events = new Unsigned32();
+        public final Signed64 data = new Signed64();
+
+        public Event(Runtime runtime) {
+            super(runtime);
+        }
+    }
+
+    Event layout;
+    Pointer memory;
+    StructCursor cursor;
+
+    @Setup
+    public void setup() {
+        Runtime runtime = Runtime.getSystemRuntime();
+        layout = new Event(runtime);
+        memory = Memory.allocateDirect(runtime, layout.size() * COUNT, true);
+        cursor = new StructCursor(layout);
+    }
+
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private long handle(Pointer event) {
+        return layout.events.get(event) + layout.data.get(event);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public long slicePerElement() {
+        long sum = 0;
+        for (int i = 0; i < COUNT; i++) {
+            sum += handle(memory.slice((long) i * layout.size()));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public long cursor() {
+        long sum = 0;
+        for (cursor.reset(memory, COUNT); cursor.next(); ) {
+            sum += handle(cursor);
+        }
+        return sum;
+    }
+}
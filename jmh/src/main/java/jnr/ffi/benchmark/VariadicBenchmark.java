@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.benchmark;
+
+import jnr.ffi.annotations.IgnoreError;
+import jnr.ffi.annotations.Variadic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures calls to a C variadic function, both through a java varargs method (which goes through
+ * the VariadicInvoker) and through an all-fixed {@link Variadic} overload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VariadicBenchmark {
+
+    public interface Lib {
+        @IgnoreError int returnIntVariadic(int count, Object... args);
+
+        @IgnoreError @Variadic(fixedCount = 1)
+        int returnIntVariadic(int count, int i1, int i2);
+    }
+
+    Lib lib;
+    // Passing the ints directly would resolve to the fixed overload, so the varargs are passed as an array
+    Object[] args = { 1, 2 };
+
+    @Setup
+    public void setup() {
+        lib = BenchmarkUtil.loadTestLib(Lib.class);
+    }
+
+    @Benchmark
+    public int varargs() {
+        return lib.returnIntVariadic(2, args);
+    }
+
+    @Benchmark
+    public int fixedVariadic() {
+        return lib.returnIntVariadic(2, 1, 2);
+    }
+}
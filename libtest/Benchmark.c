@@ -16,6 +16,8 @@
  * limitations under the License.
  */
 
+#include <stdarg.h>
+
 void returnVoid() {
     
 }
@@ -31,3 +33,54 @@ int returnIntI(int arg) {
     return arg;
 }
 
+
+long long returnLongL(long long arg) {
+    return arg;
+}
+
+double returnDoubleD(double arg) {
+    return arg;
+}
+
+int returnIntIIIIIII(int i1, int i2, int i3, int i4, int i5, int i6, int i7) {
+    return i1 + i2 + i3 + i4 + i5 + i6 + i7;
+}
+
+int returnIntVariadic(int count, ...) {
+    va_list ap;
+    int i, sum = 0;
+
+    va_start(ap, count);
+    for (i = 0; i < count; ++i) {
+        sum += va_arg(ap, int);
+    }
+    va_end(ap);
+
+    return sum;
+}
+
+/* Reads one byte of each 64 byte cache line */
+int touchBytes(const unsigned char* buf, int len) {
+    int i, sum = 0;
+
+    for (i = 0; i < len; i += 64) {
+        sum += buf[i];
+    }
+
+    return sum;
+}
+
+/*
+ * Each argument is weighted by its position, so that dropped or reordered arguments change the result
+ */
+long long weightedIIIIII(int i1, int i2, int i3, int i4, int i5, int i6) {
+    return i1 + 2LL * i2 + 3LL * i3 + 4LL * i4 + 5LL * i5 + 6LL * i6;
+}
+
+long long weightedPPPPII(const int* p1, const int* p2, const int* p3, const int* p4, int i1, int i2) {
+    return *p1 + 2LL * *p2 + 3LL * *p3 + 4LL * *p4 + 5LL * i1 + 6LL * i2;
+}
+
+double weightedPDPIFP(const int* p1, double d, const int* p2, int i, float f, const int* p3) {
+    return *p1 + 2.0 * d + 3.0 * *p2 + 4.0 * i + 5.0 * f + 6.0 * *p3;
+}
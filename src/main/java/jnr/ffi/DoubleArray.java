@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+
+/**
+ * A view of consecutive double precision floating point values in native memory, created by
+ * {@link Pointer#asDoubleArray(long, int)}.
+ *
+ * @see NativeArrayView
+ */
+public final class DoubleArray extends NativeArrayView<DoubleArray> {
+    private static final int SHIFT = 3;
+
+    DoubleArray(Pointer pointer, long offset, int length) {
+        super(pointer, offset, length, SHIFT);
+    }
+
+    // The shift is a constant here, so that loops over the view compile to plain indexed accesses
+    private long offsetOf(int index) {
+        return offset + ((long) index << SHIFT);
+    }
+
+    /**
+     * Reads the value at an index.
+     *
+     * @param index the index of the value.
+     * @return the value.
+     */
+    public double get(int index) {
+        checkIndex(index);
+        return memory.getDouble(offsetOf(index));
+    }
+
+    /**
+     * Writes the value at an index.
+     *
+     * @param index the index of the value.
+     * @param value the value to write.
+     */
+    public void set(int index, double value) {
+        checkIndex(index);
+        memory.putDouble(offsetOf(index), value);
+    }
+
+    /**
+     * Copies values from this view to an array.
+     *
+     * @param index the index of the first value to copy.
+     * @param dst the array to copy the values to.
+     * @param dstIndex the index in {@code dst} of the first copied value.
+     * @param count the number of values to copy.
+     */
+    public void get(int index, double[] dst, int dstIndex, int count) {
+        checkRange(index, count);
+        memory.get(offsetOf(index), dst, dstIndex, count);
+    }
+
+    /**
+     * Copies values from an array to this view.
+     *
+     * @param index the index of the first value to write.
+     * @param src the array to copy the values from.
+     * @param srcIndex the index in {@code src} of the first value to copy.
+     * @param count the number of values to copy.
+     */
+    public void put(int index, double[] src, int srcIndex, int count) {
+        checkRange(index, count);
+        memory.put(offsetOf(index), src, srcIndex, count);
+    }
+
+    /**
+     * Copies all the values of this view to a new array.
+     *
+     * @return the array of values.
+     */
+    public double[] toArray() {
+        double[] array = new double[length];
+        memory.get(offset, array, 0, length);
+        return array;
+    }
+
+    /**
+     * Sets all the values of this view.
+     *
+     * @param value the value to write.
+     */
+    public void fill(double value) {
+        if (Double.doubleToRawLongBits(value) == 0L) {
+            clear();
+            return;
+        }
+
+        for (int i = 0; i < length; i++) {
+            memory.putDouble(offsetOf(i), value);
+        }
+    }
+
+    /**
+     * Calls an action with each value of this view, in order.
+     *
+     * @param action the action to call.
+     */
+    public void forEach(DoubleConsumer action) {
+        for (int i = 0; i < length; i++) {
+            action.accept(memory.getDouble(offsetOf(i)));
+        }
+    }
+
+    /**
+     * Combines the values of this view, in order, with an accumulating function.
+     *
+     * @param identity the initial value of the result.
+     * @param op the function combining the result so far with the next value.
+     * @return the result.
+     */
+    public double reduce(double identity, DoubleBinaryOperator op) {
+        double result = identity;
+        for (int i = 0; i < length; i++) {
+            result = op.applyAsDouble(result, memory.getDouble(offsetOf(i)));
+        }
+        return result;
+    }
+}
@@ -79,5 +79,44 @@ public enum LibraryOption {
      * By using this option, JNR-FFI will know to prefer the custom paths, even if they have a lower version, this
      * ensures consistent behaviors across environments.
      */
-    PreferCustomPaths
+    PreferCustomPaths,
+
+    /**
+     * Record call counts and timings for each function in the library.  This is only supported when the library
+     * is loaded by the ASM loader (the default); variadic functions are not measured.
+     *
+     * When this option is not present, no measurement code is generated.
+     *
+     * @see Runtime#getInvocationMetrics(Object)
+     */
+    Metrics,
+
+    /**
+     * Record the invocation tier chosen for each method of the library, and why faster tiers were not used.  This
+     * is only supported when the library is loaded by the ASM loader (the default).  Setting the
+     * {@code jnr.ffi.tier.report} system property records the report for every library.
+     *
+     * When neither is present, no report is kept.
+     *
+     * @see Runtime#getTierReport(Object)
+     */
+    TierReport,
+
+    /**
+     * Resolve each function and generate the code that calls it on the first call of its method, instead of when
+     * the library is loaded.  This reduces the time to load libraries with many functions when only a few of them
+     * are used.  A function that is not found in the library throws an {@link UnsatisfiedLinkError} when its
+     * method is called.  The first call of a method also binds a few of the unbound functions declared after it, so
+     * that the code generated for them is shared.
+     *
+     * This option is ignored if the library is loaded with {@link LibraryLoader#failImmediately()}.
+     */
+    LazyBinding,
+
+    /**
+     * The {@link java.util.concurrent.Executor} that makes the native calls of {@link jnr.ffi.annotations.Blocking}
+     * methods.  When this option is not present, the calls are made on a pool of daemon threads shared by all
+     * libraries.
+     */
+    BlockingExecutor
 }
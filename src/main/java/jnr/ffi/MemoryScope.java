@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi;
+
+/**
+ * A region of temporary native memory which is released all at once when the scope is closed.
+ * <p>
+ * Memory is bump-allocated from per-thread slabs which are reused by later scopes, so allocating from
+ * a scope is much cheaper than {@link Memory#allocateDirect(Runtime, int)}, and closing a scope returns
+ * all of its memory in constant time instead of waiting for the garbage collector.
+ * <p>
+ * A scope belongs to the thread that opened it, and nested scopes must be closed in the reverse order
+ * they were opened, which try-with-resources does naturally:
+ * <pre>
+ * {@code
+ * try (MemoryScope scope = runtime.getMemoryManager().openScope()) {
+ *     Pointer buf = scope.allocate(256);
+ *     libc.getcwd(buf, 256);
+ * }
+ * }
+ * </pre>
+ * While a scope is open, {@link jnr.ffi.provider.MemoryManager#allocateTemporary(int, boolean)} also allocates
+ * from the innermost scope, and heap backed struct parameters annotated with {@link jnr.ffi.annotations.Transient}
+ * are copied into it for the duration of the call.  The struct itself keeps its own memory.
+ * <p>
+ * <b>Note:</b> memory allocated from a scope must not be used after the scope has been closed.
+ */
+public abstract class MemoryScope implements AutoCloseable {
+
+    /**
+     * Gets the runtime this scope allocates memory for.
+     *
+     * @return the runtime of this scope.
+     */
+    public abstract Runtime getRuntime();
+
+    /**
+     * Allocates a block of zeroed native memory which is valid until this scope is closed.
+     *
+     * @param size The size in bytes of memory to allocate.
+     * @return a {@code Pointer} instance that can access the memory.
+     */
+    public Pointer allocate(int size) {
+        return allocate(size, true);
+    }
+
+    /**
+     * Allocates a block of native memory which is valid until this scope is closed.
+     *
+     * @param size The size in bytes of memory to allocate.
+     * @param clear Whether the memory should be cleared (each byte set to zero).
+     * @return a {@code Pointer} instance that can access the memory.
+     * @throws IllegalStateException if this scope is closed, or is not the innermost open scope of the current thread.
+     */
+    public abstract Pointer allocate(long size, boolean clear);
+
+    /**
+     * Releases all memory allocated from this scope.
+     *
+     * @throws IllegalStateException if a scope nested inside this one is still open.
+     */
+    @Override
+    public abstract void close();
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi;
+
+/**
+ * The common part of the typed views of native memory, such as {@link IntArray}.
+ * <p>
+ * The bounds of the memory are checked once, when the view is created.  Element accesses only check the index, and
+ * then read or write direct memory without going through any bounds checking {@link Pointer} wrappers, so that
+ * loops over the view compile to plain memory accesses.
+ *
+ * @param <T> the type of the view.
+ */
+abstract class NativeArrayView<T extends NativeArrayView<T>> {
+    // The pointer the view was created from, which also keeps any memory it owns reachable
+    private final Pointer pointer;
+    private final long pointerOffset;
+
+    final Pointer memory;
+    final long offset;
+    final int length;
+    private final int shift;
+
+    /**
+     * @param shift log2 of the size of each value in bytes.
+     */
+    NativeArrayView(Pointer pointer, long offset, int length, int shift) {
+        if (length < 0) {
+            throw new IllegalArgumentException("negative length " + length);
+        }
+        pointer.checkBounds(offset, (long) length << shift);
+
+        if (pointer.isDirect()) {
+            // The bounds are checked, so access the memory through a plain direct pointer from now on
+            this.memory = pointer.getRuntime().getMemoryManager().newPointer(pointer.address() + offset);
+            this.offset = 0;
+        } else {
+            this.memory = pointer;
+            this.offset = offset;
+        }
+        this.pointer = pointer;
+        this.pointerOffset = offset;
+        this.length = length;
+        this.shift = shift;
+    }
+
+    /**
+     * Gets the number of values in this view.
+     *
+     * @return the number of values.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Gets the memory this view covers.
+     *
+     * @return a {@link Pointer} to the first value, bounded to the values of this view.
+     */
+    public Pointer getPointer() {
+        return pointer.slice(pointerOffset, (long) length << shift);
+    }
+
+    /**
+     * Copies all the values of this view to the start of another view, as {@code memmove} would.
+     *
+     * @param dst the view to copy the values to, which must be at least as long as this view.
+     */
+    public void copyTo(T dst) {
+        dst.checkRange(0, length);
+        long size = (long) length << shift;
+        if (memory.isDirect() && dst.memory.isDirect()) {
+            long src = memory.address() + offset, to = dst.memory.address() + dst.offset;
+            if (to != src && to < src + size && src < to + size) {
+                // A bulk transfer of direct memory is a memcpy, which must not be used on overlapping memory
+                move(dst, size, to > src);
+                return;
+            }
+        }
+        memory.transferTo(offset, dst.memory, dst.offset, size);
+    }
+
+    private void move(T dst, long size, boolean backwards) {
+        long step = 1L << shift;
+        for (long i = 0; i < size; i += step) {
+            long pos = backwards ? size - step - i : i;
+            if (step == 8) {
+                dst.memory.putLong(dst.offset + pos, memory.getLong(offset + pos));
+            } else {
+                dst.memory.putInt(dst.offset + pos, memory.getInt(offset + pos));
+            }
+        }
+    }
+
+    /**
+     * Sets all the bytes of this view to zero.
+     */
+    final void clear() {
+        memory.setMemory(offset, (long) length << shift, (byte) 0);
+    }
+
+    final void checkIndex(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for length " + length);
+        }
+    }
+
+    final void checkRange(int index, int count) {
+        if ((index | count) < 0 || index > length - count) {
+            throw new IndexOutOfBoundsException("range [" + index + ", " + index + " + " + count
+                    + ") out of bounds for length " + length);
+        }
+    }
+}
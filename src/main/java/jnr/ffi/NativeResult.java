@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi;
+
+/**
+ * The result of a native call together with the last error it left, for calls made on another thread.
+ * <p>
+ * A {@link jnr.ffi.annotations.Blocking} method returning a future makes its call on the native call executor, so
+ * the last error of the call is not available from {@link Runtime#getLastError()} on the calling thread.  Declaring
+ * the type argument of the future as {@code NativeResult} keeps it:
+ * <pre>
+ * {@code @Blocking CompletableFuture<NativeResult<Integer>> read(int fd, @Out byte[] buf, long count);}
+ * </pre>
+ *
+ * @param <T> the type of the result of the call.
+ */
+public final class NativeResult<T> {
+    private final T value;
+    private final int lastError;
+
+    public NativeResult(T value, int lastError) {
+        this.value = value;
+        this.lastError = lastError;
+    }
+
+    /**
+     * Gets the result of the call.
+     *
+     * @return the result, converted to the type argument of this {@code NativeResult}.
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the last error of the thread that made the call, as it was right after the call.  This is only
+     * meaningful if the function sets {@code errno} (or the Windows last error) when it fails, and the method does not
+     * ignore errors.
+     *
+     * @return the last error.
+     * @see jnr.ffi.annotations.IgnoreError
+     */
+    public int getLastError() {
+        return lastError;
+    }
+
+    @Override
+    public String toString() {
+        return "NativeResult[value=" + value + ", lastError=" + lastError + "]";
+    }
+}
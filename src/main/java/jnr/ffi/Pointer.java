@@ -31,7 +31,7 @@ import java.util.List;
  * it is possible to wrap a java <code>byte</code> array in a <code>Pointer</code>instance to pass to a native function
  * as a memory address.  See {@link #isDirect()} for more information.
  */
-abstract public class Pointer {
+abstract public class Pointer implements AutoCloseable {
     private final Runtime runtime;
     private final long address;
     private final boolean isDirect;
@@ -143,6 +143,18 @@ abstract public class Pointer {
         return runtime;
     }
 
+    /**
+     * Releases the memory this {@code Pointer} owns, if any.
+     *
+     * <p>Memory allocated via {@link jnr.ffi.provider.MemoryManager#allocateDirect(int)} can be released
+     * promptly by closing the {@code Pointer}, instead of waiting for the garbage collector.  Pointers which do
+     * not own their memory, such as those returned from native functions or from {@link #slice(long)}, ignore
+     * this call.
+     * <p><b>Note:</b> the memory must not be accessed after it has been released.
+     */
+    public void close() {
+    }
+
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append(getClass().getName());
@@ -621,6 +633,42 @@ abstract public class Pointer {
      */
     abstract public Pointer slice(long offset, long size);
 
+    /**
+     * Creates a view of consecutive {@code int} values in the memory referred to by this {@code Pointer}.
+     *
+     * @param offset the offset from the start of the memory this {@code Pointer} represents at which the first value is.
+     * @param count the number of values in the view.
+     * @return a {@link IntArray} view of the values.
+     * @throws IndexOutOfBoundsException if the values are not within the bounds of this memory.
+     */
+    public IntArray asIntArray(long offset, int count) {
+        return new IntArray(this, offset, count);
+    }
+
+    /**
+     * Creates a view of consecutive {@code long} values in the memory referred to by this {@code Pointer}.
+     *
+     * @param offset the offset from the start of the memory this {@code Pointer} represents at which the first value is.
+     * @param count the number of values in the view.
+     * @return a {@link LongArray} view of the values.
+     * @throws IndexOutOfBoundsException if the values are not within the bounds of this memory.
+     */
+    public LongArray asLongArray(long offset, int count) {
+        return new LongArray(this, offset, count);
+    }
+
+    /**
+     * Creates a view of consecutive {@code double} values in the memory referred to by this {@code Pointer}.
+     *
+     * @param offset the offset from the start of the memory this {@code Pointer} represents at which the first value is.
+     * @param count the number of values in the view.
+     * @return a {@link DoubleArray} view of the values.
+     * @throws IndexOutOfBoundsException if the values are not within the bounds of this memory.
+     */
+    public DoubleArray asDoubleArray(long offset, int count) {
+        return new DoubleArray(this, offset, count);
+    }
+
     /**
      * Bulk data transfer from one memory location to another.
      *
@@ -20,8 +20,10 @@ package jnr.ffi;
 
 import jnr.ffi.provider.ClosureManager;
 import jnr.ffi.provider.FFIProvider;
+import jnr.ffi.provider.InvocationMetrics;
 import jnr.ffi.provider.LoadedLibrary;
 import jnr.ffi.provider.MemoryManager;
+import jnr.ffi.provider.TierReport;
 import jnr.ffi.provider.jffi.NativeLibrary;
 import jnr.ffi.provider.jffi.NativeRuntime;
 
@@ -102,6 +104,30 @@ public abstract class Runtime {
         return NativeRuntime.getLoadedLibraries();
     }
 
+    /**
+     * Gets the invocation counts and timings for a library loaded with {@link LibraryOption#Metrics}.
+     *
+     * @param library A loaded library instance as returned from {@link LibraryLoader#load()}
+     * @return the metrics for the library, or null if it was not loaded with {@link LibraryOption#Metrics}
+     * @see InvocationMetrics
+     */
+    public static InvocationMetrics getInvocationMetrics(Object library) {
+        return NativeRuntime.getInvocationMetrics(library);
+    }
+
+    /**
+     * Gets the invocation tier each method of a library is called through, and why faster tiers were not used.
+     *
+     * @param library A loaded library instance as returned from {@link LibraryLoader#load()}
+     * @return the tier report for the library, or null if it was loaded without {@link LibraryOption#TierReport}
+     * or without bytecode generation
+     * @see TierReport
+     * @see jnr.ffi.annotations.Tier
+     */
+    public static TierReport getTierReport(Object library) {
+        return NativeRuntime.getTierReport(library);
+    }
+
     /**
      * singleton holder for the default Runtime
      */
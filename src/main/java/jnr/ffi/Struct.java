@@ -29,6 +29,7 @@ package jnr.ffi;
 
 import jnr.ffi.provider.ParameterFlags;
 import jnr.ffi.provider.jffi.ArrayMemoryIO;
+import jnr.ffi.provider.jffi.StructAccessorGenerator;
 import jnr.ffi.util.EnumMapper;
 
 import java.lang.reflect.Array;
@@ -248,6 +249,34 @@ public abstract class Struct {
         }
     }
 
+    /**
+     * Gets a generated accessor that reads and writes the fields of a Struct type directly in native memory.
+     * <p>
+     * The layout of {@code structClass} is computed once, and the accessor reads each field at a constant offset,
+     * so no {@code Struct} or per-field {@code Member} instances are created.  Each method of
+     * {@code accessorInterface} is named after a numeric or pointer field of the struct, and takes the struct memory,
+     * either as a {@link jnr.ffi.Pointer} or as a {@code long} address, as its first parameter:
+     * <pre>
+     * {@code
+     * public interface TimevalAccessor {
+     *     long tv_sec(Pointer memory);
+     *     void tv_sec(Pointer memory, long value);
+     *     long tv_usec(long address);
+     * }
+     * }
+     * </pre>
+     * Fields of inner structs and non-numeric fields such as strings cannot be accessed.
+     *
+     * @param runtime           the {@link Runtime} that will be used to create an instance of the Struct
+     * @param structClass       the {@link Class} of the Struct
+     * @param accessorInterface the public interface to implement
+     * @param <T>               the accessor type
+     * @return an accessor for {@code structClass}
+     */
+    public static <T> T getAccessor(Runtime runtime, Class<? extends Struct> structClass, Class<T> accessorInterface) {
+        return StructAccessorGenerator.getAccessor(runtime, structClass, accessorInterface);
+    }
+
 
     /**
      * Returns a human readable {@link java.lang.String} representation of the structure.
@@ -1016,6 +1045,15 @@ public abstract class Struct {
             return offset + __info.getOffset();
         }
 
+        /**
+         * Gets the native type of this field.
+         *
+         * @return the {@link NativeType} of this field.
+         */
+        public final NativeType getNativeType() {
+            return type.getNativeType();
+        }
+
         /**
          * Sets the field to a new value.
          *
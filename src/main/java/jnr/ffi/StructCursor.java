@@ -0,0 +1,356 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi;
+
+import jnr.ffi.provider.AbstractMemoryIO;
+
+import java.nio.charset.Charset;
+
+/**
+ * A reusable view of one element at a time of a native array of structs described by a {@link StructLayout}.
+ * <p>
+ * The cursor is a {@link Pointer} to the current element, so the stateless {@code StructLayout} fields read from it
+ * directly, and moving to the next element only changes an offset:
+ * <pre>
+ * {@code
+ * for (cursor.reset(events, count); cursor.next(); ) {
+ *     handle(layout.data.get(cursor), layout.events.get(cursor));
+ * }
+ * }
+ * </pre>
+ * Scanning an array this way does not allocate anything per element.  The cursor itself is not a native address,
+ * so use {@link #current()} to pass the current element to a native function.
+ * <p>
+ * <b>Note:</b> This class is not threadsafe.
+ */
+public final class StructCursor extends AbstractMemoryIO {
+    private final long stride;
+    private Pointer memory;
+    private long base;
+    private int index = -1;
+    private int count;
+
+    /**
+     * Creates a cursor that moves by the size of {@code layout}.
+     *
+     * @param layout the layout of each element.
+     */
+    public StructCursor(StructLayout layout) {
+        this(layout, layout.size());
+    }
+
+    /**
+     * Creates a cursor that moves by {@code stride} bytes, for arrays whose elements are padded beyond the
+     * size of {@code layout}.
+     *
+     * @param layout the layout of each element.
+     * @param stride the distance in bytes between the start of consecutive elements.
+     */
+    public StructCursor(StructLayout layout, long stride) {
+        super(layout.getRuntime(), 0L, false);
+        if (stride < layout.size()) {
+            throw new IllegalArgumentException("stride " + stride + " is smaller than the struct size " + layout.size());
+        }
+        this.stride = stride;
+    }
+
+    /**
+     * Points the cursor before the first element of an array.  Call {@link #next()} to move to the first element.
+     *
+     * @param memory the memory holding the array.
+     * @param count  the number of elements in the array.
+     * @return this cursor.
+     */
+    public StructCursor reset(Pointer memory, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("negative count " + count);
+        }
+        memory.checkBounds(0, stride * count);
+        this.memory = memory;
+        this.count = count;
+        this.index = -1;
+        this.base = -stride;
+        return this;
+    }
+
+    /**
+     * Moves the cursor to the next element.
+     *
+     * @return {@code true} if the cursor is on an element, {@code false} if there are no more elements.
+     */
+    public boolean next() {
+        if (index + 1 >= count) {
+            index = count;
+            return false;
+        }
+        index++;
+        base += stride;
+        return true;
+    }
+
+    /**
+     * Moves the cursor to an element.
+     *
+     * @param index the index of the element.
+     * @return this cursor.
+     */
+    public StructCursor moveTo(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for length " + count);
+        }
+        this.index = index;
+        this.base = index * stride;
+        return this;
+    }
+
+    /**
+     * Gets the index of the current element.
+     *
+     * @return the index of the element the cursor is on.
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * Gets the number of elements the cursor moves over.
+     *
+     * @return the number of elements.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Gets a {@link Pointer} to the current element that remains valid after the cursor moves.
+     *
+     * @return a new {@code Pointer} to the current element.
+     */
+    public Pointer current() {
+        return memory.slice(offset(0), stride);
+    }
+
+    private long offset(long offset) {
+        if (index < 0 || index >= count) {
+            throw new IllegalStateException("cursor is not on an element");
+        }
+        return base + offset;
+    }
+
+    public long size() {
+        return stride;
+    }
+
+    @Override
+    public boolean hasArray() {
+        return false;
+    }
+
+    @Override
+    public Object array() {
+        throw new UnsupportedOperationException("no array");
+    }
+
+    @Override
+    public int arrayOffset() {
+        throw new UnsupportedOperationException("no array");
+    }
+
+    @Override
+    public int arrayLength() {
+        throw new UnsupportedOperationException("no array");
+    }
+
+    @Override
+    public byte getByte(long offset) {
+        return memory.getByte(offset(offset));
+    }
+
+    @Override
+    public short getShort(long offset) {
+        return memory.getShort(offset(offset));
+    }
+
+    @Override
+    public int getInt(long offset) {
+        return memory.getInt(offset(offset));
+    }
+
+    @Override
+    public long getLong(long offset) {
+        return memory.getLong(offset(offset));
+    }
+
+    @Override
+    public long getLongLong(long offset) {
+        return memory.getLongLong(offset(offset));
+    }
+
+    @Override
+    public float getFloat(long offset) {
+        return memory.getFloat(offset(offset));
+    }
+
+    @Override
+    public double getDouble(long offset) {
+        return memory.getDouble(offset(offset));
+    }
+
+    @Override
+    public long getAddress(long offset) {
+        return memory.getAddress(offset(offset));
+    }
+
+    public Pointer getPointer(long offset) {
+        return memory.getPointer(offset(offset));
+    }
+
+    public Pointer getPointer(long offset, long size) {
+        return memory.getPointer(offset(offset), size);
+    }
+
+    @Override
+    public String getString(long offset) {
+        return memory.getString(offset(offset));
+    }
+
+    @Override
+    public String getString(long offset, int maxLength, Charset cs) {
+        return memory.getString(offset(offset), maxLength, cs);
+    }
+
+    @Override
+    public void putByte(long offset, byte value) {
+        memory.putByte(offset(offset), value);
+    }
+
+    @Override
+    public void putShort(long offset, short value) {
+        memory.putShort(offset(offset), value);
+    }
+
+    @Override
+    public void putInt(long offset, int value) {
+        memory.putInt(offset(offset), value);
+    }
+
+    @Override
+    public void putLong(long offset, long value) {
+        memory.putLong(offset(offset), value);
+    }
+
+    @Override
+    public void putLongLong(long offset, long value) {
+        memory.putLongLong(offset(offset), value);
+    }
+
+    @Override
+    public void putFloat(long offset, float value) {
+        memory.putFloat(offset(offset), value);
+    }
+
+    @Override
+    public void putDouble(long offset, double value) {
+        memory.putDouble(offset(offset), value);
+    }
+
+    @Override
+    public void putAddress(long offset, long value) {
+        memory.putAddress(offset(offset), value);
+    }
+
+    public void putPointer(long offset, Pointer value) {
+        memory.putPointer(offset(offset), value);
+    }
+
+    @Override
+    public void putString(long offset, String string, int maxLength, Charset cs) {
+        memory.putString(offset(offset), string, maxLength, cs);
+    }
+
+    @Override
+    public void get(long offset, byte[] dst, int off, int len) {
+        memory.get(offset(offset), dst, off, len);
+    }
+
+    @Override
+    public void put(long offset, byte[] src, int off, int len) {
+        memory.put(offset(offset), src, off, len);
+    }
+
+    @Override
+    public void get(long offset, short[] dst, int off, int len) {
+        memory.get(offset(offset), dst, off, len);
+    }
+
+    @Override
+    public void put(long offset, short[] src, int off, int len) {
+        memory.put(offset(offset), src, off, len);
+    }
+
+    @Override
+    public void get(long offset, int[] dst, int off, int len) {
+        memory.get(offset(offset), dst, off, len);
+    }
+
+    @Override
+    public void put(long offset, int[] src, int off, int len) {
+        memory.put(offset(offset), src, off, len);
+    }
+
+    @Override
+    public void get(long offset, long[] dst, int off, int len) {
+        memory.get(offset(offset), dst, off, len);
+    }
+
+    @Override
+    public void put(long offset, long[] src, int off, int len) {
+        memory.put(offset(offset), src, off, len);
+    }
+
+    @Override
+    public void get(long offset, float[] dst, int off, int len) {
+        memory.get(offset(offset), dst, off, len);
+    }
+
+    @Override
+    public void put(long offset, float[] src, int off, int len) {
+        memory.put(offset(offset), src, off, len);
+    }
+
+    @Override
+    public void get(long offset, double[] dst, int off, int len) {
+        memory.get(offset(offset), dst, off, len);
+    }
+
+    @Override
+    public void put(long offset, double[] src, int off, int len) {
+        memory.put(offset(offset), src, off, len);
+    }
+
+    @Override
+    public int indexOf(long offset, byte value, int maxlen) {
+        return memory.indexOf(offset(offset), value, maxlen);
+    }
+
+    @Override
+    public void setMemory(long offset, long size, byte value) {
+        memory.setMemory(offset(offset), size, value);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Calls the native function once for each element of the array parameters.
+ * <p>
+ * Every parameter of the method must be an array of {@code byte}, {@code short}, {@code int}, {@code long},
+ * {@code float} or {@code double}, all of the same length, and the native function is called with the i'th element
+ * of each array.  The method returns an array of the same length holding the result of each call, or is
+ * {@code void} to discard the results.  For example, declaring
+ * <pre>
+ * {@code @Batch int[] abs(int[] values);}
+ * </pre>
+ * calls {@code int abs(int)} on every element of {@code values}.  Elements are passed as the C type of the same
+ * size; use a {@code long} array to pass pointers.
+ * <p>
+ * On x86_64 all the calls are made from a native loop, so the whole batch costs a single transition to native code.
+ * Elsewhere the calls are made one at a time.  Errors are never saved.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Batch {
+}
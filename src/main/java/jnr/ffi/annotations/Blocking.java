@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indicates that the native functions of a library or a library method may block for a long time, such as
+ * {@code read}, {@code poll} or {@code accept}.
+ * <p>
+ * A blocking method declared to return {@link java.util.concurrent.CompletableFuture},
+ * {@link java.util.concurrent.CompletionStage} or {@link java.util.concurrent.Future} starts the native call on the
+ * native call executor and returns at once.  The future completes with the result of the call, converted as if the
+ * type argument of the future were the return type of the method, e.g.
+ * <pre>
+ * {@code @Blocking CompletableFuture<Integer> read(int fd, @Out byte[] buf, long count);}
+ * </pre>
+ * Arrays and buffers passed to such a method must not be used until the future completes.
+ * <p>
+ * The call is made on another thread, so its last error ({@code errno}) is not available from
+ * {@link jnr.ffi.Runtime#getLastError()} afterwards.  To tell e.g. {@code EAGAIN} from {@code EINTR}, declare the type
+ * argument of the future as {@link jnr.ffi.NativeResult}, which holds both the result and the last error of the call:
+ * <pre>
+ * {@code @Blocking CompletableFuture<NativeResult<Integer>> read(int fd, @Out byte[] buf, long count);}
+ * </pre>
+ * <p>
+ * Other blocking methods call the native function directly from platform threads.  Called from a virtual thread, they
+ * make the call on the native call executor and wait for it to complete, so that the virtual thread does not pin its
+ * carrier thread while the function blocks.  The last error of the call is copied back to the calling thread.
+ * <p>
+ * The native call executor is the {@link jnr.ffi.LibraryOption#BlockingExecutor} of the library, or else a pool of
+ * daemon threads shared by all libraries, whose size is set by the {@code jnr.ffi.blocking.threads} system property.
+ * <p>
+ * Blocking methods are always called through the generic buffer invoker, the slowest invocation tier, and check the
+ * calling thread on every call.  A method annotated with {@code @Blocking(false)} is not blocking even if its library
+ * is, and keeps the faster tiers:
+ * <pre>
+ * {@code
+ * @Blocking
+ * public interface LibC {
+ *     int read(int fd, @Out byte[] buf, long count);
+ *     @Blocking(false) int getpid();
+ * }
+ * }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface Blocking {
+    /**
+     * Whether the annotated method, or the methods of the annotated library, may block.
+     *
+     * @return false to exclude a method of a blocking library.
+     */
+    boolean value() default true;
+}
@@ -27,8 +27,52 @@ import java.lang.annotation.RetentionPolicy;
  * 
  * i.e. calls from multiple threads will synchronize on a monitor object,
  * then call the native method.
+ * <p>
+ * By default the monitor is the library instance itself.  Libraries that are only partially thread-unsafe can use
+ * finer-grained locks instead:
+ * <ul>
+ *     <li>{@code @Synchronized(group = Synchronized.METHOD)} serializes calls to the method, but not to any other
+ *     method.</li>
+ *     <li>{@code @Synchronized(group = "ctx")} serializes calls to all methods in the group named {@code ctx}.</li>
+ *     <li>{@code @Synchronized(group = "ctx", mode = Synchronized.Mode.READ)} lets methods in the group run
+ *     concurrently with each other, but not with methods in the group using {@link Mode#WRITE} or
+ *     {@link Mode#EXCLUSIVE}.</li>
+ * </ul>
+ * Lock groups are separate for each loaded library instance.  A method annotation takes precedence over the library
+ * annotation.
  */
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Synchronized {
+    /**
+     * The group name that gives each method its own lock.
+     */
+    String METHOD = "$method";
 
+    /**
+     * The lock modes of a group.
+     */
+    enum Mode {
+        /** Calls are serialized with all other calls in the group. */
+        EXCLUSIVE,
+
+        /** Calls may run concurrently with other {@code READ} calls in the group. */
+        READ,
+
+        /** Calls are serialized with all other calls in the group.  The same as {@link #EXCLUSIVE}. */
+        WRITE
+    }
+
+    /**
+     * The name of the lock group.  The default is to synchronize on the library instance.
+     *
+     * @return the lock group name, or {@link #METHOD} to lock each method separately.
+     */
+    String group() default "";
+
+    /**
+     * The lock mode.  {@link Mode#READ} and {@link Mode#WRITE} need a named {@link #group()}.
+     *
+     * @return the lock mode.
+     */
+    Mode mode() default Mode.EXCLUSIVE;
 }
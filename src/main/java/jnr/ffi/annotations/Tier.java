@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Chooses which invocation tiers may be used to call a library method, or all the methods of a library.
+ * <p>
+ * Without this annotation each method is called through the fastest tier that supports its signature, trying the
+ * tiers in the order they are declared in {@link Kind}.  {@code @Tier(Tier.Kind.FAST_NUMERIC)} only tries the listed
+ * tiers, in the listed order, and {@code @Tier(forbid = Tier.Kind.STUB)} never uses the listed tiers.  The
+ * {@link Kind#BUFFER} tier supports every method, so it is still used when none of the allowed tiers do.
+ * <p>
+ * A method annotation takes precedence over the library annotation.  The library annotation of the interface being
+ * loaded also applies to the methods it inherits, and takes precedence over that of a super-interface.  The tiers
+ * chosen for a library are listed by {@link jnr.ffi.Runtime#getTierReport(Object)}.  Libraries loaded without
+ * bytecode generation ignore this annotation.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Tier {
+    /**
+     * The invocation tiers, fastest first.
+     */
+    enum Kind {
+        /** Native stubs assembled at runtime on x86, x86_64 and aarch64, called directly as JNI methods. */
+        STUB,
+
+        /** jffi's invokers for functions with only 32 bit integer parameters and results. */
+        FAST_INT,
+
+        /** jffi's invokers for functions with only 64 bit integer parameters and results. */
+        FAST_LONG,
+
+        /** jffi's invokers for functions with integer and floating point parameters and results. */
+        FAST_NUMERIC,
+
+        /** The generic invoker, which marshals the parameters into a buffer. */
+        BUFFER
+    }
+
+    /**
+     * The tiers to try, in order of preference.  If empty, all tiers are tried, fastest first.
+     */
+    Kind[] value() default {};
+
+    /**
+     * The tiers that must not be used.
+     */
+    Kind[] forbid() default {};
+}
@@ -28,12 +28,33 @@ public final class BoundedMemoryIO extends AbstractMemoryIO implements Delegatin
 
     private final long base,  size;
     private final Pointer io;
+    private final boolean owner;
 
     public BoundedMemoryIO(Pointer parent, long offset, long size) {
+        this(parent, offset, size, false);
+    }
+
+    /**
+     * Creates a bounded view of {@code parent}.
+     *
+     * @param parent the memory to access.
+     * @param offset the offset within {@code parent} the view starts at.
+     * @param size the size of the view.
+     * @param owner whether closing the view should also close {@code parent}.
+     */
+    public BoundedMemoryIO(Pointer parent, long offset, long size, boolean owner) {
         super(parent.getRuntime(), parent.address() != 0L ? parent.address() + offset : 0L, parent.isDirect());
         this.io = parent;
         this.base = offset;
         this.size = size;
+        this.owner = owner;
+    }
+
+    @Override
+    public void close() {
+        if (owner) {
+            io.close();
+        }
     }
 
     public long size() {
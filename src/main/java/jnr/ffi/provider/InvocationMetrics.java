@@ -0,0 +1,297 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Invocation counts and timings for the functions of a library loaded with {@link jnr.ffi.LibraryOption#Metrics}.
+ * <p>
+ * For each function, the time spent in the native call itself is recorded separately from the time spent
+ * converting the parameters and result.  Timings are kept as histograms with power-of-two nanosecond buckets.
+ *
+ * @see jnr.ffi.Runtime#getInvocationMetrics(Object)
+ */
+public class InvocationMetrics {
+    private final Class<?> interfaceClass;
+    private final List<Function> functions = new CopyOnWriteArrayList<Function>();
+
+    /**
+     * Creates empty metrics.  Only the library loader creates metrics, and fills them in through {@link #add}.
+     *
+     * @param interfaceClass the library interface class.
+     */
+    protected InvocationMetrics(Class<?> interfaceClass) {
+        this.interfaceClass = interfaceClass;
+    }
+
+    /**
+     * Gets the library interface these metrics were recorded for.
+     *
+     * @return the library interface class.
+     */
+    public Class<?> getInterfaceClass() {
+        return interfaceClass;
+    }
+
+    /**
+     * Gets the metrics for every function which is being measured.
+     *
+     * @return an unmodifiable list of the function metrics.
+     */
+    public List<Function> getFunctions() {
+        return Collections.unmodifiableList(functions);
+    }
+
+    /**
+     * Gets the metrics for a library method.
+     *
+     * @param method the library interface method.
+     * @return the function metrics, or null if the method is not being measured.
+     */
+    public Function getFunction(Method method) {
+        for (Function f : functions) {
+            if (f.method.equals(method)) {
+                return f;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the metrics for the functions bound to library methods with a given name.
+     *
+     * @param methodName the name of the library interface method.
+     * @return a list of the function metrics for all overloads of the method.
+     */
+    public List<Function> getFunctions(String methodName) {
+        List<Function> list = new ArrayList<Function>();
+        for (Function f : functions) {
+            if (f.method.getName().equals(methodName)) {
+                list.add(f);
+            }
+        }
+
+        return list;
+    }
+
+    /**
+     * Registers a method to be measured.
+     *
+     * @param method the library interface method.
+     * @return the function metrics for the method.
+     */
+    protected final Function add(Method method) {
+        Function f = new Function(method);
+        functions.add(f);
+        return f;
+    }
+
+    /**
+     * Clears all recorded invocations.
+     */
+    public void reset() {
+        for (Function f : functions) {
+            f.reset();
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(interfaceClass.getName()).append(" invocation metrics:");
+        for (Function f : functions) {
+            sb.append(System.lineSeparator()).append("  ").append(f);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * The metrics for one library method.
+     */
+    public static final class Function {
+        private final Method method;
+        private final Histogram nativeTime = new Histogram();
+        private final Histogram conversionTime = new Histogram();
+
+        Function(Method method) {
+            this.method = method;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        /**
+         * Gets the number of completed calls.
+         *
+         * @return the call count.
+         */
+        public long getCallCount() {
+            return nativeTime.getCount();
+        }
+
+        /**
+         * Gets the histogram of time spent in the native function.
+         *
+         * @return the native time histogram.
+         */
+        public Histogram getNativeTime() {
+            return nativeTime;
+        }
+
+        /**
+         * Gets the histogram of time spent converting parameters and the result.
+         *
+         * @return the conversion time histogram.
+         */
+        public Histogram getConversionTime() {
+            return conversionTime;
+        }
+
+        /**
+         * Records a completed call.  This is called from the generated library code.
+         *
+         * @param start the {@link System#nanoTime()} when the method was entered.
+         * @param nativeStart the {@link System#nanoTime()} just before the native function was called.
+         * @param nativeEnd the {@link System#nanoTime()} just after the native function returned.
+         */
+        public void record(long start, long nativeStart, long nativeEnd) {
+            long end = System.nanoTime();
+            nativeTime.record(nativeEnd - nativeStart);
+            conversionTime.record((nativeStart - start) + (end - nativeEnd));
+        }
+
+        void reset() {
+            nativeTime.reset();
+            conversionTime.reset();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: calls=%d native=%s conversion=%s", method.getName(), getCallCount(),
+                    nativeTime, conversionTime);
+        }
+    }
+
+    /**
+     * A histogram of durations in nanoseconds.  Bucket {@code n} counts durations {@code d}
+     * where {@code 2^n <= d < 2^(n+1)}, except bucket 0 which also counts durations of 0.
+     */
+    public static final class Histogram {
+        public static final int BUCKETS = 64;
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder total = new LongAdder();
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            long d = Math.max(0, nanos);
+            buckets[d != 0 ? 63 - Long.numberOfLeadingZeros(d) : 0].increment();
+            total.add(d);
+        }
+
+        void reset() {
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+            total.reset();
+        }
+
+        /**
+         * Gets the number of durations recorded in a bucket.
+         *
+         * @param bucket the bucket index, between 0 and {@link #BUCKETS} - 1.
+         * @return the count for the bucket.
+         */
+        public long getBucketCount(int bucket) {
+            return buckets[bucket].sum();
+        }
+
+        public long getCount() {
+            long count = 0;
+            for (LongAdder bucket : buckets) {
+                count += bucket.sum();
+            }
+
+            return count;
+        }
+
+        /**
+         * Gets the sum of all recorded durations.
+         *
+         * @return the total time in nanoseconds.
+         */
+        public long getTotalNanos() {
+            return total.sum();
+        }
+
+        /**
+         * Gets the mean of the recorded durations.
+         *
+         * @return the mean time in nanoseconds, or 0 if nothing was recorded.
+         */
+        public double getMeanNanos() {
+            long count = getCount();
+            return count != 0 ? (double) getTotalNanos() / count : 0;
+        }
+
+        /**
+         * Estimates a percentile of the recorded durations, as the upper bound of the bucket it falls into.
+         *
+         * @param percentile the percentile, between 0 and 100.
+         * @return the upper bound in nanoseconds, or 0 if nothing was recorded.
+         */
+        public long getPercentileNanos(double percentile) {
+            long[] counts = new long[BUCKETS];
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                count += (counts[i] = buckets[i].sum());
+            }
+
+            long rank = (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank && seen > 0) {
+                    return i < 62 ? (2L << i) - 1 : Long.MAX_VALUE;
+                }
+            }
+
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[mean=%.0fns p50<=%dns p99<=%dns]",
+                    getMeanNanos(), getPercentileNanos(50), getPercentileNanos(99));
+        }
+    }
+}
@@ -18,6 +18,7 @@
 
 package jnr.ffi.provider;
 
+import jnr.ffi.MemoryScope;
 import jnr.ffi.Pointer;
 
 import java.nio.ByteBuffer;
@@ -36,4 +37,23 @@ public interface MemoryManager {
     public abstract Pointer newPointer(long address);
     public abstract Pointer newPointer(long address, long size);
     public abstract Pointer newOpaquePointer(long address);
+
+    /**
+     * Opens a new {@link MemoryScope} on the current thread, nested inside any scope that is already open.
+     *
+     * @return a new memory scope, which must be closed by the current thread.
+     * @throws UnsupportedOperationException if this memory manager does not support memory scopes.
+     */
+    default MemoryScope openScope() {
+        throw new UnsupportedOperationException("memory scopes not supported by " + getClass().getName());
+    }
+
+    /**
+     * Gets the innermost {@link MemoryScope} open on the current thread.
+     *
+     * @return the current memory scope, or {@code null} if no scope is open or scopes are not supported.
+     */
+    default MemoryScope currentScope() {
+        return null;
+    }
 }
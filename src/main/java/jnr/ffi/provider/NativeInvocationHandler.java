@@ -20,15 +20,20 @@ package jnr.ffi.provider;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.util.Collections;
-import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * InvocationHandler used to map invocations on a java interface to the correct native function.
+ * <p>
+ * Invokers are looked up in the map of invokers the first time each method is called, and then cached in a
+ * lock-free table keyed by the identity of the {@link Method} passed by the proxy.
  */
 public class NativeInvocationHandler implements InvocationHandler {
-    private volatile Map<Method, Invoker> fastLookupTable;
+    private static final int DEFAULT_METHOD_COUNT = 32;
+
+    private final AtomicReferenceArray<Entry> fastLookupTable;
+    private final int mask;
     private final Map<Method, Invoker> invokerMap;
 
     /**
@@ -38,28 +43,70 @@ public class NativeInvocationHandler implements InvocationHandler {
      *
      */
     public NativeInvocationHandler(Map<Method, Invoker> invokers) {
-        this.invokerMap = invokers;
-        this.fastLookupTable = Collections.emptyMap();
+        this(invokers, DEFAULT_METHOD_COUNT);
     }
 
-    public Object invoke(Object self, Method method, Object[] argArray) throws Throwable {
-        Invoker invoker = fastLookupTable.get(method);
-        return invoker != null ? invoker.invoke(self, argArray) : lookupAndCacheInvoker(method).invoke(self, argArray);
+    /**
+     * Creates a new InvocationHandler instance.
+     *
+     * @param invokers A map of method invokers.  It must be safe to call from multiple threads at once.
+     * @param methodCount The number of methods that may be invoked, used to size the lookup table.
+     */
+    public NativeInvocationHandler(Map<Method, Invoker> invokers, int methodCount) {
+        int capacity = 16;
+        while (capacity < methodCount * 2) {
+            capacity <<= 1;
+        }
+        this.invokerMap = invokers;
+        this.fastLookupTable = new AtomicReferenceArray<Entry>(capacity);
+        this.mask = capacity - 1;
     }
 
-    private synchronized Invoker lookupAndCacheInvoker(Method method) {
-        Invoker invoker;
-        if ((invoker = fastLookupTable.get(method)) != null) {
-            return invoker;
+    public Object invoke(Object self, Method method, Object[] argArray) throws Throwable {
+        for (int i = System.identityHashCode(method) & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+            Entry entry = fastLookupTable.get(i);
+            if (entry == null) {
+                break;
+            }
+            if (entry.method == method) {
+                return entry.invoker.invoke(self, argArray);
+            }
         }
 
-        Map<Method, Invoker> map = new IdentityHashMap<Method, Invoker>(fastLookupTable);
-        map.put(method, invoker = invokerMap.get(method));
+        return lookupAndCacheInvoker(method).invoke(self, argArray);
+    }
+
+    private Invoker lookupAndCacheInvoker(Method method) {
+        Invoker invoker = invokerMap.get(method);
         if (invoker == null) {
             throw new UnsatisfiedLinkError("no invoker for native method " + method.getName());
         }
 
-        fastLookupTable = map;
+        // Claim the first free slot, unless another thread has cached this method meanwhile.  If the table is full
+        // the invoker is not cached, and will be looked up again next time.
+        Entry newEntry = new Entry(method, invoker);
+        for (int i = System.identityHashCode(method) & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+            Entry entry = fastLookupTable.get(i);
+            if (entry == null && fastLookupTable.compareAndSet(i, null, newEntry)) {
+                break;
+            }
+
+            entry = fastLookupTable.get(i);
+            if (entry.method == method) {
+                return entry.invoker;
+            }
+        }
+
         return invoker;
     }
-}
\ No newline at end of file
+
+    private static final class Entry {
+        final Method method;
+        final Invoker invoker;
+
+        Entry(Method method, Invoker invoker) {
+            this.method = method;
+            this.invoker = invoker;
+        }
+    }
+}
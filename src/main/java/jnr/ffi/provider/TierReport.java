@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider;
+
+import jnr.ffi.annotations.Tier;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The invocation tier chosen for each method of a library, and why faster tiers were not used.
+ * <p>
+ * A report is only kept for libraries loaded with {@link jnr.ffi.LibraryOption#TierReport}, or while the
+ * {@code jnr.ffi.tier.report} system property is set.  Methods of a library loaded with
+ * {@link jnr.ffi.LibraryOption#LazyBinding} are only added when they are first called.
+ *
+ * @see jnr.ffi.Runtime#getTierReport(Object)
+ * @see Tier
+ */
+public class TierReport {
+    private final Class<?> interfaceClass;
+    private final List<Entry> entries = new CopyOnWriteArrayList<Entry>();
+
+    /**
+     * Creates an empty report.  Only the library loader creates reports, and fills them in through {@link #add}.
+     *
+     * @param interfaceClass the library interface class.
+     */
+    protected TierReport(Class<?> interfaceClass) {
+        this.interfaceClass = interfaceClass;
+    }
+
+    /**
+     * Gets the library interface this report is for.
+     *
+     * @return the library interface class.
+     */
+    public Class<?> getInterfaceClass() {
+        return interfaceClass;
+    }
+
+    /**
+     * Gets the entries for all bound methods, in the order they were bound.
+     *
+     * @return an unmodifiable list of the entries.
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Gets the entry for a library method.
+     *
+     * @param method the library interface method.
+     * @return the entry, or null if the method has not been bound.
+     */
+    public Entry getEntry(Method method) {
+        for (Entry e : entries) {
+            if (e.method.equals(method)) {
+                return e;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Records the tier chosen for a method.
+     *
+     * @param method the library interface method.
+     * @param tier the tier the method is called through.
+     * @param rejections why the other tiers were not used.
+     * @return the new entry.
+     */
+    protected final Entry add(Method method, Tier.Kind tier, Map<Tier.Kind, String> rejections) {
+        Entry e = new Entry(method, tier, rejections);
+        entries.add(e);
+        return e;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(interfaceClass.getName()).append(" invocation tiers:");
+        for (Entry e : entries) {
+            sb.append(System.lineSeparator()).append("  ").append(e);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * The tier chosen for one library method.
+     */
+    public static final class Entry {
+        private final Method method;
+        private final Tier.Kind tier;
+        private final Map<Tier.Kind, String> rejections;
+
+        Entry(Method method, Tier.Kind tier, Map<Tier.Kind, String> rejections) {
+            this.method = method;
+            this.tier = tier;
+            this.rejections = Collections.unmodifiableMap(rejections);
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        /**
+         * Gets the tier the method is called through.
+         *
+         * @return the tier.
+         */
+        public Tier.Kind getTier() {
+            return tier;
+        }
+
+        /**
+         * Gets the reasons the other tiers were not used: first the tiers excluded by {@link Tier}, then the tiers
+         * tried before the chosen one, in the order they were tried.  Tiers after the chosen one are not listed.
+         *
+         * @return an unmodifiable map from each rejected tier to the reason it was rejected.
+         */
+        public Map<Tier.Kind, String> getRejections() {
+            return rejections;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(method.getName()).append(": ").append(tier);
+            for (Map.Entry<Tier.Kind, String> r : rejections.entrySet()) {
+                sb.append(", not ").append(r.getKey()).append(" (").append(r.getValue()).append(')');
+            }
+
+            return sb.toString();
+        }
+    }
+}
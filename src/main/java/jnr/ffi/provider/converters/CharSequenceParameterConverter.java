@@ -48,7 +48,7 @@ public class CharSequenceParameterConverter implements ToNativeConverter<CharSeq
     private final ThreadLocal<Reference<CharsetEncoder>> localEncoder = new ThreadLocal<Reference<CharsetEncoder>>();
 
     private final Charset charset;
-
+    private final boolean fastEncoding;
 
     public static ToNativeConverter<CharSequence, ByteBuffer> getInstance(Charset charset, ToNativeContext toNativeContext) {
         return Charset.defaultCharset().equals(charset) ? DEFAULT : new CharSequenceParameterConverter(charset);
@@ -92,6 +92,7 @@ public class CharSequenceParameterConverter implements ToNativeConverter<CharSeq
 
     private CharSequenceParameterConverter(Charset charset) {
         this.charset = charset;
+        this.fastEncoding = StringUtil.isFastEncoding(charset);
     }
 
     @Override
@@ -100,6 +101,10 @@ public class CharSequenceParameterConverter implements ToNativeConverter<CharSeq
             return null;
         }
 
+        if (fastEncoding) {
+            return ByteBuffer.wrap(StringUtil.encode(string, charset, 1));
+        }
+
         CharsetEncoder encoder = getEncoder(charset, localEncoder);
         ByteBuffer byteBuffer = ByteBuffer.wrap(new byte[(int) (string.length() * encoder.averageBytesPerChar()) + 4]);
         CharBuffer charBuffer = CharBuffer.wrap(string);
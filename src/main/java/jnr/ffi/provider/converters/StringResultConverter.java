@@ -25,16 +25,10 @@ import jnr.ffi.mapper.FromNativeConverter;
 import jnr.ffi.mapper.MethodResultContext;
 
 import java.lang.annotation.Annotation;
-import java.lang.ref.Reference;
-import java.nio.ByteBuffer;
-import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
-import java.nio.charset.CharsetDecoder;
 import java.util.Arrays;
 import java.util.Collection;
 
-import static jnr.ffi.provider.converters.StringUtil.getDecoder;
-
 /**
  * Converts a native pointer result into a java String
  */
@@ -42,7 +36,6 @@ import static jnr.ffi.provider.converters.StringUtil.getDecoder;
 @FromNativeConverter.Cacheable
 public class StringResultConverter implements FromNativeConverter<String, Pointer> {
     private static final FromNativeConverter<String, Pointer> DEFAULT = new StringResultConverter(Charset.defaultCharset());
-    private final ThreadLocal<Reference<CharsetDecoder>> localDecoder = new ThreadLocal<Reference<CharsetDecoder>>();
     private final Charset charset;
     private final int terminatorWidth;
 
@@ -90,13 +83,7 @@ public class StringResultConverter implements FromNativeConverter<String, Pointe
                 }
             }
 
-            byte[] bytes = new byte[idx];
-            pointer.get(0, bytes, 0, bytes.length);
-            try {
-                return getDecoder(charset, localDecoder).reset().decode(ByteBuffer.wrap(bytes)).toString();
-            } catch (CharacterCodingException cce) {
-                throw new RuntimeException(cce);
-            }
+            return StringUtil.decode(pointer, 0, idx, charset);
         }
     }
 
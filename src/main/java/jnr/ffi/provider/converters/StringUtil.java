@@ -18,6 +18,7 @@
 
 package jnr.ffi.provider.converters;
 
+import jnr.ffi.Pointer;
 import jnr.ffi.annotations.Encoding;
 import jnr.ffi.mapper.MethodParameterContext;
 import jnr.ffi.mapper.ToNativeContext;
@@ -35,7 +36,7 @@ import java.nio.charset.CodingErrorAction;
 import java.util.Arrays;
 import java.util.Collection;
 
-final class StringUtil {
+public final class StringUtil {
     private StringUtil() {}
 
     static CharsetEncoder getEncoder(Charset charset, ThreadLocal<Reference<CharsetEncoder>> localEncoder) {
@@ -133,6 +134,147 @@ final class StringUtil {
         }
     }
 
+    /**
+     * Indicates whether {@link #encode(CharSequence, Charset, int)} can encode strings in a charset without
+     * going through a {@link CharsetEncoder}.
+     */
+    static boolean isFastEncoding(Charset charset) {
+        return charset.equals(UTF8) || charset.equals(USASCII) || charset.equals(ISO8859_1);
+    }
+
+    /**
+     * Encodes a string as UTF-8, US-ASCII or ISO-8859-1 into an exactly sized array, followed by
+     * {@code terminatorWidth} NUL bytes.  Characters which cannot be encoded are replaced with '?', the same
+     * as a {@link CharsetEncoder} configured with {@link CodingErrorAction#REPLACE}.
+     */
+    static byte[] encode(CharSequence string, Charset charset, int terminatorWidth) {
+        return charset.equals(UTF8)
+                ? encodeUTF8(string, terminatorWidth)
+                : encodeSingleByte(string, charset.equals(USASCII) ? 0x7f : 0xff, terminatorWidth);
+    }
+
+    private static byte[] encodeSingleByte(CharSequence string, int maxChar, int terminatorWidth) {
+        final int length = string.length();
+        int byteCount = length;
+        for (int i = 0; i < length; i++) {
+            if (isSurrogatePair(string, i, length)) {
+                byteCount--;
+                i++;
+            }
+        }
+
+        byte[] bytes = new byte[byteCount + terminatorWidth];
+        for (int i = 0, idx = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c <= maxChar) {
+                bytes[idx++] = (byte) c;
+
+            } else {
+                bytes[idx++] = '?';
+                if (isSurrogatePair(string, i, length)) {
+                    i++;
+                }
+            }
+        }
+
+        return bytes;
+    }
+
+    private static byte[] encodeUTF8(CharSequence string, int terminatorWidth) {
+        final int length = string.length();
+        int byteCount = 0;
+        boolean ascii = true;
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                byteCount++;
+                continue;
+            }
+
+            ascii = false;
+            if (c < 0x800) {
+                byteCount += 2;
+
+            } else if (isSurrogatePair(string, i, length)) {
+                byteCount += 4;
+                i++;
+
+            } else {
+                byteCount += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+
+        byte[] bytes = new byte[byteCount + terminatorWidth];
+        if (ascii) {
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) string.charAt(i);
+            }
+
+            return bytes;
+        }
+
+        for (int i = 0, idx = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                bytes[idx++] = (byte) c;
+
+            } else if (c < 0x800) {
+                bytes[idx++] = (byte) (0xc0 | (c >> 6));
+                bytes[idx++] = (byte) (0x80 | (c & 0x3f));
+
+            } else if (isSurrogatePair(string, i, length)) {
+                int cp = Character.toCodePoint(c, string.charAt(++i));
+                bytes[idx++] = (byte) (0xf0 | (cp >> 18));
+                bytes[idx++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                bytes[idx++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                bytes[idx++] = (byte) (0x80 | (cp & 0x3f));
+
+            } else if (Character.isSurrogate(c)) {
+                bytes[idx++] = '?';
+
+            } else {
+                bytes[idx++] = (byte) (0xe0 | (c >> 12));
+                bytes[idx++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                bytes[idx++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+
+        return bytes;
+    }
+
+    private static final int MAX_DECODE_BUFFER_SIZE = 8192;
+    private static final ThreadLocal<byte[]> decodeBuffer = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[256];
+        }
+    };
+
+    /**
+     * Copies {@code length} bytes from native memory into a per-thread buffer and decodes them.  Only strings
+     * longer than {@link #MAX_DECODE_BUFFER_SIZE} need a temporary array of their own.
+     *
+     * @param pointer the memory to read from.
+     * @param offset the offset of the string within {@code pointer}.
+     * @param length the length of the string in bytes.
+     * @param charset the charset to decode the string with.
+     * @return the decoded string.
+     */
+    public static String decode(Pointer pointer, long offset, int length, Charset charset) {
+        byte[] bytes = length <= MAX_DECODE_BUFFER_SIZE ? decodeBuffer.get() : new byte[length];
+        if (bytes.length < length) {
+            decodeBuffer.set(bytes = new byte[Math.min(Math.max(length, bytes.length * 2), MAX_DECODE_BUFFER_SIZE)]);
+        }
+
+        pointer.get(offset, bytes, 0, length);
+        return new String(bytes, 0, length, charset);
+    }
+
+    private static boolean isSurrogatePair(CharSequence string, int index, int length) {
+        return Character.isHighSurrogate(string.charAt(index))
+                && index + 1 < length && Character.isLowSurrogate(string.charAt(index + 1));
+    }
+
     static int stringLength(ByteBuffer in, int terminatorWidth) {
         if (in.hasArray()) {
             byte[] array = in.array();
@@ -18,6 +18,7 @@
 
 package jnr.ffi.provider.converters;
 
+import jnr.ffi.MemoryScope;
 import jnr.ffi.Pointer;
 import jnr.ffi.Struct;
 import jnr.ffi.mapper.ToNativeContext;
@@ -26,11 +27,14 @@ import jnr.ffi.provider.ParameterFlags;
 
 @ToNativeConverter.NoContext
 @ToNativeConverter.Cacheable
-public final class StructByReferenceToNativeConverter implements ToNativeConverter<Struct, Pointer> {
-    private final int flags;
+public class StructByReferenceToNativeConverter implements ToNativeConverter<Struct, Pointer> {
+    protected final int flags;
 
     public static ToNativeConverter<Struct, Pointer> getInstance(ToNativeContext toNativeContext) {
-        return new StructByReferenceToNativeConverter(ParameterFlags.parse(toNativeContext.getAnnotations()));
+        int flags = ParameterFlags.parse(toNativeContext.getAnnotations());
+        return ParameterFlags.isTransient(flags)
+                ? new StructByReferenceToNativeConverter.Transient(flags)
+                : new StructByReferenceToNativeConverter(flags);
     }
 
     StructByReferenceToNativeConverter(int flags) {
@@ -44,4 +48,44 @@ public final class StructByReferenceToNativeConverter implements ToNativeConvert
     public Pointer toNative(Struct value, ToNativeContext ctx) {
         return value != null ? Struct.getMemory(value, flags) : null;
     }
+
+    /**
+     * Passes a heap backed struct annotated with {@link jnr.ffi.annotations.Transient} in a copy allocated from
+     * the current {@link MemoryScope}, if one is open.  The struct keeps its own memory, so it stays valid
+     * after the scope is closed.
+     */
+    @ToNativeConverter.NoContext
+    @ToNativeConverter.Cacheable
+    public static final class Transient extends StructByReferenceToNativeConverter implements PostInvocation<Struct, Pointer> {
+        Transient(int flags) {
+            super(flags);
+        }
+
+        @Override
+        public Pointer toNative(Struct value, ToNativeContext ctx) {
+            if (value == null) {
+                return null;
+            }
+            Pointer memory = Struct.getMemory(value, flags);
+            MemoryScope scope;
+            if (memory.isDirect() || (scope = memory.getRuntime().getMemoryManager().currentScope()) == null) {
+                return memory;
+            }
+            Pointer copy = scope.allocate(memory.size(), !ParameterFlags.isIn(flags));
+            if (ParameterFlags.isIn(flags)) {
+                memory.transferTo(0, copy, 0, memory.size());
+            }
+            return copy;
+        }
+
+        @Override
+        public void postInvoke(Struct value, Pointer copy, ToNativeContext context) {
+            if (value != null && copy != null && ParameterFlags.isOut(flags)) {
+                Pointer memory = Struct.getMemory(value, flags);
+                if (memory != copy) {
+                    copy.transferTo(0, memory, 0, memory.size());
+                }
+            }
+        }
+    }
 }
@@ -28,13 +28,14 @@ import jnr.a64asm.Pre_index;
 import jnr.a64asm.Register;
 import jnr.a64asm.Shift;
 import jnr.ffi.CallingConvention;
+import jnr.ffi.NativeType;
 import jnr.ffi.provider.ParameterType;
 import jnr.ffi.provider.ResultType;
 
 import static jnr.ffi.provider.jffi.CodegenUtils.sig;
 
 /**
- * Compilers method trampoline stubs for x86_64
+ * Compiles method trampoline stubs for aarch64
  */
 final class ARM_64StubCompiler extends AbstractA64StubCompiler {
 
@@ -153,8 +154,11 @@ final class ARM_64StubCompiler extends AbstractA64StubCompiler {
         // So we need to shuffle all the integer args up to over-write the
         // env and self arguments
 
+        // The integer registers are allocated independently of the floating point registers, so the i'th integer
+        // register holds the i'th integer parameter, whatever the floating point parameters between them
+        NativeType[] intTypes = intTypes(parameterTypes);
         for (int i = 0; i < Math.min(iCount, 6); i++) {
-            switch (parameterTypes[i].getNativeType()) {
+            switch (intTypes[i]) {
                 case SCHAR:
                     a.sxtb(srcRegisters64[i], srcRegisters32[i]);
                     a.mov(dstRegisters64[i], srcRegisters64[i]);
@@ -196,7 +200,7 @@ final class ARM_64StubCompiler extends AbstractA64StubCompiler {
         }
 
         // All the integer registers are loaded; there nothing to do for the floating
-        // registers, as the first 8 args are already in xmm0..xmm7, so just sanity check
+        // registers, as the first 8 args are already in v0..v7, so just sanity check
         if (fCount > 8) {
             throw new IllegalArgumentException("float argument count > 8");
         }
@@ -219,6 +223,17 @@ final class ARM_64StubCompiler extends AbstractA64StubCompiler {
                 case VOID:
                     // No need to save/reload return value registers
                     break;
+
+                case FLOAT:
+                    // str s0, [x29, #16]
+                    emit(a, 0xbd0013a0);
+                    break;
+
+                case DOUBLE:
+                    // str d0, [x29, #16]
+                    emit(a, 0xfd000ba0);
+                    break;
+
                 default:
                     a.str(dstRegisters64[0], offset);
                     break;
@@ -240,6 +255,16 @@ final class ARM_64StubCompiler extends AbstractA64StubCompiler {
                     // No need to save/reload return value registers
                     break;
 
+                case FLOAT:
+                    // ldr s0, [x29, #16]
+                    emit(a, 0xbd4013a0);
+                    break;
+
+                case DOUBLE:
+                    // ldr d0, [x29, #16]
+                    emit(a, 0xfd400ba0);
+                    break;
+
                 case SCHAR:
                     a.ldrsb(dstRegisters64[0],offset);
                     break;
@@ -304,6 +329,30 @@ final class ARM_64StubCompiler extends AbstractA64StubCompiler {
         stubs_A64.add(new Stub(name, sig(resultClass, parameterClasses), a));
     }
 
+    /**
+     * Emits an instruction the assembler has no method for, such as the floating point loads and stores.
+     */
+    private static void emit(Assembler_A64 a, int instruction) {
+        // Emit a placeholder of the same size, then overwrite it
+        a.mov(Register.gpb(9), Register.gpb(9));
+        a.setDWordAt(a.offset() - 4, instruction);
+    }
+
+    /**
+     * Gets the native types of the integer parameters, in the order they are passed in the integer registers.
+     */
+    static NativeType[] intTypes(ParameterType[] parameterTypes) {
+        NativeType[] intTypes = new NativeType[iCount(parameterTypes)];
+        int i = 0;
+        for (ParameterType t : parameterTypes) {
+            if (t.getNativeType() != NativeType.FLOAT && t.getNativeType() != NativeType.DOUBLE) {
+                intTypes[i++] = t.getNativeType();
+            }
+        }
+
+        return intTypes;
+    }
+
     static int fCount(ParameterType[] parameterTypes) {
         int fCount = 0;
 
@@ -23,7 +23,6 @@ import com.kenai.jffi.NativeMethod;
 import com.kenai.jffi.NativeMethods;
 import com.kenai.jffi.PageManager;
 import jnr.a64asm.Assembler_A64;
-import jnr.ffi.Platform;
 import jnr.ffi.Runtime;
 
 import java.io.PrintStream;
@@ -40,7 +39,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Base class for most X86_32/X86_64 stub compilers
+ * Base class for the aarch64 stub compilers
  */
 abstract class AbstractA64StubCompiler extends StubCompiler {
     public final static boolean DEBUG = Boolean.getBoolean("jnr.ffi.compile.dump");
@@ -143,20 +142,11 @@ abstract class AbstractA64StubCompiler extends StubCompiler {
             buf.flip();
             MemoryIO.getInstance().putByteArray(fn, buf.array(), buf.arrayOffset(), buf.limit());
 
-            if (DEBUG && X86Disassembler.isAvailable()) {
-
+            if (DEBUG) {
+                // There is no disassembler for aarch64, so dump the instruction words
                 dbg.println(clazz.getName() + "." + stub.name + " " + stub.signature);
-                X86Disassembler disassembler = X86Disassembler.create();
-                disassembler.setMode(Platform.getNativePlatform().getCPU() == Platform.CPU.I386
-                        ? X86Disassembler.Mode.I386 : X86Disassembler.Mode.X86_64);
-                disassembler.setSyntax(X86Disassembler.Syntax.INTEL);
-                disassembler.setInputBuffer(MemoryUtil.newPointer(runtime, fn), asm.offset());
-                while (disassembler.disassemble()) {
-                    dbg.printf("%8x: %s\n", disassembler.offset(), disassembler.insn());
-                }
-                if (buf.remaining() > asm.offset()) {
-                    // libudis86 for some reason cannot understand the code asmjit emits for the trampolines
-                    dbg.printf("%8x: <indirect call trampolines>\n", asm.offset());
+                for (int offset = 0; offset < asm.offset(); offset += 4) {
+                    dbg.printf("%8x: %08x\n", offset, asm.getDWordAt(offset));
                 }
                 dbg.println();
             }
@@ -169,6 +159,7 @@ abstract class AbstractA64StubCompiler extends StubCompiler {
 
         NativeMethods.register(clazz, methods);
         StaticDataHolder.PAGES.put(clazz, page);
+        stubs_A64.clear();
     }
 
     static int align(int offset, int align) {
@@ -18,7 +18,9 @@
 
 package jnr.ffi.provider.jffi;
 
+import jnr.ffi.provider.InvocationMetrics;
 import jnr.ffi.provider.LoadedLibrary;
+import jnr.ffi.provider.TierReport;
 
 /**
  *
@@ -30,6 +32,10 @@ public abstract class AbstractAsmLibraryInterface implements LoadedLibrary {
     // Strong ref to keep the library alive
     protected final NativeLibrary library;
 
+    private volatile InvocationMetrics invocationMetrics;
+    private volatile TierReport tierReport;
+    private volatile LazyMethodBinder lazyMethodBinder;
+
     public AbstractAsmLibraryInterface(jnr.ffi.Runtime runtime, NativeLibrary library) {
         this.runtime = runtime;
         this.library = library;
@@ -42,4 +48,28 @@ public abstract class AbstractAsmLibraryInterface implements LoadedLibrary {
     final NativeLibrary getLibrary() {
         return library;
     }
+
+    final InvocationMetrics getInvocationMetrics() {
+        return invocationMetrics;
+    }
+
+    final void setInvocationMetrics(InvocationMetrics invocationMetrics) {
+        this.invocationMetrics = invocationMetrics;
+    }
+
+    final TierReport getTierReport() {
+        return tierReport;
+    }
+
+    final void setTierReport(TierReport tierReport) {
+        this.tierReport = tierReport;
+    }
+
+    final LazyMethodBinder getLazyMethodBinder() {
+        return lazyMethodBinder;
+    }
+
+    final void setLazyMethodBinder(LazyMethodBinder lazyMethodBinder) {
+        this.lazyMethodBinder = lazyMethodBinder;
+    }
 }
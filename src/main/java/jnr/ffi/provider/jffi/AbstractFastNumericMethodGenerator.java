@@ -86,9 +86,11 @@ abstract class AbstractFastNumericMethodGenerator extends BaseMethodGenerator {
             mv.iload(objCount);
             mv.ifne(hasObjects);
         }
+        builder.getMetricsEmitter().emitNativeStart(mv);
         mv.invokevirtual(p(com.kenai.jffi.Invoker.class),
                 getInvokerMethodName(resultType, parameterTypes, ignoreError),
                 getInvokerSignature(parameterTypes.length, nativeIntType));
+        builder.getMetricsEmitter().emitNativeEnd(mv);
 
         if (pointerCount > 0) mv.label(convertResult);
 
@@ -146,18 +148,14 @@ abstract class AbstractFastNumericMethodGenerator extends BaseMethodGenerator {
 
                     mv.aload(converted[i]);
                     mv.aload(strategies[i]);
-                    mv.aload(0);
-
-                    ObjectParameterInfo info = ObjectParameterInfo.create(i,
-                            AsmUtil.getNativeArrayFlags(parameterTypes[i].annotations()));
-
-                    mv.getfield(builder.getClassNamePath(), builder.getObjectParameterInfoName(info),
-                            ci(ObjectParameterInfo.class));
+                    AsmUtil.emitObjectParameterInfo(builder, mv, parameterTypes[i], i, converted[i]);
                 }
             }
+            builder.getMetricsEmitter().emitNativeStart(mv);
             mv.invokevirtual(p(com.kenai.jffi.Invoker.class),
                     getObjectParameterMethodName(parameterTypes.length),
                     getObjectParameterMethodSignature(parameterTypes.length, pointerCount));
+            builder.getMetricsEmitter().emitNativeEnd(mv);
             narrow(mv, long.class, nativeIntType);
             mv.go_to(convertResult);
         }
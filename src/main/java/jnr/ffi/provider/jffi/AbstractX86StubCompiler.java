@@ -169,6 +169,7 @@ abstract class AbstractX86StubCompiler extends StubCompiler {
 
         NativeMethods.register(clazz, methods);
         StaticDataHolder.PAGES.put(clazz, page);
+        stubs.clear();
     }
 
     static int align(int offset, int align) {
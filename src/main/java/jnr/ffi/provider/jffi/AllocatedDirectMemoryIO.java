@@ -19,11 +19,14 @@
 package jnr.ffi.provider.jffi;
 
 import jnr.ffi.Runtime;
+import jnr.ffi.util.ref.FinalizablePhantomReference;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 class AllocatedDirectMemoryIO extends DirectMemoryIO {
-    private final AtomicBoolean allocated = new AtomicBoolean(true);
+    private final Allocation allocation;
     private final long size;
     
     public AllocatedDirectMemoryIO(Runtime runtime, long size, boolean clear) {
@@ -32,6 +35,7 @@ class AllocatedDirectMemoryIO extends DirectMemoryIO {
         if (address() == 0L) {
             throw new OutOfMemoryError("Failed to allocate " + size + " bytes");
         }
+        this.allocation = new Allocation(this, address());
     }
 
     @Override
@@ -55,19 +59,41 @@ class AllocatedDirectMemoryIO extends DirectMemoryIO {
     }
 
     public final void dispose() {
-        if (allocated.getAndSet(false)) {
-            IO.freeMemory(address());
-        }
+        allocation.free();
     }
 
     @Override
-    protected void finalize() throws Throwable {
-        try {
+    public void close() {
+        allocation.free();
+    }
+
+    /**
+     * Frees the native memory when it is closed, or when it is garbage collected without being closed.
+     */
+    private static final class Allocation extends FinalizablePhantomReference<AllocatedDirectMemoryIO> {
+        /** Keeps strong references to the allocations until they are freed */
+        @SuppressWarnings("MismatchedQueryAndUpdateOfCollection")
+        private static final Map<Allocation, Boolean> referenceSet = new ConcurrentHashMap<Allocation, Boolean>();
+
+        private final AtomicBoolean allocated = new AtomicBoolean(true);
+        private final long address;
+
+        Allocation(AllocatedDirectMemoryIO memory, long address) {
+            super(memory, NativeFinalizer.getInstance().getFinalizerQueue());
+            this.address = address;
+            referenceSet.put(this, Boolean.TRUE);
+        }
+
+        void free() {
             if (allocated.getAndSet(false)) {
-                IO.freeMemory(address());
+                clear();
+                referenceSet.remove(this);
+                IO.freeMemory(address);
             }
-        } finally {
-            super.finalize();
+        }
+
+        public final void finalizeReferent() {
+            free();
         }
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import com.kenai.jffi.ArrayFlags;
+
+/**
+ * The size policy for passing primitive arrays to native functions.
+ * <p>
+ * Arrays annotated with {@link jnr.ffi.annotations.Pinned} are always passed without copying, whatever their size.
+ * Other arrays are copied to and from native memory around the call, unless the array has at least as many bytes as
+ * the threshold of the policy, in which case it is pinned as if it was annotated with {@code @Pinned}.  Arrays that
+ * are NUL terminated, i.e. {@code @In} or {@code @NulTerminate} arrays, are always copied unless annotated, because a
+ * terminator cannot be appended to a pinned array.
+ * <p>
+ * The policy used by the library loaders has the threshold set by the {@code jnr.ffi.array.pinThreshold} system
+ * property.
+ */
+final class ArrayPinning {
+    /** The policy set by the {@code jnr.ffi.array.pinThreshold} system property. */
+    static final ArrayPinning DEFAULT = new ArrayPinning(Util.getIntegerProperty("jnr.ffi.array.pinThreshold", -1));
+
+    /** The size in bytes from which arrays are pinned, or -1 if arrays are only pinned when annotated. */
+    private final int threshold;
+
+    ArrayPinning(int threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Checks if an array parameter with the given flags is pinned or copied depending on its size.
+     */
+    boolean isSizeDependent(Class javaType, int nativeArrayFlags) {
+        return threshold >= 0 && javaType.isArray() && javaType.getComponentType().isPrimitive()
+                && (nativeArrayFlags & (ArrayFlags.PINNED | ArrayFlags.NULTERMINATE)) == 0;
+    }
+
+    /**
+     * Gets the minimum length of an array of the given type that is pinned.
+     */
+    int minimumLength(Class arrayType) {
+        int size = componentSize(arrayType.getComponentType());
+        return (int) ((threshold + (long) size - 1) / size);
+    }
+
+    private static int componentSize(Class componentType) {
+        if (byte.class == componentType || boolean.class == componentType) {
+            return 1;
+
+        } else if (short.class == componentType || char.class == componentType) {
+            return 2;
+
+        } else if (int.class == componentType || float.class == componentType) {
+            return 4;
+
+        } else {
+            return 8;
+        }
+    }
+}
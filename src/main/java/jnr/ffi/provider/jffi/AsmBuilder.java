@@ -49,6 +49,7 @@ class AsmBuilder {
     private final String classNamePath;
     private final ClassVisitor classVisitor;
     private final AsmClassLoader classLoader;
+    private final ArrayPinning arrayPinning;
 
     private final ObjectNameGenerator functionId = new ObjectNameGenerator("functionAddress");
     private final ObjectNameGenerator contextId = new ObjectNameGenerator("callContext");
@@ -70,12 +71,19 @@ class AsmBuilder {
     private final Map<Long, ObjectField> functionAddresses = new HashMap<Long, ObjectField>();
     private final Map<Object, ObjectField> genericObjects = new IdentityHashMap<Object, ObjectField>();
     private final List<ObjectField> objectFields = new ArrayList<ObjectField>();
+    private MetricsEmitter metricsEmitter = MetricsEmitter.NONE;
 
     AsmBuilder(jnr.ffi.Runtime runtime, String classNamePath, ClassVisitor classVisitor, AsmClassLoader classLoader) {
+        this(runtime, classNamePath, classVisitor, classLoader, ArrayPinning.DEFAULT);
+    }
+
+    AsmBuilder(jnr.ffi.Runtime runtime, String classNamePath, ClassVisitor classVisitor, AsmClassLoader classLoader,
+               ArrayPinning arrayPinning) {
         this.runtime = runtime;
         this.classNamePath = classNamePath;
         this.classVisitor = classVisitor;
         this.classLoader = classLoader;
+        this.arrayPinning = arrayPinning;
     }
 
     public String getClassNamePath() {
@@ -94,6 +102,24 @@ class AsmBuilder {
         return runtime;
     }
 
+    /**
+     * Gets the size policy of the array parameters of the generated methods.
+     */
+    ArrayPinning getArrayPinning() {
+        return arrayPinning;
+    }
+
+    /**
+     * Gets the metrics emitter for the method currently being generated.
+     */
+    MetricsEmitter getMetricsEmitter() {
+        return metricsEmitter;
+    }
+
+    void setMetricsEmitter(MetricsEmitter metricsEmitter) {
+        this.metricsEmitter = metricsEmitter;
+    }
+
     private static final class ObjectNameGenerator {
         private final String baseName;
         private int value;
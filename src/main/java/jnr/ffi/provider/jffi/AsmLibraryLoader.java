@@ -30,12 +30,19 @@ import java.io.PrintWriter;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
 
 import jnr.ffi.CallingConvention;
 import jnr.ffi.LibraryOption;
+import jnr.ffi.annotations.Batch;
 import jnr.ffi.annotations.Synchronized;
+import jnr.ffi.annotations.Tier;
 import jnr.ffi.mapper.CompositeTypeMapper;
 import jnr.ffi.mapper.DefaultSignatureType;
 import jnr.ffi.mapper.FromNativeContext;
@@ -50,6 +57,7 @@ import jnr.ffi.provider.NativeFunction;
 import jnr.ffi.provider.NativeVariable;
 import jnr.ffi.provider.ParameterType;
 import jnr.ffi.provider.ResultType;
+import jnr.ffi.provider.TierReport;
 import jnr.ffi.provider.jffi.AsmBuilder.ObjectField;
 
 import static jnr.ffi.provider.jffi.CodegenUtils.ci;
@@ -59,24 +67,36 @@ import static jnr.ffi.provider.jffi.InvokerUtil.getCallContext;
 import static jnr.ffi.provider.jffi.InvokerUtil.getCallingConvention;
 import static jnr.ffi.provider.jffi.InvokerUtil.getParameterTypes;
 import static jnr.ffi.provider.jffi.InvokerUtil.getResultType;
+import static jnr.ffi.provider.jffi.Util.getBooleanProperty;
 import static jnr.ffi.util.Annotations.sortedAnnotationCollection;
 import static org.objectweb.asm.Opcodes.ACC_FINAL;
 import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
 import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
 import static org.objectweb.asm.Opcodes.ACC_STATIC;
+import static org.objectweb.asm.Opcodes.ACC_SYNCHRONIZED;
 import static org.objectweb.asm.Opcodes.V1_8;
 
 public class AsmLibraryLoader extends LibraryLoader {
     public final static boolean DEBUG = Boolean.getBoolean("jnr.ffi.compile.dump");
     private static final AtomicLong nextClassID = new AtomicLong(0);
     private static final AtomicLong uniqueId = new AtomicLong(0);
+    private static final boolean REPORT_TIERS = getBooleanProperty("jnr.ffi.tier.report", false);
     private static final ThreadLocal<AsmClassLoader> classLoader = new ThreadLocal<AsmClassLoader>();
 
     private final NativeRuntime runtime = NativeRuntime.getInstance();
+    private final ArrayPinning arrayPinning;
+
+    public AsmLibraryLoader() {
+        this(ArrayPinning.DEFAULT);
+    }
+
+    AsmLibraryLoader(ArrayPinning arrayPinning) {
+        this.arrayPinning = arrayPinning;
+    }
 
     @Override
     <T> T loadLibrary(NativeLibrary library, Class<T> interfaceClass, Map<LibraryOption, ?> libraryOptions,
-                      boolean failImmediately /* ignored, asm loader eagerly binds everything */) {
+                      boolean failImmediately) {
         AsmClassLoader oldClassLoader = classLoader.get();
 
         // Only create a new class loader if this was not a recursive call (i.e. loading a library as a result of loading another library)
@@ -84,20 +104,22 @@ public class AsmLibraryLoader extends LibraryLoader {
             classLoader.set(new AsmClassLoader(interfaceClass.getClassLoader()));
         }
         try {
-            return generateInterfaceImpl(library, interfaceClass, libraryOptions, classLoader.get());
+            // Functions are bound when the library is loaded, unless lazy binding was requested
+            boolean lazy = !failImmediately && libraryOptions.containsKey(LibraryOption.LazyBinding);
+            return generateInterfaceImpl(library, interfaceClass, libraryOptions, lazy, classLoader.get());
         } finally {
             if (oldClassLoader == null) classLoader.remove();
         }
     }
 
     private <T> T generateInterfaceImpl(final NativeLibrary library, Class<T> interfaceClass, Map<LibraryOption, ?> libraryOptions,
-                                        AsmClassLoader classLoader) {
+                                        boolean lazy, AsmClassLoader classLoader) {
 
         boolean debug = DEBUG && !interfaceClass.isAnnotationPresent(NoTrace.class);
         ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
         ClassVisitor cv = debug ? AsmUtil.newCheckClassAdapter(cw) : cw;
 
-        AsmBuilder builder = new AsmBuilder(runtime, p(interfaceClass) + "$jnr$ffi$" + nextClassID.getAndIncrement(), cv, classLoader);
+        AsmBuilder builder = new AsmBuilder(runtime, p(interfaceClass) + "$jnr$ffi$" + nextClassID.getAndIncrement(), cv, classLoader, arrayPinning);
 
         cv.visit(V1_8, ACC_PUBLIC | ACC_FINAL, builder.getClassNamePath(), null, p(AbstractAsmLibraryInterface.class),
                 new String[]{p(interfaceClass)});
@@ -113,51 +135,51 @@ public class AsmLibraryLoader extends LibraryLoader {
         CallingConvention libraryCallingConvention = getCallingConvention(interfaceClass, libraryOptions);
 
         StubCompiler compiler = StubCompiler.newCompiler(runtime);
+        final MethodGenerator[] generators = newMethodGenerators(interfaceClass, compiler);
 
-        final MethodGenerator[] generators = {
-                !interfaceClass.isAnnotationPresent(NoX86.class)
-                    ? new X86MethodGenerator(compiler) : new NotImplMethodGenerator(),
-                new FastIntMethodGenerator(),
-                new FastLongMethodGenerator(),
-                new FastNumericMethodGenerator(),
-                new BufferMethodGenerator()
-        };
-        
-        DefaultInvokerFactory invokerFactory = new DefaultInvokerFactory(runtime, library, typeMapper, functionMapper, libraryCallingConvention, libraryOptions, interfaceClass.isAnnotationPresent(Synchronized.class));
+        LibraryLocks libraryLocks = new LibraryLocks(interfaceClass);
+        DefaultInvokerFactory invokerFactory = new DefaultInvokerFactory(runtime, library, typeMapper, functionMapper, libraryCallingConvention, libraryOptions, libraryLocks, arrayPinning);
         InterfaceScanner scanner = new InterfaceScanner(interfaceClass, typeMapper, libraryCallingConvention);
+        LibraryInvocationMetrics metrics = libraryOptions.containsKey(LibraryOption.Metrics)
+                ? new LibraryInvocationMetrics(interfaceClass) : null;
+        LibraryTierReport tierReport = REPORT_TIERS || libraryOptions.containsKey(LibraryOption.TierReport)
+                ? new LibraryTierReport(interfaceClass) : null;
+        LazyMethodBinder lazyBinder = lazy
+                ? new LazyMethodBinder(runtime, library, interfaceClass, classLoader, typeMapper, functionMapper, libraryOptions, metrics, tierReport, arrayPinning)
+                : null;
 
         for (NativeFunction function : scanner.functions()) {
             Method method = function.getMethod();
 
-            if (method.isVarArgs() || method.isAnnotationPresent(Variadic.class)) {
+            if (method.isVarArgs() || method.isAnnotationPresent(Batch.class) || BlockingInvoker.isBlocking(method)) {
                 ObjectField field = builder.getObjectField(invokerFactory.createInvoker(method), Invoker.class);
                 generateVarargsInvocation(builder, method, field);
+                reportTier(tierReport, method, Tier.Kind.BUFFER, rejectAll(Tier.Kind.BUFFER,
+                        method.isVarArgs() ? "variadic method"
+                                : BlockingInvoker.isBlocking(method) ? "blocking method" : "batch method"));
+                continue;
+            }
+
+            // Synchronized methods call the native function through an unsynchronized method of their own
+            Synchronized sync = libraryLocks.getSynchronized(method);
+            Lock lock = sync != null ? libraryLocks.getLock(method, sync) : null;
+            String methodName = sync != null ? method.getName() + "$jnr$unlocked" : method.getName();
+
+            if (lazyBinder != null) {
+                generateLazyInvocation(builder, method, methodName, lazyBinder.add(function));
+                if (sync != null) {
+                    generateSynchronizedInvocation(builder, method, methodName, lock);
+                }
                 continue;
             }
 
             String functionName = functionMapper.mapFunctionName(function.name(), new NativeFunctionMapperContext(library, function.annotations()));
 
             try {
-                long functionAddress = library.findSymbolAddress(functionName);
-                
-                FromNativeContext resultContext = new MethodResultContext(runtime, method);
-                SignatureType signatureType = DefaultSignatureType.create(method.getReturnType(), resultContext);
-                ResultType resultType = getResultType(runtime, method.getReturnType(),
-                        resultContext.getAnnotations(), typeMapper.getFromNativeType(signatureType, resultContext),
-                        resultContext);
-
-                ParameterType[] parameterTypes = getParameterTypes(runtime, typeMapper, method);
-
-                boolean saveError = jnr.ffi.LibraryLoader.saveError(libraryOptions, function.hasSaveError(), function.hasIgnoreError());
-
-                Function jffiFunction = new Function(functionAddress, 
-                        getCallContext(resultType, parameterTypes,function.convention(), saveError));
-
-                for (MethodGenerator g : generators) {
-                    if (g.isSupported(resultType, parameterTypes, function.convention())) {
-                        g.generate(builder, method.getName(), jffiFunction, resultType, parameterTypes, !saveError);
-                        break;
-                    }
+                generateFunction(runtime, builder, generators, library, interfaceClass, function, methodName, functionName, typeMapper,
+                        libraryOptions, metrics, tierReport);
+                if (sync != null) {
+                    generateSynchronizedInvocation(builder, method, methodName, lock);
                 }
 
             } catch (SymbolNotFoundError ex) {
@@ -218,6 +240,15 @@ public class AsmLibraryLoader extends LibraryLoader {
             Class<T> implClass = classLoader.defineClass(builder.getClassNamePath().replace("/", "."), bytes);
             Constructor<T> cons = implClass.getDeclaredConstructor(jnr.ffi.Runtime.class, NativeLibrary.class, Object[].class);
             T result = cons.newInstance(runtime, library, builder.getObjectFieldValues());
+            if (metrics != null) {
+                ((AbstractAsmLibraryInterface) result).setInvocationMetrics(metrics);
+            }
+            if (tierReport != null) {
+                ((AbstractAsmLibraryInterface) result).setTierReport(tierReport);
+            }
+            if (lazyBinder != null) {
+                ((AbstractAsmLibraryInterface) result).setLazyMethodBinder(lazyBinder);
+            }
 
             // Attach any native method stubs - we have to delay this until the
             // implementation class is loaded for it to work.
@@ -231,6 +262,198 @@ public class AsmLibraryLoader extends LibraryLoader {
         }
     }
 
+    /**
+     * Creates the method generators, one for each {@link Tier.Kind} and in the same order.
+     */
+    static MethodGenerator[] newMethodGenerators(Class<?> interfaceClass, StubCompiler compiler) {
+        return new MethodGenerator[] {
+                !interfaceClass.isAnnotationPresent(NoX86.class)
+                    ? new X86MethodGenerator(compiler) : new NotImplMethodGenerator("disabled by @NoX86"),
+                new FastIntMethodGenerator(),
+                new FastLongMethodGenerator(),
+                new FastNumericMethodGenerator(),
+                new BufferMethodGenerator()
+        };
+    }
+
+    /**
+     * Resolves a function and generates the method that calls it, using the first generator that supports it.
+     *
+     * @throws SymbolNotFoundError if the function is not found in the library.
+     */
+    static void generateFunction(NativeRuntime runtime, AsmBuilder builder, MethodGenerator[] generators, NativeLibrary library,
+                                 Class<?> interfaceClass, NativeFunction function, String methodName, String functionName, SignatureTypeMapper typeMapper,
+                                 Map<LibraryOption, ?> libraryOptions, LibraryInvocationMetrics metrics, LibraryTierReport tierReport) {
+        Method method = function.getMethod();
+        long functionAddress = library.findSymbolAddress(functionName);
+
+        FromNativeContext resultContext = new MethodResultContext(runtime, method);
+        SignatureType signatureType = DefaultSignatureType.create(method.getReturnType(), resultContext);
+        ResultType resultType = getResultType(runtime, method.getReturnType(),
+                resultContext.getAnnotations(), typeMapper.getFromNativeType(signatureType, resultContext),
+                resultContext);
+
+        ParameterType[] parameterTypes = getParameterTypes(runtime, typeMapper, method);
+
+        boolean saveError = jnr.ffi.LibraryLoader.saveError(libraryOptions, function.hasSaveError(), function.hasIgnoreError());
+
+        // A method with all-fixed parameters that calls a variadic function
+        Variadic variadic = method.getAnnotation(Variadic.class);
+        Function jffiFunction = new Function(functionAddress, variadic != null
+                ? getCallContext(resultType, variadic.fixedCount(), parameterTypes, function.convention(), saveError)
+                : getCallContext(resultType, parameterTypes, function.convention(), saveError));
+
+        builder.setMetricsEmitter(metrics != null
+                ? MetricsEmitter.create(builder, metrics.measure(method)) : MetricsEmitter.NONE);
+        Map<Tier.Kind, String> rejections = new LinkedHashMap<Tier.Kind, String>();
+        for (Tier.Kind tier : getTiers(method, interfaceClass, rejections)) {
+            MethodGenerator g = generators[tier.ordinal()];
+
+            // Variadic functions are only called through the buffer tier, which always goes through libffi with the
+            // variadic call context.  The other tiers call the function as if it had fixed parameters, which does
+            // not match the variadic calling convention on every platform.
+            String reason = variadic != null && tier != Tier.Kind.BUFFER
+                    ? "variadic function" : g.getUnsupportedReason(resultType, parameterTypes, function.convention());
+
+            if (reason == null) {
+                g.generate(builder, methodName, jffiFunction, resultType, parameterTypes, !saveError);
+                reportTier(tierReport, method, tier, rejections);
+                break;
+            }
+
+            rejections.put(tier, reason);
+        }
+        builder.setMetricsEmitter(MetricsEmitter.NONE);
+    }
+
+    /**
+     * Gets the tiers to try for a method, in order, as chosen by the {@link Tier} annotation of the method or of its
+     * library.  The library annotation is looked up on the loaded interface, then on the interface declaring the
+     * method, which differ for methods inherited from a super-interface.  The tiers the annotation excludes are added
+     * to {@code rejections}.
+     */
+    static List<Tier.Kind> getTiers(Method method, Class<?> interfaceClass, Map<Tier.Kind, String> rejections) {
+        Tier annotation = method.getAnnotation(Tier.class);
+        if (annotation == null) {
+            annotation = interfaceClass.getAnnotation(Tier.class);
+        }
+        if (annotation == null) {
+            annotation = method.getDeclaringClass().getAnnotation(Tier.class);
+        }
+        if (annotation == null) {
+            return Arrays.asList(Tier.Kind.values());
+        }
+
+        List<Tier.Kind> forbidden = Arrays.asList(annotation.forbid());
+        List<Tier.Kind> tiers = new ArrayList<Tier.Kind>();
+        for (Tier.Kind tier : annotation.value().length > 0 ? annotation.value() : Tier.Kind.values()) {
+            if (!forbidden.contains(tier) && !tiers.contains(tier)) {
+                tiers.add(tier);
+            }
+        }
+
+        // The buffer tier supports every method, so it is the last resort even when the annotation excludes it
+        if (!tiers.contains(Tier.Kind.BUFFER)) {
+            tiers.add(Tier.Kind.BUFFER);
+        }
+
+        for (Tier.Kind tier : Tier.Kind.values()) {
+            if (!tiers.contains(tier)) {
+                rejections.put(tier, forbidden.contains(tier) ? "forbidden by @Tier" : "not chosen by @Tier");
+            }
+        }
+
+        return tiers;
+    }
+
+    /**
+     * Gets the same rejection reason for all the tiers faster than {@code tier}.
+     */
+    private static Map<Tier.Kind, String> rejectAll(Tier.Kind tier, String reason) {
+        Map<Tier.Kind, String> rejections = new LinkedHashMap<Tier.Kind, String>();
+        for (int i = 0; i < tier.ordinal(); i++) {
+            rejections.put(Tier.Kind.values()[i], reason);
+        }
+
+        return rejections;
+    }
+
+    private static void reportTier(LibraryTierReport tierReport, Method method, Tier.Kind tier, Map<Tier.Kind, String> rejections) {
+        if (tierReport != null) {
+            TierReport.Entry entry = tierReport.record(method, tier, rejections);
+            if (REPORT_TIERS) {
+                System.err.println("jnr-ffi: " + method.getDeclaringClass().getName() + "." + entry);
+            }
+        }
+    }
+
+    /**
+     * Generates a method that links the native function through an invokedynamic call site on its first call.
+     */
+    private void generateLazyInvocation(AsmBuilder builder, Method m, String methodName, int index) {
+        Class[] parameterTypes = m.getParameterTypes();
+        SkinnyMethodAdapter mv = new SkinnyMethodAdapter(builder.getClassVisitor(), ACC_PUBLIC | ACC_FINAL,
+                methodName, sig(m.getReturnType(), parameterTypes), null, null);
+        mv.start();
+
+        mv.aload(0);
+        LocalVariable[] parameters = AsmUtil.getParameterVariables(parameterTypes);
+        for (int i = 0; i < parameterTypes.length; i++) {
+            AsmUtil.load(mv, parameterTypes[i], parameters[i]);
+        }
+
+        mv.invokedynamic(m.getName(),
+                "(L" + builder.getClassNamePath() + ";" + sig(m.getReturnType(), parameterTypes).substring(1),
+                LazyMethodBinder.BOOTSTRAP, index);
+        AsmUtil.emitReturnOp(mv, m.getReturnType());
+
+        mv.visitMaxs(100, AsmUtil.calculateLocalVariableSpace(parameterTypes) + 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generates a method that holds the lock of a {@link Synchronized} method while calling its unlocked method.
+     * If there is no lock, the generated method synchronizes on the library instance.
+     */
+    private void generateSynchronizedInvocation(AsmBuilder builder, final Method m, final String unlockedMethodName,
+                                                Lock lock) {
+        final Class[] parameterTypes = m.getParameterTypes();
+        final SkinnyMethodAdapter mv = new SkinnyMethodAdapter(builder.getClassVisitor(),
+                ACC_PUBLIC | ACC_FINAL | (lock == null ? ACC_SYNCHRONIZED : 0),
+                m.getName(), sig(m.getReturnType(), parameterTypes), null, null);
+        mv.start();
+
+        final String className = builder.getClassNamePath();
+        Runnable invoke = new Runnable() {
+            public void run() {
+                mv.aload(0);
+                LocalVariable[] parameters = AsmUtil.getParameterVariables(parameterTypes);
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    AsmUtil.load(mv, parameterTypes[i], parameters[i]);
+                }
+                mv.invokevirtual(className, unlockedMethodName, sig(m.getReturnType(), parameterTypes));
+            }
+        };
+
+        if (lock != null) {
+            final ObjectField lockField = builder.getObjectField(lock, Lock.class);
+            AsmUtil.getfield(mv, builder, lockField);
+            mv.invokeinterface(Lock.class, "lock", void.class);
+            AsmUtil.tryfinally(mv, invoke, new Runnable() {
+                public void run() {
+                    AsmUtil.getfield(mv, builder, lockField);
+                    mv.invokeinterface(Lock.class, "unlock", void.class);
+                }
+            });
+        } else {
+            invoke.run();
+        }
+        AsmUtil.emitReturnOp(mv, m.getReturnType());
+
+        mv.visitMaxs(100, AsmUtil.calculateLocalVariableSpace(parameterTypes) + 1);
+        mv.visitEnd();
+    }
+
     private void generateFunctionNotFound(ClassVisitor cv, String className, String errorFieldName, String functionName,
                                                 Class returnType, Class[] parameterTypes) {
         SkinnyMethodAdapter mv = new SkinnyMethodAdapter(cv, ACC_PUBLIC | ACC_FINAL, functionName,
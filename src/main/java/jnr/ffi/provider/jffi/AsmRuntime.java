@@ -18,15 +18,20 @@
 
 package jnr.ffi.provider.jffi;
 
+import com.kenai.jffi.ArrayFlags;
 import com.kenai.jffi.CallContext;
 import com.kenai.jffi.Function;
 import com.kenai.jffi.HeapInvocationBuffer;
+import com.kenai.jffi.ObjectParameterInfo;
 import com.kenai.jffi.ObjectParameterType;
 import jnr.ffi.Address;
 import jnr.ffi.Pointer;
 import jnr.ffi.mapper.ToNativeContext;
 import jnr.ffi.mapper.ToNativeConverter;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
@@ -215,10 +220,38 @@ public final class AsmRuntime {
         return array != null ? PrimitiveArrayParameterStrategy.BOOLEAN : NullObjectParameterStrategy.NULL;
     }
 
+    /**
+     * Selects how a primitive array is passed by its length.
+     *
+     * @see ArrayPinning
+     */
+    public static ObjectParameterInfo arrayParameterInfo(Object array, int minimumPinnedLength,
+                                                         ObjectParameterInfo copied, ObjectParameterInfo pinned) {
+        return array != null && java.lang.reflect.Array.getLength(array) >= minimumPinnedLength ? pinned : copied;
+    }
+
+    /**
+     * Selects the flags a primitive array is passed with by its length.
+     *
+     * @see ArrayPinning
+     */
+    public static int arrayParameterFlags(Object array, int minimumPinnedLength, int flags) {
+        return array != null && java.lang.reflect.Array.getLength(array) >= minimumPinnedLength
+                ? flags | ArrayFlags.PINNED : flags;
+    }
+
     public static void postInvoke(ToNativeConverter.PostInvocation postInvocation, Object j, Object n, ToNativeContext context) {
         try {
             postInvocation.postInvoke(j, n, context);
         } catch (Throwable t) {}
     }
 
+    /**
+     * Bootstrap method of the call sites of lazily bound library methods.
+     *
+     * @see jnr.ffi.LibraryOption#LazyBinding
+     */
+    public static CallSite bootstrapLazyMethod(MethodHandles.Lookup lookup, String name, MethodType type, int index) {
+        return LazyMethodBinder.newCallSite(type, index);
+    }
 }
@@ -18,6 +18,7 @@
 
 package jnr.ffi.provider.jffi;
 
+import com.kenai.jffi.ObjectParameterInfo;
 import com.kenai.jffi.Platform;
 import jnr.ffi.Address;
 import jnr.ffi.Pointer;
@@ -371,6 +372,51 @@ final class AsmUtil {
         return getNativeArrayFlags(ParameterFlags.parse(annotations));
     }
 
+    /**
+     * Loads the ObjectParameterInfo of a heap object parameter.  Arrays that are pinned depending on their size
+     * select between a copied and a pinned ObjectParameterInfo at runtime.
+     */
+    static void emitObjectParameterInfo(AsmBuilder builder, SkinnyMethodAdapter mv, ParameterType parameterType,
+                                        int index, LocalVariable parameter) {
+        int flags = getNativeArrayFlags(parameterType.annotations());
+        ObjectParameterInfo info = ObjectParameterInfo.create(index, flags);
+        ArrayPinning arrayPinning = builder.getArrayPinning();
+        if (arrayPinning.isSizeDependent(parameterType.effectiveJavaType(), flags)) {
+            ObjectParameterInfo pinned = ObjectParameterInfo.create(index, flags | com.kenai.jffi.ArrayFlags.PINNED);
+            mv.aload(parameter);
+            mv.pushInt(arrayPinning.minimumLength(parameterType.effectiveJavaType()));
+            mv.aload(0);
+            mv.getfield(builder.getClassNamePath(), builder.getObjectParameterInfoName(info), ci(ObjectParameterInfo.class));
+            mv.aload(0);
+            mv.getfield(builder.getClassNamePath(), builder.getObjectParameterInfoName(pinned), ci(ObjectParameterInfo.class));
+            mv.invokestatic(AsmRuntime.class, "arrayParameterInfo", ObjectParameterInfo.class,
+                    Object.class, int.class, ObjectParameterInfo.class, ObjectParameterInfo.class);
+
+        } else {
+            mv.aload(0);
+            mv.getfield(builder.getClassNamePath(), builder.getObjectParameterInfoName(info), ci(ObjectParameterInfo.class));
+        }
+    }
+
+    /**
+     * Pushes the flags of a heap object parameter.  Arrays that are pinned depending on their size select their
+     * flags at runtime.
+     */
+    static void emitNativeArrayFlags(AsmBuilder builder, SkinnyMethodAdapter mv, ParameterType parameterType,
+                                     LocalVariable parameter) {
+        int flags = getNativeArrayFlags(parameterType.annotations());
+        ArrayPinning arrayPinning = builder.getArrayPinning();
+        if (arrayPinning.isSizeDependent(parameterType.effectiveJavaType(), flags)) {
+            mv.aload(parameter);
+            mv.pushInt(arrayPinning.minimumLength(parameterType.effectiveJavaType()));
+            mv.pushInt(flags);
+            mv.invokestatic(AsmRuntime.class, "arrayParameterFlags", int.class, Object.class, int.class, int.class);
+
+        } else {
+            mv.pushInt(flags);
+        }
+    }
+
     static LocalVariable[] getParameterVariables(ParameterType[] parameterTypes) {
         LocalVariable[] lvars = new LocalVariable[parameterTypes.length];
         int lvar = 1;
@@ -54,6 +54,9 @@ abstract class BaseMethodGenerator implements MethodGenerator {
                 sig(resultType.getDeclaredType(), javaParameterTypes), null, null);
         mv.start();
 
+        LocalVariableAllocator localVariableAllocator = new LocalVariableAllocator(parameterTypes);
+        builder.getMetricsEmitter().emitStart(mv, localVariableAllocator);
+
         // Retrieve the static 'ffi' Invoker instance
         mv.getstatic(p(AbstractAsmLibraryInterface.class), "ffi", ci(com.kenai.jffi.Invoker.class));
 
@@ -64,8 +67,6 @@ abstract class BaseMethodGenerator implements MethodGenerator {
         mv.aload(0);
         mv.getfield(builder.getClassNamePath(), builder.getFunctionAddressFieldName(function), ci(long.class));
 
-        LocalVariableAllocator localVariableAllocator = new LocalVariableAllocator(parameterTypes);
-
         generate(builder, mv, localVariableAllocator, function.getCallContext(), resultType, parameterTypes, ignoreError);
 
         mv.visitMaxs(100, localVariableAllocator.getSpaceUsed());
@@ -125,6 +126,7 @@ abstract class BaseMethodGenerator implements MethodGenerator {
         } else {
             emitFromNativeConversion(builder, mv, resultType, unboxedResultType);
         }
+        builder.getMetricsEmitter().emitRecord(builder, mv);
         emitReturnOp(mv, resultType.getDeclaredType());
     }
 
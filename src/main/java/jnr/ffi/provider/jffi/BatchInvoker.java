@@ -0,0 +1,467 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import com.kenai.jffi.CallContext;
+import com.kenai.jffi.CallContextCache;
+import com.kenai.jffi.Function;
+import com.kenai.jffi.HeapInvocationBuffer;
+import com.kenai.jffi.MemoryIO;
+import com.kenai.jffi.PageManager;
+import com.kenai.jffi.Platform;
+import com.kenai.jffi.Type;
+import jnr.ffi.CallingConvention;
+import jnr.ffi.NativeType;
+import jnr.ffi.annotations.Batch;
+import jnr.ffi.provider.Invoker;
+import jnr.x86asm.Assembler;
+import jnr.x86asm.Register;
+import jnr.x86asm.XMMRegister;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static jnr.ffi.provider.jffi.InvokerUtil.jffiConvention;
+import static jnr.ffi.provider.jffi.InvokerUtil.jffiType;
+import static jnr.ffi.provider.jffi.Util.getBooleanProperty;
+import static jnr.x86asm.Asm.*;
+
+/**
+ * Calls a native function once for each element of the array parameters of a {@link Batch} method.
+ * <p>
+ * The arguments of up to {@link #CHUNK_SIZE} calls are written to a native table, with one row per call holding a
+ * 64 bit slot for each parameter followed by one for the result.  On x86_64 a stub assembled for the function walks
+ * the table and calls the function for each row, so a whole chunk costs one transition to native code.  Elsewhere
+ * no table is used, and the function is called once per element with the arguments taken straight from the arrays.
+ */
+final class BatchInvoker implements Invoker {
+    private static final boolean STUB_ENABLED = getBooleanProperty("jnr.ffi.x86asm.enabled", true);
+
+    /** The maximum number of calls whose arguments are in the table at once. */
+    static final int CHUNK_SIZE = 1024;
+
+    private static final com.kenai.jffi.Invoker ffi = com.kenai.jffi.Invoker.getInstance();
+    private static final MemoryIO IO = MemoryIO.getInstance();
+
+    private final Function function;
+    private final NativeType[] parameterTypes;
+    private final NativeType resultType;
+    private final Class resultClass;
+    private final int rowSize;
+    private final Function stub;
+
+    // Keeps the pages holding the stub code alive as long as the invoker
+    private final AbstractX86StubCompiler.PageHolder stubPages;
+
+    private BatchInvoker(Function function, NativeType[] parameterTypes, NativeType resultType, Class resultClass,
+                         Function stub, AbstractX86StubCompiler.PageHolder stubPages) {
+        this.function = function;
+        this.parameterTypes = parameterTypes;
+        this.resultType = resultType;
+        this.resultClass = resultClass;
+        this.rowSize = (parameterTypes.length + 1) * 8;
+        this.stub = stub;
+        this.stubPages = stubPages;
+    }
+
+    /**
+     * Creates the invoker for a {@link Batch} method.
+     *
+     * @throws IllegalArgumentException if the parameter or result types of the method cannot be batched.
+     */
+    static BatchInvoker create(Method method, long functionAddress, CallingConvention callingConvention) {
+        return create(method, functionAddress, callingConvention, STUB_ENABLED);
+    }
+
+    static BatchInvoker create(Method method, long functionAddress, CallingConvention callingConvention,
+                               boolean compileStub) {
+        Class[] javaParameterTypes = method.getParameterTypes();
+        if (javaParameterTypes.length == 0) {
+            throw new IllegalArgumentException("@Batch method " + method.getName() + " has no parameters");
+        }
+
+        NativeType[] parameterTypes = new NativeType[javaParameterTypes.length];
+        Type[] jffiParameterTypes = new Type[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            parameterTypes[i] = getElementType(javaParameterTypes[i]);
+            if (parameterTypes[i] == null) {
+                throw new IllegalArgumentException("parameter " + (i + 1) + " of @Batch method " + method.getName()
+                        + " is not an array of a primitive number type");
+            }
+            jffiParameterTypes[i] = jffiType(parameterTypes[i]);
+        }
+
+        Class returnType = method.getReturnType();
+        NativeType resultType = void.class == returnType ? NativeType.VOID : getElementType(returnType);
+        if (resultType == null) {
+            throw new IllegalArgumentException("result of @Batch method " + method.getName()
+                    + " is not void or an array of a primitive number type");
+        }
+
+        CallContext callContext = CallContextCache.getInstance().getCallContext(jffiType(resultType),
+                jffiParameterTypes, jffiConvention(callingConvention), false);
+        Function function = new Function(functionAddress, callContext);
+        Class resultClass = returnType.isArray() ? returnType.getComponentType() : void.class;
+
+        if (compileStub && callingConvention == CallingConvention.DEFAULT && canCompileStub()
+                && canCompileStub(parameterTypes)) {
+            PageManager pm = PageManager.getInstance();
+            Assembler a = compileStub(functionAddress, parameterTypes, resultType);
+            long npages = (a.codeSize() + pm.pageSize() - 1) / pm.pageSize();
+            long code = pm.allocatePages((int) npages, PageManager.PROT_READ | PageManager.PROT_WRITE);
+            if (code == 0) {
+                throw new OutOfMemoryError("allocatePages failed for codeSize=" + a.codeSize());
+            }
+            AbstractX86StubCompiler.PageHolder pages = new AbstractX86StubCompiler.PageHolder(pm, code, npages);
+
+            ByteBuffer buf = ByteBuffer.allocate(a.codeSize()).order(ByteOrder.LITTLE_ENDIAN);
+            a.relocCode(buf, code);
+            buf.flip();
+            IO.putByteArray(code, buf.array(), buf.arrayOffset(), buf.limit());
+            pm.protectPages(code, (int) npages, PageManager.PROT_READ | PageManager.PROT_EXEC);
+
+            // void stub(void* table, long count)
+            Function stub = new Function(code, CallContextCache.getInstance().getCallContext(Type.SINT64,
+                    new Type[] { Type.POINTER, Type.SINT64 }, com.kenai.jffi.CallingConvention.DEFAULT, false));
+
+            return new BatchInvoker(function, parameterTypes, resultType, resultClass, stub, pages);
+        }
+
+        return new BatchInvoker(function, parameterTypes, resultType, resultClass, null, null);
+    }
+
+    private static NativeType getElementType(Class arrayType) {
+        Class type = arrayType.getComponentType();
+        if (byte.class == type) {
+            return NativeType.SCHAR;
+        } else if (short.class == type) {
+            return NativeType.SSHORT;
+        } else if (int.class == type) {
+            return NativeType.SINT;
+        } else if (long.class == type) {
+            return NativeType.SLONGLONG;
+        } else if (float.class == type) {
+            return NativeType.FLOAT;
+        } else if (double.class == type) {
+            return NativeType.DOUBLE;
+        } else {
+            return null;
+        }
+    }
+
+    boolean hasStub() {
+        return stub != null;
+    }
+
+    public Object invoke(Object self, Object[] parameters) {
+        int count = Array.getLength(parameters[0]);
+        for (int i = 1; i < parameters.length; i++) {
+            if (Array.getLength(parameters[i]) != count) {
+                throw new IllegalArgumentException("the arrays passed to a @Batch method must have the same length");
+            }
+        }
+
+        Object results = resultClass != void.class ? Array.newInstance(resultClass, count) : null;
+        if (count == 0) {
+            return results;
+        } else if (stub == null) {
+            invokeEach(parameters, results, count);
+            return results;
+        }
+
+        int chunkSize = Math.min(count, CHUNK_SIZE);
+        long table = IO.allocateMemory((long) chunkSize * rowSize, false);
+        if (table == 0) {
+            throw new OutOfMemoryError("failed to allocate " + ((long) chunkSize * rowSize) + " bytes");
+        }
+
+        try {
+            for (int start = 0; start < count; start += chunkSize) {
+                int rows = Math.min(chunkSize, count - start);
+                for (int i = 0; i < parameters.length; i++) {
+                    putColumn(table + i * 8, parameterTypes[i], parameters[i], start, rows);
+                }
+
+                ffi.invokeLLrL(stub, table, rows);
+
+                if (results != null) {
+                    getColumn(table + parameterTypes.length * 8, resultType, results, start, rows);
+                }
+            }
+        } finally {
+            IO.freeMemory(table);
+        }
+
+        return results;
+    }
+
+    private void putColumn(long address, NativeType type, Object array, int start, int rows) {
+        switch (type) {
+            case SCHAR: {
+                byte[] values = (byte[]) array;
+                for (int row = 0; row < rows; row++) {
+                    IO.putLong(address + (long) row * rowSize, values[start + row]);
+                }
+                break;
+            }
+            case SSHORT: {
+                short[] values = (short[]) array;
+                for (int row = 0; row < rows; row++) {
+                    IO.putLong(address + (long) row * rowSize, values[start + row]);
+                }
+                break;
+            }
+            case SINT: {
+                int[] values = (int[]) array;
+                for (int row = 0; row < rows; row++) {
+                    IO.putLong(address + (long) row * rowSize, values[start + row]);
+                }
+                break;
+            }
+            case SLONGLONG: {
+                long[] values = (long[]) array;
+                for (int row = 0; row < rows; row++) {
+                    IO.putLong(address + (long) row * rowSize, values[start + row]);
+                }
+                break;
+            }
+            case FLOAT: {
+                float[] values = (float[]) array;
+                for (int row = 0; row < rows; row++) {
+                    IO.putFloat(address + (long) row * rowSize, values[start + row]);
+                }
+                break;
+            }
+            case DOUBLE: {
+                double[] values = (double[]) array;
+                for (int row = 0; row < rows; row++) {
+                    IO.putDouble(address + (long) row * rowSize, values[start + row]);
+                }
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("unsupported @Batch type " + type);
+        }
+    }
+
+    private void getColumn(long address, NativeType type, Object array, int start, int rows) {
+        switch (type) {
+            case SCHAR: {
+                byte[] values = (byte[]) array;
+                for (int row = 0; row < rows; row++) {
+                    values[start + row] = IO.getByte(address + (long) row * rowSize);
+                }
+                break;
+            }
+            case SSHORT: {
+                short[] values = (short[]) array;
+                for (int row = 0; row < rows; row++) {
+                    values[start + row] = IO.getShort(address + (long) row * rowSize);
+                }
+                break;
+            }
+            case SINT: {
+                int[] values = (int[]) array;
+                for (int row = 0; row < rows; row++) {
+                    values[start + row] = IO.getInt(address + (long) row * rowSize);
+                }
+                break;
+            }
+            case SLONGLONG: {
+                long[] values = (long[]) array;
+                for (int row = 0; row < rows; row++) {
+                    values[start + row] = IO.getLong(address + (long) row * rowSize);
+                }
+                break;
+            }
+            case FLOAT: {
+                float[] values = (float[]) array;
+                for (int row = 0; row < rows; row++) {
+                    values[start + row] = IO.getFloat(address + (long) row * rowSize);
+                }
+                break;
+            }
+            case DOUBLE: {
+                double[] values = (double[]) array;
+                for (int row = 0; row < rows; row++) {
+                    values[start + row] = IO.getDouble(address + (long) row * rowSize);
+                }
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("unsupported @Batch type " + type);
+        }
+    }
+
+    /**
+     * Calls the function once for each element of the parameter arrays, storing each result in {@code results}.
+     */
+    private void invokeEach(Object[] parameters, Object results, int count) {
+        for (int row = 0; row < count; row++) {
+            HeapInvocationBuffer buffer = new HeapInvocationBuffer(function);
+            for (int i = 0; i < parameterTypes.length; i++) {
+                switch (parameterTypes[i]) {
+                    case SCHAR:
+                        buffer.putByte(((byte[]) parameters[i])[row]);
+                        break;
+                    case SSHORT:
+                        buffer.putShort(((short[]) parameters[i])[row]);
+                        break;
+                    case SINT:
+                        buffer.putInt(((int[]) parameters[i])[row]);
+                        break;
+                    case SLONGLONG:
+                        buffer.putLong(((long[]) parameters[i])[row]);
+                        break;
+                    case FLOAT:
+                        buffer.putFloat(((float[]) parameters[i])[row]);
+                        break;
+                    case DOUBLE:
+                        buffer.putDouble(((double[]) parameters[i])[row]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("unsupported @Batch type " + parameterTypes[i]);
+                }
+            }
+
+            switch (resultType) {
+                case VOID:
+                    ffi.invokeInt(function, buffer);
+                    break;
+                case SCHAR:
+                    ((byte[]) results)[row] = (byte) ffi.invokeInt(function, buffer);
+                    break;
+                case SSHORT:
+                    ((short[]) results)[row] = (short) ffi.invokeInt(function, buffer);
+                    break;
+                case SINT:
+                    ((int[]) results)[row] = ffi.invokeInt(function, buffer);
+                    break;
+                case SLONGLONG:
+                    ((long[]) results)[row] = ffi.invokeLong(function, buffer);
+                    break;
+                case FLOAT:
+                    ((float[]) results)[row] = ffi.invokeFloat(function, buffer);
+                    break;
+                case DOUBLE:
+                    ((double[]) results)[row] = ffi.invokeDouble(function, buffer);
+                    break;
+                default:
+                    throw new IllegalArgumentException("unsupported @Batch type " + resultType);
+            }
+        }
+    }
+
+    private static boolean canCompileStub() {
+        Platform platform = Platform.getPlatform();
+        return platform.getCPU() == Platform.CPU.X86_64 && platform.getOS() != Platform.OS.WINDOWS
+                && StubCompiler.hasPageManager && StubCompiler.hasAssembler;
+    }
+
+    private static boolean canCompileStub(NativeType[] parameterTypes) {
+        int iCount = 0, fCount = 0;
+        for (NativeType t : parameterTypes) {
+            if (t == NativeType.FLOAT || t == NativeType.DOUBLE) {
+                fCount++;
+            } else {
+                iCount++;
+            }
+        }
+
+        // All the arguments have to fit in registers
+        return iCount <= 6 && fCount <= 8;
+    }
+
+    private static final Register[] intRegisters = { rdi, rsi, rdx, rcx, r8, r9 };
+    private static final XMMRegister[] floatRegisters = { xmm0, xmm1, xmm2, xmm3, xmm4, xmm5, xmm6, xmm7 };
+
+    /**
+     * Assembles {@code void stub(void* table, long count)}, which calls the function for each of the
+     * {@code count} rows of the table and stores each result in the last slot of its row.  {@code count} must be
+     * greater than zero.
+     */
+    static Assembler compileStub(long functionAddress, NativeType[] parameterTypes, NativeType resultType) {
+        Assembler a = new Assembler(X86_64);
+        int rowSize = (parameterTypes.length + 1) * 8;
+
+        // rbx and r12 are callee saved, so they survive the calls to the function.  Pushing three registers also
+        // keeps the stack 16 byte aligned for the calls.
+        a.push(rbp);
+        a.push(rbx);
+        a.push(r12);
+        a.mov(rbx, rdi);
+        a.mov(r12, rsi);
+
+        int loop = a.offset();
+        int iCount = 0, fCount = 0;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            switch (parameterTypes[i]) {
+                case FLOAT:
+                    a.movss(floatRegisters[fCount++], dword_ptr(rbx, i * 8));
+                    break;
+                case DOUBLE:
+                    a.movsd(floatRegisters[fCount++], qword_ptr(rbx, i * 8));
+                    break;
+                default:
+                    // Integers are stored sign extended to 64 bits
+                    a.mov(intRegisters[iCount++], qword_ptr(rbx, i * 8));
+                    break;
+            }
+        }
+
+        a.mov(rax, imm(functionAddress));
+        a.call(rax);
+
+        int result = parameterTypes.length * 8;
+        switch (resultType) {
+            case VOID:
+                break;
+            case FLOAT:
+                a.movss(dword_ptr(rbx, result), xmm0);
+                break;
+            case DOUBLE:
+                a.movsd(qword_ptr(rbx, result), xmm0);
+                break;
+            default:
+                a.mov(qword_ptr(rbx, result), rax);
+                break;
+        }
+
+        a.add(rbx, imm(rowSize));
+        a.dec(r12);
+
+        // jnz loop; the assembler cannot bind labels, so the jump is patched over six placeholder bytes
+        int jump = a.offset();
+        for (int i = 0; i < 6; i++) {
+            a.nop();
+        }
+        a.setByteAt(jump, (byte) 0x0f);
+        a.setByteAt(jump + 1, (byte) 0x85);
+        a.setDWordAt(jump + 2, loop - (jump + 6));
+
+        a.pop(r12);
+        a.pop(rbx);
+        a.pop(rbp);
+        a.ret();
+
+        return a;
+    }
+}
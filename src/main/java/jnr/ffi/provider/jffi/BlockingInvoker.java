@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import jnr.ffi.NativeResult;
+import jnr.ffi.annotations.Blocking;
+import jnr.ffi.provider.Invoker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calls the native function of a {@link Blocking} method on the native call executor, either returning a future of
+ * the result, or waiting for it when called from a virtual thread.
+ */
+final class BlockingInvoker implements Invoker {
+    // Thread.isVirtual() is only available from Java 21
+    private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+    private final jnr.ffi.Runtime runtime;
+    private final Invoker invoker;
+    private final Executor executor;
+    private final boolean async;
+    private final boolean keepLastError;
+
+    BlockingInvoker(jnr.ffi.Runtime runtime, Invoker invoker, Executor executor, boolean async, boolean keepLastError) {
+        this.runtime = runtime;
+        this.invoker = invoker;
+        this.executor = executor != null ? executor : DefaultExecutor.INSTANCE;
+        this.async = async;
+        this.keepLastError = keepLastError;
+    }
+
+    static boolean isBlocking(Method method) {
+        Blocking blocking = method.isAnnotationPresent(Blocking.class)
+                ? method.getAnnotation(Blocking.class) : method.getDeclaringClass().getAnnotation(Blocking.class);
+        return blocking != null && blocking.value();
+    }
+
+    /**
+     * Tests if a blocking method returns a future instead of waiting for the result.
+     */
+    static boolean isAsync(Method method) {
+        Class returnType = method.getReturnType();
+        return returnType != Object.class && returnType.isAssignableFrom(CompletableFuture.class);
+    }
+
+    /**
+     * Gets the type of the result the future returned by a method completes with.
+     *
+     * @throws IllegalArgumentException if the type argument of the future is not a class.
+     */
+    static Class getFutureResultType(Method method) {
+        Type returnType = method.getGenericReturnType();
+        if (returnType instanceof ParameterizedType) {
+            Type resultType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+            if (isNativeResult(resultType)) {
+                resultType = ((ParameterizedType) resultType).getActualTypeArguments()[0];
+            }
+            if (resultType instanceof Class) {
+                return (Class) resultType;
+            } else if (resultType instanceof ParameterizedType) {
+                return (Class) ((ParameterizedType) resultType).getRawType();
+            }
+        }
+
+        throw new IllegalArgumentException("the result type of the future returned by @Blocking method "
+                + method.getName() + " must be a class");
+    }
+
+    /**
+     * Tests if the future returned by a blocking method completes with a {@link NativeResult}, which also holds the
+     * last error of the call.
+     */
+    static boolean isNativeResultFuture(Method method) {
+        Type returnType = method.getGenericReturnType();
+        return returnType instanceof ParameterizedType
+                && isNativeResult(((ParameterizedType) returnType).getActualTypeArguments()[0]);
+    }
+
+    private static boolean isNativeResult(Type type) {
+        return type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == NativeResult.class;
+    }
+
+    public Object invoke(final Object self, final Object[] parameters) {
+        if (async) {
+            return keepLastError
+                    ? CompletableFuture.supplyAsync(() -> {
+                        Object result = invoker.invoke(self, parameters);
+                        return new NativeResult<Object>(result, runtime.getLastError());
+                    }, executor)
+                    : CompletableFuture.supplyAsync(() -> invoker.invoke(self, parameters), executor);
+        }
+
+        return isVirtual(Thread.currentThread()) ? invokeOnExecutor(self, parameters) : invoker.invoke(self, parameters);
+    }
+
+    /**
+     * Makes the call on the executor and waits for it, copying its last error to the calling thread.
+     */
+    Object invokeOnExecutor(final Object self, final Object[] parameters) {
+        Object[] resultAndError;
+        try {
+            resultAndError = CompletableFuture.supplyAsync(() -> {
+                Object result = invoker.invoke(self, parameters);
+                return new Object[] { result, runtime.getLastError() };
+            }, executor).join();
+
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+
+        runtime.setLastError((Integer) resultAndError[1]);
+        return resultAndError[0];
+    }
+
+    static boolean isVirtual(Thread thread) {
+        try {
+            return IS_VIRTUAL != null && (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    private static MethodHandle findIsVirtual() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual",
+                    MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * The executor used when the library does not set {@link jnr.ffi.LibraryOption#BlockingExecutor}, created on
+     * first use.
+     */
+    private static final class DefaultExecutor {
+        static final Executor INSTANCE = create();
+
+        private static Executor create() {
+            int threads = Util.getIntegerProperty("jnr.ffi.blocking.threads",
+                    Math.max(4, 2 * java.lang.Runtime.getRuntime().availableProcessors()));
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), r -> {
+                        Thread thread = new Thread(r, "jnr-ffi-blocking-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+}
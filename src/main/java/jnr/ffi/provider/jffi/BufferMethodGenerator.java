@@ -123,6 +123,10 @@ final class BufferMethodGenerator extends BaseMethodGenerator {
         return true;
     }
 
+    public String getUnsupportedReason(ResultType resultType, ParameterType[] parameterTypes, CallingConvention callingConvention) {
+        return null;
+    }
+
     private static void emitPrimitiveOp(final SkinnyMethodAdapter mv, ParameterType parameterType, ToNativeOp op) {
         MarshalOp marshalOp = marshalOps.get(parameterType.getNativeType());
         if (marshalOp == null) {
@@ -189,7 +193,7 @@ final class BufferMethodGenerator extends BaseMethodGenerator {
 
                 mv.aload(converted[i]);
                 mv.aload(strategies[i]);
-                mv.pushInt(AsmUtil.getNativeArrayFlags(parameterTypes[i].annotations()));
+                AsmUtil.emitNativeArrayFlags(builder, mv, parameterTypes[i], converted[i]);
                 mv.invokevirtual(HeapInvocationBuffer.class, "putObject", void.class, Object.class, ObjectParameterStrategy.class, int.class);
 
             } else {
@@ -202,7 +206,9 @@ final class BufferMethodGenerator extends BaseMethodGenerator {
             throw new IllegalArgumentException("unsupported return type " + resultType.getDeclaredType());
         }
 
+        builder.getMetricsEmitter().emitNativeStart(mv);
         mv.invokevirtual(Invoker.class, iop.methodName, iop.primitiveClass, CallContext.class, long.class, HeapInvocationBuffer.class);
+        builder.getMetricsEmitter().emitNativeEnd(mv);
 
         // box and/or narrow/widen the return value if needed
         convertPrimitive(mv, iop.primitiveClass, unboxedReturnType(resultType.effectiveJavaType()), resultType.getNativeType());
@@ -25,9 +25,9 @@ import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
 
 import java.io.PrintWriter;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import jnr.ffi.CallingConvention;
 import jnr.ffi.Pointer;
@@ -66,24 +66,51 @@ abstract public class ClosureFromNativeConverter implements FromNativeConverter<
         return newClosureConverter(runtime, classLoader, type.getDeclaredType(), typeMapper);
     }
 
+    /**
+     * Creates the function pointer wrappers of a closure type.  Implemented by a class generated for each closure
+     * type, so that wrappers are created without reflection.
+     */
+    public interface ClosureFactory {
+        AbstractClosurePointer newClosure(jnr.ffi.Runtime runtime, long functionAddress, Object[] initFields);
+    }
+
+    /**
+     * Converts function pointers to the wrappers of a closure type.
+     * <p>
+     * The wrappers are immutable, so the most recently converted ones are cached by address and repeatedly
+     * converting the same function pointer returns the same wrapper without allocating.
+     */
     public static final class ProxyConverter extends ClosureFromNativeConverter {
+        /** The number of wrappers cached per closure type; must be a power of two. */
+        private static final int CACHE_SIZE = 64;
+
         private final jnr.ffi.Runtime runtime;
-        private final Constructor closureConstructor;
+        private final ClosureFactory closureFactory;
         private final Object[] initFields;
+        private final AtomicReferenceArray<AbstractClosurePointer> closures
+                = new AtomicReferenceArray<AbstractClosurePointer>(CACHE_SIZE);
 
-        public ProxyConverter(jnr.ffi.Runtime runtime, Constructor closureConstructor, Object[] initFields) {
+        public ProxyConverter(jnr.ffi.Runtime runtime, ClosureFactory closureFactory, Object[] initFields) {
             this.runtime = runtime;
-            this.closureConstructor = closureConstructor;
+            this.closureFactory = closureFactory;
             this.initFields = initFields.clone();
         }
 
         @Override
         public Object fromNative(Pointer nativeValue, FromNativeContext context) {
-            try {
-                return closureConstructor.newInstance(runtime, nativeValue.address(), initFields);
-            } catch (Throwable t) {
-                throw new RuntimeException(t);
+            if (nativeValue == null) {
+                return null;
+            }
+
+            long address = nativeValue.address();
+            // Functions are aligned, so the low bits of their addresses carry little information
+            int index = ((int) (address >>> 4) ^ (int) (address >>> 32)) & (CACHE_SIZE - 1);
+            AbstractClosurePointer closure = closures.get(index);
+            if (closure == null || closure.functionAddress != address) {
+                closures.set(index, closure = closureFactory.newClosure(runtime, address, initFields));
             }
+
+            return closure;
         }
     }
 
@@ -134,14 +161,51 @@ abstract public class ClosureFromNativeConverter implements FromNativeConverter<
         init.visitMaxs(10, 10);
         init.visitEnd();
 
-        Class implClass = loadClass(classLoader, className, cw);
+        loadClass(classLoader, className, cw);
         try {
-            return new ProxyConverter(runtime, implClass.getConstructor(jnr.ffi.Runtime.class, long.class, Object[].class), builder.getObjectFieldValues());
+            return new ProxyConverter(runtime, newClosureFactory(classLoader, className), builder.getObjectFieldValues());
         } catch (Throwable ex) {
             throw new RuntimeException(ex);
         }
     }
 
+    /**
+     * Generates the factory that creates instances of the closure class {@code closureClassName}.
+     */
+    private static ClosureFactory newClosureFactory(AsmClassLoader classLoader, String closureClassName) throws Exception {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        ClassVisitor cv = AsmLibraryLoader.DEBUG ? AsmUtil.newCheckClassAdapter(cw) : cw;
+
+        final String className = closureClassName + "$factory";
+        cv.visit(V1_8, ACC_PUBLIC | ACC_FINAL, className, null, p(Object.class), new String[]{p(ClosureFactory.class)});
+
+        SkinnyMethodAdapter init = new SkinnyMethodAdapter(cv, ACC_PUBLIC, "<init>", sig(void.class), null, null);
+        init.start();
+        init.aload(0);
+        init.invokespecial(p(Object.class), "<init>", sig(void.class));
+        init.voidreturn();
+        init.visitMaxs(10, 10);
+        init.visitEnd();
+
+        // return new <closure class>(runtime, functionAddress, initFields)
+        SkinnyMethodAdapter newClosure = new SkinnyMethodAdapter(cv, ACC_PUBLIC | ACC_FINAL, "newClosure",
+                sig(AbstractClosurePointer.class, jnr.ffi.Runtime.class, long.class, Object[].class), null, null);
+        newClosure.start();
+        newClosure.newobj(closureClassName);
+        newClosure.dup();
+        newClosure.aload(1);
+        newClosure.lload(2);
+        newClosure.aload(4);
+        newClosure.invokespecial(closureClassName, "<init>", sig(void.class, jnr.ffi.Runtime.class, long.class, Object[].class));
+        newClosure.areturn();
+        newClosure.visitMaxs(10, 10);
+        newClosure.visitEnd();
+
+        cv.visitEnd();
+
+        return (ClosureFactory) loadClass(classLoader, className, cw).getConstructor().newInstance();
+    }
+
     private static Class loadClass(AsmClassLoader classLoader, String className, ClassWriter cw) {
         try {
             byte[] bytes = cw.toByteArray();
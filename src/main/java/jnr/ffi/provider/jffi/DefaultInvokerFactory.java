@@ -29,6 +29,8 @@ import jnr.ffi.LibraryOption;
 import jnr.ffi.NativeType;
 import jnr.ffi.Pointer;
 import jnr.ffi.Runtime;
+import jnr.ffi.annotations.Batch;
+import jnr.ffi.annotations.Blocking;
 import jnr.ffi.annotations.Meta;
 import jnr.ffi.annotations.StdCall;
 import jnr.ffi.annotations.Synchronized;
@@ -66,6 +68,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Lock;
 
 import static jnr.ffi.provider.jffi.InvokerUtil.getCallContext;
 import static jnr.ffi.provider.jffi.InvokerUtil.getParameterTypes;
@@ -80,8 +85,9 @@ final class DefaultInvokerFactory {
     private final SignatureTypeMapper typeMapper;
     private final FunctionMapper functionMapper;
     private final jnr.ffi.CallingConvention libraryCallingConvention;
-    private final boolean libraryIsSynchronized;
+    private final LibraryLocks libraryLocks;
     private final Map<LibraryOption, ?> libraryOptions;
+    private final ArrayPinning arrayPinning;
 
     public DefaultInvokerFactory(
             Runtime runtime,
@@ -90,15 +96,17 @@ final class DefaultInvokerFactory {
             FunctionMapper functionMapper,
             CallingConvention libraryCallingConvention,
             Map<LibraryOption, ?> libraryOptions,
-            boolean libraryIsSynchronized) {
+            LibraryLocks libraryLocks,
+            ArrayPinning arrayPinning) {
         super();
         this.runtime = runtime;
         this.library = library;
         this.typeMapper = typeMapper;
         this.functionMapper = functionMapper;
         this.libraryCallingConvention = libraryCallingConvention;
-        this.libraryIsSynchronized = libraryIsSynchronized;
+        this.libraryLocks = libraryLocks;
         this.libraryOptions = libraryOptions;
+        this.arrayPinning = arrayPinning;
     }
 
     public Invoker createInvoker(Method method) {
@@ -109,9 +117,18 @@ final class DefaultInvokerFactory {
             return new FunctionNotFoundInvoker(method, functionName);
         }
 
+        if (method.isAnnotationPresent(Batch.class)) {
+            CallingConvention callingConvention = method.isAnnotationPresent(StdCall.class)
+                    ? CallingConvention.STDCALL : libraryCallingConvention;
+            return offload(method, synchronize(method, BatchInvoker.create(method, functionAddress, callingConvention)));
+        }
+
+        // Blocking methods returning a future convert the result to the type argument of the future
+        Class returnType = BlockingInvoker.isBlocking(method) && BlockingInvoker.isAsync(method)
+                ? BlockingInvoker.getFutureResultType(method) : method.getReturnType();
         FromNativeContext resultContext = new MethodResultContext(NativeRuntime.getInstance(), method);
-        SignatureType signatureType = DefaultSignatureType.create(method.getReturnType(), resultContext);
-        ResultType resultType = getResultType(runtime, method.getReturnType(),
+        SignatureType signatureType = DefaultSignatureType.create(returnType, resultContext);
+        ResultType resultType = getResultType(runtime, returnType,
                 resultContext.getAnnotations(), typeMapper.getFromNativeType(signatureType, resultContext),
                 resultContext);
         
@@ -129,7 +146,7 @@ final class DefaultInvokerFactory {
         
         Invoker invoker;
         if (method.isVarArgs()) {
-            invoker = new VariadicInvoker(runtime, functionInvoker, typeMapper, parameterTypes, functionAddress, resultType, saveError, callingConvention);
+            invoker = new VariadicInvoker(runtime, functionInvoker, typeMapper, parameterTypes, functionAddress, resultType, saveError, callingConvention, arrayPinning);
         } else {
             Function function;
             // check if method is all-fixed but calling a variadic function
@@ -145,18 +162,39 @@ final class DefaultInvokerFactory {
 
             Marshaller[] marshallers = new Marshaller[parameterTypes.length];
             for (int i = 0; i < marshallers.length; ++i) {
-                marshallers[i] = getMarshaller(parameterTypes[i]);
+                marshallers[i] = getMarshaller(parameterTypes[i], arrayPinning);
             }
 
             invoker = new DefaultInvoker(runtime, library, function, functionInvoker, marshallers);
         }
 
+        return offload(method, synchronize(method, invoker));
+    }
+
+    /**
+     * Wraps the invoker of a {@link Blocking} method to call the native function on the native call executor.
+     */
+    private Invoker offload(Method method, Invoker invoker) {
+        if (!BlockingInvoker.isBlocking(method)) {
+            return invoker;
+        }
+
+        return new BlockingInvoker(runtime, invoker, (Executor) libraryOptions.get(LibraryOption.BlockingExecutor),
+                BlockingInvoker.isAsync(method), BlockingInvoker.isAsync(method) && BlockingInvoker.isNativeResultFuture(method));
+    }
+
+    private Invoker synchronize(Method method, Invoker invoker) {
         //
         // If either the method or the library is specified as requiring
         // synchronization, then wrap the raw invoker in a synchronized proxy
         //
-        return libraryIsSynchronized || method.isAnnotationPresent(Synchronized.class)
-                ? new SynchronizedInvoker(invoker) : invoker;
+        Synchronized sync = libraryLocks.getSynchronized(method);
+        if (sync == null) {
+            return invoker;
+        }
+
+        Lock lock = libraryLocks.getLock(method, sync);
+        return lock != null ? new LockingInvoker(invoker, lock) : new SynchronizedInvoker(invoker);
     }
 
     private static FunctionInvoker getFunctionInvoker(ResultType resultType) {
@@ -204,14 +242,16 @@ final class DefaultInvokerFactory {
         throw new UnsupportedOperationException("unsupported numeric type: " + nativeType);
     }
 
-    static Marshaller getMarshaller(ParameterType parameterType) {
-        Marshaller marshaller = getMarshaller(parameterType.effectiveJavaType(), parameterType.getNativeType(), parameterType.getAnnotations());
+    static Marshaller getMarshaller(ParameterType parameterType, ArrayPinning arrayPinning) {
+        Marshaller marshaller = getMarshaller(parameterType.effectiveJavaType(), parameterType.getNativeType(),
+                parameterType.getAnnotations(), arrayPinning);
         return parameterType.getToNativeConverter() != null
             ? new ToNativeConverterMarshaller(parameterType.getToNativeConverter(), parameterType.getToNativeContext(), marshaller)
             : marshaller;
     }
 
-    static Marshaller getMarshaller(Class type, NativeType nativeType, Collection<Annotation> annotations) {
+    static Marshaller getMarshaller(Class type, NativeType nativeType, Collection<Annotation> annotations,
+                                    ArrayPinning arrayPinning) {
         if (Number.class.isAssignableFrom(type) || (type.isPrimitive() && Number.class.isAssignableFrom(getBoxedClass(type)))) {
             switch (nativeType) {
                 case SCHAR:
@@ -275,32 +315,42 @@ final class DefaultInvokerFactory {
             return new BufferMarshaller(null, annotations);
         
         } else if (type.isArray() && type.getComponentType() == byte.class) {
-            return new PrimitiveArrayMarshaller(PrimitiveArrayParameterStrategy.BYTE, annotations);
+            return new PrimitiveArrayMarshaller(PrimitiveArrayParameterStrategy.BYTE, type, annotations, arrayPinning);
         
         } else if (type.isArray() && type.getComponentType() == short.class) {
-            return new PrimitiveArrayMarshaller(PrimitiveArrayParameterStrategy.SHORT, annotations);
+            return new PrimitiveArrayMarshaller(PrimitiveArrayParameterStrategy.SHORT, type, annotations, arrayPinning);
         
         } else if (type.isArray() && type.getComponentType() == int.class) {
-            return new PrimitiveArrayMarshaller(PrimitiveArrayParameterStrategy.INT, annotations);
+            return new PrimitiveArrayMarshaller(PrimitiveArrayParameterStrategy.INT, type, annotations, arrayPinning);
         
         } else if (type.isArray() && type.getComponentType() == long.class) {
-            return new PrimitiveArrayMarshaller(PrimitiveArrayParameterStrategy.LONG, annotations);
+            return new PrimitiveArrayMarshaller(PrimitiveArrayParameterStrategy.LONG, type, annotations, arrayPinning);
         
         } else if (type.isArray() && type.getComponentType() == float.class) {
-            return new PrimitiveArrayMarshaller(PrimitiveArrayParameterStrategy.FLOAT, annotations);
+            return new PrimitiveArrayMarshaller(PrimitiveArrayParameterStrategy.FLOAT, type, annotations, arrayPinning);
         
         } else if (type.isArray() && type.getComponentType() == double.class) {
-            return new PrimitiveArrayMarshaller(PrimitiveArrayParameterStrategy.DOUBLE, annotations);
+            return new PrimitiveArrayMarshaller(PrimitiveArrayParameterStrategy.DOUBLE, type, annotations, arrayPinning);
 
         } else if (type.isArray() && type.getComponentType() == boolean.class) {
-            return new PrimitiveArrayMarshaller(PrimitiveArrayParameterStrategy.BOOLEAN, annotations);
+            return new PrimitiveArrayMarshaller(PrimitiveArrayParameterStrategy.BOOLEAN, type, annotations, arrayPinning);
         
         } else {
             throw new IllegalArgumentException("Unsupported parameter type: " + type);
         }
     }
 
+    /**
+     * Invokes a variadic function through a java varargs method.
+     * <p>
+     * The parameter types, marshallers and call context depend on the classes of the variadic arguments and on the
+     * annotation tags between them.  They are cached by this shape of the arguments, so repeated calls with the same
+     * shape do not have to resolve them again.
+     */
     static class VariadicInvoker implements jnr.ffi.provider.Invoker {
+        /** The number of call shapes cached per function; must be a power of two. */
+        private static final int CALL_SHAPE_CACHE_SIZE = 32;
+
         private final jnr.ffi.Runtime runtime;
         private final FunctionInvoker functionInvoker;
         private final SignatureTypeMapper typeMapper;
@@ -309,12 +359,14 @@ final class DefaultInvokerFactory {
         private final SigType resultType;
         private final boolean requiresErrno;
         private final CallingConvention callingConvention;
+        private final ArrayPinning arrayPinning;
+        private final AtomicReferenceArray<CallShape> callShapes = new AtomicReferenceArray<CallShape>(CALL_SHAPE_CACHE_SIZE);
 
         VariadicInvoker(Runtime runtime,
                 FunctionInvoker functionInvoker, SignatureTypeMapper typeMapper,
                 ParameterType[] fixedParameterTypes, long functionAddress,
                 SigType resultType, boolean requiresErrno,
-                CallingConvention callingConvention) {
+                CallingConvention callingConvention, ArrayPinning arrayPinning) {
             super();
             this.runtime = runtime;
             this.functionInvoker = functionInvoker;
@@ -324,19 +376,75 @@ final class DefaultInvokerFactory {
             this.resultType = resultType;
             this.requiresErrno = requiresErrno;
             this.callingConvention = callingConvention;
+            this.arrayPinning = arrayPinning;
         }
 
         public final Object invoke(Object self, Object[] parameters) {
             Object[] varParam = (Object[])parameters[parameters.length - 1];
+            int hash = hashArguments(varParam);
+            int index = hash & (CALL_SHAPE_CACHE_SIZE - 1);
+            CallShape shape = callShapes.get(index);
+            if (shape == null || shape.hash != hash || !shape.matches(varParam)) {
+                callShapes.set(index, shape = newCallShape(varParam, hash));
+            }
+
+            HeapInvocationBuffer buffer = new HeapInvocationBuffer(shape.function.getCallContext());
+            InvocationSession session = new InvocationSession();
+            try {
+                Marshaller[] marshallers = shape.marshallers;
+                int m = 0;
+                for (int i = 0; i < parameters.length - 1; ++i) {
+                    marshallers[m++].marshal(session, buffer, parameters[i]);
+                }
+
+                for (Object arg : varParam) {
+                    if (!isAnnotationClass(arg)) {
+                        marshallers[m++].marshal(session, buffer, arg);
+                    }
+                }
+
+                // The trailing NULL, see newCallShape
+                marshallers[m].marshal(session, buffer, null);
+
+                return functionInvoker.invoke(runtime, shape.function, buffer);
+            } finally {
+                session.finish();
+            }
+        }
+
+        private static boolean isAnnotationClass(Object arg) {
+            return arg instanceof Class && Annotation.class.isAssignableFrom((Class) arg);
+        }
+
+        /**
+         * Gets what identifies a variadic argument in a call shape: the annotation class for annotation tags,
+         * otherwise the class of the argument, or {@code null}.
+         */
+        private static Object argumentTag(Object arg) {
+            return arg == null ? null : isAnnotationClass(arg) ? arg : arg.getClass();
+        }
+
+        private static int hashArguments(Object[] varParam) {
+            int hash = varParam.length;
+            for (Object arg : varParam) {
+                Object tag = argumentTag(arg);
+                hash = 31 * hash + (tag != null ? tag.hashCode() : 0);
+            }
+            return hash ^ (hash >>> 16);
+        }
+
+        private CallShape newCallShape(Object[] varParam, int hash) {
             ParameterType[] argTypes = new ParameterType[fixedParameterTypes.length + varParam.length];
             System.arraycopy(fixedParameterTypes, 0, argTypes, 0, fixedParameterTypes.length - 1);
 
-            Object[] variableArgs = new Object[varParam.length + 1];
+            Object[] tags = new Object[varParam.length];
             int variableArgsCount = 0;
             List<Class<? extends Annotation>> paramAnnotations = new ArrayList<Class<? extends Annotation>>();
 
-            for (Object arg : varParam) {
-                if (arg instanceof Class && Annotation.class.isAssignableFrom((Class)arg)) {
+            for (int i = 0; i < varParam.length; i++) {
+                Object arg = varParam[i];
+                tags[i] = argumentTag(arg);
+                if (isAnnotationClass(arg)) {
                     paramAnnotations.add((Class)arg);
                 } else {
                     Class<?> argClass;
@@ -349,10 +457,8 @@ final class DefaultInvokerFactory {
                         ToNativeType toNativeType = typeMapper.getToNativeType(DefaultSignatureType.create(arg.getClass(), toNativeContext), toNativeContext);
                         toNativeConverter = toNativeType == null ? null : toNativeType.getToNativeConverter();
                         argClass = toNativeConverter == null ? arg.getClass() : toNativeConverter.nativeType();
-                        variableArgs[variableArgsCount] = arg;
                     } else {
                         argClass = Pointer.class;
-                        variableArgs[variableArgsCount] = arg;
                     }
 
                     argTypes[fixedParameterTypes.length + variableArgsCount - 1] = new ParameterType(
@@ -374,7 +480,7 @@ final class DefaultInvokerFactory {
             // setup of the call when invoking a variadic function, which does not need the trailing null. However, for
             // platforms where we have not rebuilt the jffi stub we still set up this trailing NULL to be compatible
             // with ffi_prep_cif and the common va_arg layout. Once all platforms have been rebuilt to use
-            // ffi_prep_cif_var, this NULL and the +1 on variableArgs allocation above can be removed.
+            // ffi_prep_cif_var, this NULL can be removed.
 
             argTypes[fixedParameterTypes.length + variableArgsCount - 1] = new ParameterType(
                     Pointer.class, 
@@ -382,31 +488,21 @@ final class DefaultInvokerFactory {
                     Collections.<Annotation>emptyList(), 
                     null, 
                     new SimpleNativeContext(runtime, Collections.<Annotation>emptyList()));
-            variableArgs[variableArgsCount] = null;
             variableArgsCount++;
 
             int fixedParamCount = fixedParameterTypes.length - 1;
             int totalArgsCount = variableArgsCount + fixedParamCount;
             Function function = new Function(functionAddress,
                     getCallContext(resultType, fixedParamCount, argTypes, totalArgsCount, callingConvention, requiresErrno));
-            HeapInvocationBuffer buffer = new HeapInvocationBuffer(function.getCallContext());
-
-            InvocationSession session = new InvocationSession();
-            try {
-                if (parameters != null) for (int i = 0; i < parameters.length - 1; ++i) {
-                    getMarshaller(argTypes[i]).marshal(session, buffer, parameters[i]);
-                }
-                
-                for (int i = 0; i < variableArgsCount; ++i) {
-                    getMarshaller(argTypes[i + fixedParamCount]).marshal(session, buffer, variableArgs[i]);
-                }
 
-                return functionInvoker.invoke(runtime, function, buffer);
-            } finally {
-                session.finish();
+            Marshaller[] marshallers = new Marshaller[totalArgsCount];
+            for (int i = 0; i < totalArgsCount; i++) {
+                marshallers[i] = getMarshaller(argTypes[i], arrayPinning);
             }
+
+            return new CallShape(hash, tags, function, marshallers);
         }
-        
+
         private static Collection<Annotation> getAnnotations(Collection<Class<? extends Annotation>> klasses) {
             List<Annotation> ret = new ArrayList<Annotation>();
             for (Class<? extends Annotation> klass : klasses) {
@@ -426,6 +522,35 @@ final class DefaultInvokerFactory {
         }
     }
 
+    /**
+     * The resolved types of a call to a variadic function, for one shape of variadic arguments.
+     */
+    private static final class CallShape {
+        final int hash;
+        final Object[] tags;
+        final Function function;
+        final Marshaller[] marshallers;
+
+        CallShape(int hash, Object[] tags, Function function, Marshaller[] marshallers) {
+            this.hash = hash;
+            this.tags = tags;
+            this.function = function;
+            this.marshallers = marshallers;
+        }
+
+        boolean matches(Object[] varParam) {
+            if (tags.length != varParam.length) {
+                return false;
+            }
+            for (int i = 0; i < tags.length; i++) {
+                if (tags[i] != VariadicInvoker.argumentTag(varParam[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     static class DefaultInvoker implements jnr.ffi.provider.Invoker {
         protected final jnr.ffi.Runtime runtime;
         final Function function;
@@ -470,6 +595,25 @@ final class DefaultInvokerFactory {
         }
     }
 
+    private static final class LockingInvoker implements Invoker {
+        private final Invoker invoker;
+        private final Lock lock;
+
+        LockingInvoker(Invoker invoker, Lock lock) {
+            this.invoker = invoker;
+            this.lock = lock;
+        }
+
+        public Object invoke(Object self, Object[] parameters) {
+            lock.lock();
+            try {
+                return invoker.invoke(self, parameters);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
     private static final class FunctionNotFoundInvoker implements Invoker {
         private final Method method;
         private final String functionName;
@@ -640,14 +784,23 @@ final class DefaultInvokerFactory {
     static class PrimitiveArrayMarshaller implements Marshaller {
         private final PrimitiveArrayParameterStrategy strategy;
         private final int flags;
+        private final int minimumPinnedLength;
 
-        protected PrimitiveArrayMarshaller(PrimitiveArrayParameterStrategy strategy, Collection<Annotation> annotations) {
+        protected PrimitiveArrayMarshaller(PrimitiveArrayParameterStrategy strategy, Class arrayType,
+                                           Collection<Annotation> annotations, ArrayPinning arrayPinning) {
             this.strategy = strategy;
             this.flags = AsmUtil.getNativeArrayFlags(annotations);
+            this.minimumPinnedLength = arrayPinning.isSizeDependent(arrayType, flags)
+                    ? arrayPinning.minimumLength(arrayType) : Integer.MAX_VALUE;
         }
 
         public final void marshal(InvocationSession session, HeapInvocationBuffer buffer, Object parameter) {
-            buffer.putObject(parameter, parameter != null ? strategy : NullObjectParameterStrategy.NULL, flags);
+            if (parameter != null) {
+                buffer.putObject(parameter, strategy, strategy.length(parameter) >= minimumPinnedLength
+                        ? flags | com.kenai.jffi.ArrayFlags.PINNED : flags);
+            } else {
+                buffer.putObject(null, NullObjectParameterStrategy.NULL, flags);
+            }
         }
     }
 
@@ -22,12 +22,14 @@ import jnr.ffi.Pointer;
 import jnr.ffi.Runtime;
 import jnr.ffi.provider.AbstractMemoryIO;
 import jnr.ffi.provider.DelegatingMemoryIO;
+import jnr.ffi.provider.converters.StringUtil;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
 class DirectMemoryIO extends AbstractMemoryIO {
     static final com.kenai.jffi.MemoryIO IO = com.kenai.jffi.MemoryIO.getInstance();
+
     DirectMemoryIO(Runtime runtime, long address) {
         super(runtime, address, true);
     }
@@ -181,13 +183,13 @@ class DirectMemoryIO extends AbstractMemoryIO {
     }
 
     public String getString(long offset) {
-        return Charset.defaultCharset().decode(ByteBuffer.wrap(IO.getZeroTerminatedByteArray(address() + offset))).toString();
+        return StringUtil.decode(this, offset, (int) IO.getStringLength(address() + offset), Charset.defaultCharset());
     }
 
 
     public String getString(long offset, int maxLength, Charset cs) {
-        final byte[] bytes = IO.getZeroTerminatedByteArray(address() + offset, maxLength);
-        return cs.decode(ByteBuffer.wrap(bytes)).toString();
+        int length = (int) IO.indexOf(address() + offset, (byte) 0, maxLength);
+        return StringUtil.decode(this, offset, length >= 0 ? length : maxLength, cs);
     }
 
     public void putString(long offset, String string, int maxLength, Charset cs) {
@@ -81,33 +81,41 @@ final class FastIntMethodGenerator extends AbstractFastNumericMethodGenerator {
     }
 
     public boolean isSupported(ResultType resultType, ParameterType[] parameterTypes, CallingConvention callingConvention) {
+        return getUnsupportedReason(resultType, parameterTypes, callingConvention) == null;
+    }
+
+    public String getUnsupportedReason(ResultType resultType, ParameterType[] parameterTypes, CallingConvention callingConvention) {
         final int parameterCount = parameterTypes.length;
 
         if (!ENABLED) {
-            return false;
+            return "disabled by jnr.ffi.fast-int.enabled";
         }
 
-        if (!callingConvention.equals(CallingConvention.DEFAULT) || parameterCount > MAX_FASTINT_PARAMETERS) {
-            return false;
+        if (!callingConvention.equals(CallingConvention.DEFAULT)) {
+            return "calling convention " + callingConvention + " is not supported";
+        }
+
+        if (parameterCount > MAX_FASTINT_PARAMETERS) {
+            return "more than " + MAX_FASTINT_PARAMETERS + " parameters";
         }
 
         final Platform platform = Platform.getPlatform();
 
         if (platform.getOS().equals(Platform.OS.WINDOWS)) {
-            return false;
+            return "not supported on Windows";
         }
 
         if (!platform.getCPU().equals(Platform.CPU.I386) && !platform.getCPU().equals(Platform.CPU.X86_64)) {
-            return false;
+            return "not supported on " + platform.getCPU();
         }
 
-        for (ParameterType parameterType : parameterTypes) {
-            if (!isFastIntParameter(platform, parameterType)) {
-                return false;
+        for (int i = 0; i < parameterCount; i++) {
+            if (!isFastIntParameter(platform, parameterTypes[i])) {
+                return "parameter " + (i + 1) + " is " + InvokerUtil.describe(parameterTypes[i]);
             }
         }
 
-        return isFastIntResult(platform, resultType);
+        return isFastIntResult(platform, resultType) ? null : "result is " + InvokerUtil.describe(resultType);
     }
 
 
@@ -84,33 +84,42 @@ public class FastLongMethodGenerator extends AbstractFastNumericMethodGenerator
     }
 
     public boolean isSupported(ResultType resultType, ParameterType[] parameterTypes, CallingConvention callingConvention) {
+        return getUnsupportedReason(resultType, parameterTypes, callingConvention) == null;
+    }
+
+    public String getUnsupportedReason(ResultType resultType, ParameterType[] parameterTypes, CallingConvention callingConvention) {
         final int parameterCount = parameterTypes.length;
 
         if (!ENABLED) {
-            return false;
+            return "disabled by jnr.ffi.fast-long.enabled";
+        }
+
+        if (callingConvention != CallingConvention.DEFAULT) {
+            return "calling convention " + callingConvention + " is not supported";
         }
 
-        if (callingConvention != CallingConvention.DEFAULT || parameterCount > MAX_PARAMETERS) {
-            return false;
+        if (parameterCount > MAX_PARAMETERS) {
+            return "more than " + MAX_PARAMETERS + " parameters";
         }
+
         final Platform platform = Platform.getPlatform();
+
         // Only supported on amd64 arches
         if (platform.getCPU() != Platform.CPU.X86_64) {
-            return false;
+            return "not supported on " + platform.getCPU();
         }
 
         if (platform.getOS().equals(Platform.OS.WINDOWS)) {
-            return false;
+            return "not supported on Windows";
         }
 
-
-        for (ParameterType parameterType : parameterTypes) {
-            if (!isFastLongParameter(platform, parameterType)) {
-                return false;
+        for (int i = 0; i < parameterCount; i++) {
+            if (!isFastLongParameter(platform, parameterTypes[i])) {
+                return "parameter " + (i + 1) + " is " + InvokerUtil.describe(parameterTypes[i]);
             }
         }
 
-        return isFastLongResult(platform, resultType);
+        return isFastLongResult(platform, resultType) ? null : "result is " + InvokerUtil.describe(resultType);
     }
 
     static int getMaximumFastLongParameters() {
@@ -232,4 +232,11 @@ final class InvokerUtil {
     public static final com.kenai.jffi.CallingConvention jffiConvention(jnr.ffi.CallingConvention callingConvention) {
         return callingConvention == jnr.ffi.CallingConvention.DEFAULT ? com.kenai.jffi.CallingConvention.DEFAULT : com.kenai.jffi.CallingConvention.STDCALL;
     }
+
+    /**
+     * Describes a parameter or result type in diagnostics, such as {@code "Pointer (ADDRESS)"}.
+     */
+    static String describe(SigType type) {
+        return type.getDeclaredType().getSimpleName() + " (" + type.getNativeType() + ")";
+    }
 }
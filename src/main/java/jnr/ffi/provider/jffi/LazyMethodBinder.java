@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import jnr.ffi.LibraryOption;
+import jnr.ffi.mapper.FunctionMapper;
+import jnr.ffi.mapper.SignatureTypeMapper;
+import jnr.ffi.provider.NativeFunction;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Opcodes;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static jnr.ffi.provider.jffi.CodegenUtils.p;
+import static jnr.ffi.provider.jffi.CodegenUtils.sig;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+/**
+ * Binds the methods of a library loaded with {@link LibraryOption#LazyBinding} on their first call.
+ * <p>
+ * Each method of the implementation class calls its function through an invokedynamic call site which initially
+ * links to this binder.  On the first call, the binder resolves the function, generates a small class holding
+ * the fast path the eager loader would have generated, and installs it as the target of the call site.  The same
+ * class also holds the fast paths of the unbound functions declared after it, up to a small batch, so that they
+ * share one stub compiler attach instead of mapping executable pages for each function.
+ * <p>
+ * Call sites belong to the implementation class, so the class must only ever have one instance.
+ */
+final class LazyMethodBinder {
+    static final Handle BOOTSTRAP = new Handle(Opcodes.H_INVOKESTATIC, p(AsmRuntime.class), "bootstrapLazyMethod",
+            sig(CallSite.class, MethodHandles.Lookup.class, String.class, MethodType.class, int.class), false);
+
+    /** The maximum number of functions bound together, so that their stubs share executable pages. */
+    private static final int BATCH_SIZE = 16;
+    private static final AtomicLong nextClassID = new AtomicLong(0);
+    private static final MethodHandle LINK;
+    static {
+        try {
+            LINK = MethodHandles.lookup().findStatic(LazyMethodBinder.class, "link",
+                    MethodType.methodType(Object.class, MutableCallSite.class, int.class, Object[].class));
+        } catch (ReflectiveOperationException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private final NativeRuntime runtime;
+    private final NativeLibrary library;
+    private final Class<?> interfaceClass;
+    private final AsmClassLoader classLoader;
+    private final SignatureTypeMapper typeMapper;
+    private final FunctionMapper functionMapper;
+    private final Map<LibraryOption, ?> libraryOptions;
+    private final LibraryInvocationMetrics metrics;
+    private final LibraryTierReport tierReport;
+    private final ArrayPinning arrayPinning;
+    private final StubCompiler compiler;
+    private final MethodGenerator[] generators;
+    private final List<NativeFunction> functions = new ArrayList<NativeFunction>();
+    private MethodHandle[] handles;
+
+    LazyMethodBinder(NativeRuntime runtime, NativeLibrary library, Class<?> interfaceClass, AsmClassLoader classLoader,
+                     SignatureTypeMapper typeMapper, FunctionMapper functionMapper, Map<LibraryOption, ?> libraryOptions,
+                     LibraryInvocationMetrics metrics, LibraryTierReport tierReport, ArrayPinning arrayPinning) {
+        this.runtime = runtime;
+        this.library = library;
+        this.interfaceClass = interfaceClass;
+        this.classLoader = classLoader;
+        this.typeMapper = typeMapper;
+        this.functionMapper = functionMapper;
+        this.libraryOptions = libraryOptions;
+        this.metrics = metrics;
+        this.tierReport = tierReport;
+        this.arrayPinning = arrayPinning;
+        this.compiler = StubCompiler.newCompiler(runtime);
+        this.generators = AsmLibraryLoader.newMethodGenerators(interfaceClass, compiler);
+    }
+
+    /**
+     * Adds a function to be bound lazily.
+     *
+     * @return the index of the function, passed to the bootstrap method of its call site.
+     */
+    int add(NativeFunction function) {
+        functions.add(function);
+        return functions.size() - 1;
+    }
+
+    static CallSite newCallSite(MethodType type, int index) {
+        MutableCallSite site = new MutableCallSite(type);
+        site.setTarget(MethodHandles.insertArguments(LINK, 0, site, index)
+                .asCollector(Object[].class, type.parameterCount())
+                .asType(type));
+        return site;
+    }
+
+    private static Object link(MutableCallSite site, int index, Object[] args) throws Throwable {
+        // The first argument is always the library instance
+        LazyMethodBinder binder = ((AbstractAsmLibraryInterface) args[0]).getLazyMethodBinder();
+        MethodHandle target = MethodHandles.dropArguments(binder.bind(index), 0, site.type().parameterType(0));
+        site.setTarget(target);
+
+        return target.invokeWithArguments(args);
+    }
+
+    /**
+     * Gets the method handle calling the function at {@code index}, generating it on first use.
+     *
+     * @throws UnsatisfiedLinkError if the function is not found in the library.
+     */
+    synchronized MethodHandle bind(int index) {
+        if (handles == null) {
+            handles = new MethodHandle[functions.size()];
+        }
+
+        if (handles[index] == null) {
+            bindBatch(index);
+        }
+
+        return handles[index];
+    }
+
+    /**
+     * Generates the method calling the function at {@code index}, and those of up to {@code BATCH_SIZE - 1} of the
+     * unbound functions following it, in one class.  The stubs of the class are attached at once, so the functions
+     * share executable pages instead of each mapping pages of its own.  A following function that cannot be bound,
+     * e.g. because it is not found in the library, is left to fail on the first call of its method.
+     */
+    private void bindBatch(int index) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        AsmBuilder builder = new AsmBuilder(runtime, p(interfaceClass) + "$jnr$ffi$lazy$" + nextClassID.getAndIncrement(),
+                cw, classLoader, arrayPinning);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL, builder.getClassNamePath(), null, p(Object.class), null);
+
+        List<Integer> batch = new ArrayList<Integer>(BATCH_SIZE);
+        for (int i = 0; i < functions.size() && batch.size() < BATCH_SIZE; i++) {
+            int next = (index + i) % functions.size();
+            if (handles[next] != null) {
+                continue;
+            }
+
+            NativeFunction function = functions.get(next);
+            String functionName = functionMapper.mapFunctionName(function.name(), new NativeFunctionMapperContext(library, function.annotations()));
+            try {
+                // The function is resolved and its types mapped before any code is generated for it
+                AsmLibraryLoader.generateFunction(runtime, builder, generators, library, interfaceClass, function,
+                        function.getMethod().getName(), functionName, typeMapper, libraryOptions, metrics, tierReport);
+                batch.add(next);
+
+            } catch (SymbolNotFoundError | RuntimeException ex) {
+                if (next == index) {
+                    throw ex;
+                }
+            }
+        }
+
+        SkinnyMethodAdapter init = new SkinnyMethodAdapter(cw, ACC_PUBLIC, "<init>", sig(void.class, Object[].class),
+                null, null);
+        init.start();
+        init.aload(0);
+        init.invokespecial(p(Object.class), "<init>", sig(void.class));
+        builder.emitFieldInitialization(init, 1);
+        init.voidreturn();
+        init.visitMaxs(10, 10);
+        init.visitEnd();
+
+        cw.visitEnd();
+
+        try {
+            Class<?> implClass = classLoader.defineClass(builder.getClassNamePath().replace("/", "."), cw.toByteArray());
+            Object instance = implClass.getConstructor(Object[].class).newInstance(new Object[] { builder.getObjectFieldValues() });
+            compiler.attach(implClass);
+
+            for (int i : batch) {
+                Method method = functions.get(i).getMethod();
+                handles[i] = MethodHandles.publicLookup().findVirtual(implClass, method.getName(),
+                        MethodType.methodType(method.getReturnType(), method.getParameterTypes())).bindTo(instance);
+            }
+
+        } catch (ReflectiveOperationException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+}
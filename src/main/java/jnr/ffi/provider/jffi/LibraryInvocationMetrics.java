@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import jnr.ffi.provider.InvocationMetrics;
+
+import java.lang.reflect.Method;
+
+/**
+ * The {@link InvocationMetrics} of a library, which only the library loader can add functions to.
+ */
+final class LibraryInvocationMetrics extends InvocationMetrics {
+    LibraryInvocationMetrics(Class<?> interfaceClass) {
+        super(interfaceClass);
+    }
+
+    Function measure(Method method) {
+        return add(method);
+    }
+}
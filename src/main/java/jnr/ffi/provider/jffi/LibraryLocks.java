@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import jnr.ffi.annotations.Synchronized;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The locks used by the {@link Synchronized} methods of one library instance.
+ */
+final class LibraryLocks {
+    private final Synchronized librarySynchronized;
+    private final ConcurrentMap<String, ReadWriteLock> groups = new ConcurrentHashMap<String, ReadWriteLock>();
+    private final ConcurrentMap<Method, Lock> methodLocks = new ConcurrentHashMap<Method, Lock>();
+
+    LibraryLocks(Class<?> interfaceClass) {
+        this.librarySynchronized = interfaceClass.getAnnotation(Synchronized.class);
+    }
+
+    /**
+     * Gets the synchronization applied to a method, from either the method or the library.
+     *
+     * @return the annotation, or null if calls to the method are not synchronized.
+     */
+    Synchronized getSynchronized(Method method) {
+        Synchronized methodSynchronized = method.getAnnotation(Synchronized.class);
+        return methodSynchronized != null ? methodSynchronized : librarySynchronized;
+    }
+
+    /**
+     * Gets the lock to hold while calling a synchronized method.
+     *
+     * @return the lock, or null if calls synchronize on the library instance.
+     * @throws IllegalArgumentException if the annotation does not name a valid group for its mode.
+     */
+    Lock getLock(Method method, Synchronized sync) {
+        String group = sync.group();
+        Synchronized.Mode mode = sync.mode();
+
+        if (group.isEmpty() || Synchronized.METHOD.equals(group)) {
+            if (mode == Synchronized.Mode.READ || mode == Synchronized.Mode.WRITE) {
+                throw new IllegalArgumentException("@Synchronized mode " + mode + " needs a named group for method "
+                        + method);
+            }
+            return group.isEmpty() ? null : getMethodLock(method);
+        }
+
+        ReadWriteLock lock = groups.get(group);
+        if (lock == null) {
+            ReadWriteLock newLock = new ReentrantReadWriteLock();
+            lock = groups.putIfAbsent(group, newLock);
+            if (lock == null) {
+                lock = newLock;
+            }
+        }
+
+        return mode == Synchronized.Mode.READ ? lock.readLock() : lock.writeLock();
+    }
+
+    private Lock getMethodLock(Method method) {
+        Lock lock = methodLocks.get(method);
+        if (lock == null) {
+            Lock newLock = new ReentrantLock();
+            lock = methodLocks.putIfAbsent(method, newLock);
+            if (lock == null) {
+                lock = newLock;
+            }
+        }
+        return lock;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import jnr.ffi.LibraryOption;
+import jnr.ffi.Platform;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+
+import static jnr.ffi.provider.jffi.Util.getStringProperty;
+
+/**
+ * A persistent cache of the paths that native libraries were found at.
+ * <p>
+ * When a library name cannot be opened as is, {@link NativeLibrary} searches every search path for it, which is
+ * repeated on every start of the JVM.  If the {@code jnr.ffi.library.cache} system property names a file, the
+ * path that was found is recorded in it, keyed by the library name, search paths and platform, along with the
+ * modification time, size and file key (inode) of the library.  Later lookups use the recorded path as long as
+ * the library file is unchanged, and fall back to searching otherwise.
+ * <p>
+ * The cache is best effort: errors reading or writing the file are ignored.
+ */
+final class LibraryPathCache {
+    private static final String CACHE_FILE = getStringProperty("jnr.ffi.library.cache", null);
+
+    private final File file;
+    private final Properties entries = new Properties();
+    private boolean loaded;
+
+    LibraryPathCache(File file) {
+        this.file = file;
+    }
+
+    private static final class SingletonHolder {
+        static final LibraryPathCache INSTANCE = new LibraryPathCache(CACHE_FILE != null ? new File(CACHE_FILE) : null);
+    }
+
+    static LibraryPathCache getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+
+    boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * Gets the path recorded for a library, if the library file at that path has not changed since.
+     *
+     * @return the path of the library, or {@code null} if it is not known.
+     */
+    synchronized String get(String libraryName, Collection<String> searchPaths, Map<LibraryOption, ?> options) {
+        if (file == null) {
+            return null;
+        }
+
+        if (!loaded) {
+            load(entries);
+            loaded = true;
+        }
+
+        String value = entries.getProperty(key(libraryName, searchPaths, options));
+        if (value == null) {
+            return null;
+        }
+
+        int sep = value.indexOf('\n');
+        String path = sep > 0 ? value.substring(0, sep) : null;
+
+        return path != null && value.substring(sep + 1).equals(fileState(new File(path))) ? path : null;
+    }
+
+    /**
+     * Records the path that a library was found at.
+     */
+    synchronized void put(String libraryName, Collection<String> searchPaths, Map<LibraryOption, ?> options, String path) {
+        if (file == null) {
+            return;
+        }
+
+        String state = fileState(new File(path));
+        if (state == null) {
+            return;
+        }
+
+        String key = key(libraryName, searchPaths, options);
+        String value = path + "\n" + state;
+        if (value.equals(entries.getProperty(key))) {
+            return;
+        }
+        entries.setProperty(key, value);
+
+        // Merge with what other processes may have written since the cache was loaded
+        Properties merged = new Properties();
+        load(merged);
+        merged.setProperty(key, value);
+        store(merged);
+    }
+
+    private static String key(String libraryName, Collection<String> searchPaths, Map<LibraryOption, ?> options) {
+        Platform platform = Platform.getNativePlatform();
+        StringBuilder sb = new StringBuilder();
+        sb.append(platform.getOS()).append('/').append(platform.getCPU());
+        if (options.containsKey(LibraryOption.PreferCustomPaths)) {
+            sb.append("/custom");
+        }
+        sb.append('\n').append(libraryName);
+        for (String path : searchPaths) {
+            sb.append('\n').append(path);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Describes the state of a library file, to detect when it is replaced or changed.
+     *
+     * @return the state of the file, or {@code null} if it is not a regular file.
+     */
+    private static String fileState(File f) {
+        if (!f.isAbsolute()) {
+            return null;
+        }
+
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(f.toPath(), BasicFileAttributes.class);
+            if (!attrs.isRegularFile()) {
+                return null;
+            }
+
+            return attrs.lastModifiedTime().toMillis() + " " + attrs.size() + " " + attrs.fileKey();
+
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private void load(Properties properties) {
+        if (!file.isFile()) {
+            return;
+        }
+
+        try {
+            InputStream in = new FileInputStream(file);
+            try {
+                properties.load(in);
+            } finally {
+                in.close();
+            }
+        } catch (IOException ignored) {
+        } catch (IllegalArgumentException ignored) {
+            // Malformed cache file
+        }
+    }
+
+    private void store(Properties properties) {
+        try {
+            File dir = file.getAbsoluteFile().getParentFile();
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                return;
+            }
+
+            // Write to a temporary file first, so concurrent readers never see a partially written cache
+            File tmp = File.createTempFile(file.getName(), ".tmp", dir);
+            try {
+                OutputStream out = new FileOutputStream(tmp);
+                try {
+                    properties.store(out, "jnr-ffi library path cache");
+                } finally {
+                    out.close();
+                }
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                tmp.delete();
+            }
+        } catch (IOException ignored) {
+        } catch (SecurityException ignored) {
+        }
+    }
+}
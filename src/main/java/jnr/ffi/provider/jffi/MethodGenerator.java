@@ -29,6 +29,16 @@ import jnr.ffi.provider.ResultType;
 public interface MethodGenerator {
 
     public boolean isSupported(ResultType resultType, ParameterType[] parameterTypes, CallingConvention callingConvention);
+
+    /**
+     * Explains why {@link #isSupported} rejects a signature.
+     *
+     * @return what is not supported, or null if the signature is supported.
+     */
+    default String getUnsupportedReason(ResultType resultType, ParameterType[] parameterTypes, CallingConvention callingConvention) {
+        return isSupported(resultType, parameterTypes, callingConvention) ? null : "not supported by " + getClass().getSimpleName();
+    }
+
     public void generate(AsmBuilder builder, String functionName, Function function,
                          ResultType resultType, ParameterType[] parameterTypes, boolean ignoreError);
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import jnr.ffi.provider.InvocationMetrics;
+
+import static jnr.ffi.provider.jffi.CodegenUtils.ci;
+
+/**
+ * Emits the timing code for a method of a library loaded with {@link jnr.ffi.LibraryOption#Metrics}.
+ * <p>
+ * The method generators call this around the native invocation; {@link #NONE} emits nothing, so libraries
+ * loaded without the option get exactly the same code as before.
+ */
+class MetricsEmitter {
+    static final MetricsEmitter NONE = new MetricsEmitter();
+
+    boolean isEnabled() {
+        return false;
+    }
+
+    /** Emits the timestamp for method entry; must be called before anything else is emitted. */
+    void emitStart(SkinnyMethodAdapter mv, LocalVariableAllocator localVariableAllocator) {
+    }
+
+    /** Emits the timestamp taken just before the native call instruction. */
+    void emitNativeStart(SkinnyMethodAdapter mv) {
+    }
+
+    /** Emits the timestamp taken just after the native call instruction. */
+    void emitNativeEnd(SkinnyMethodAdapter mv) {
+    }
+
+    /** Emits the call which records the timings; the result may be on the operand stack. */
+    void emitRecord(AsmBuilder builder, SkinnyMethodAdapter mv) {
+    }
+
+    static MetricsEmitter create(AsmBuilder builder, InvocationMetrics.Function function) {
+        return new Enabled(builder.getObjectField(function, InvocationMetrics.Function.class));
+    }
+
+    private static final class Enabled extends MetricsEmitter {
+        private final AsmBuilder.ObjectField field;
+        private LocalVariable start, nativeStart, nativeEnd;
+
+        Enabled(AsmBuilder.ObjectField field) {
+            this.field = field;
+        }
+
+        @Override
+        boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        void emitStart(SkinnyMethodAdapter mv, LocalVariableAllocator localVariableAllocator) {
+            start = localVariableAllocator.allocate(long.class);
+            nativeStart = localVariableAllocator.allocate(long.class);
+            nativeEnd = localVariableAllocator.allocate(long.class);
+            emitTimestamp(mv, start);
+        }
+
+        @Override
+        void emitNativeStart(SkinnyMethodAdapter mv) {
+            emitTimestamp(mv, nativeStart);
+        }
+
+        @Override
+        void emitNativeEnd(SkinnyMethodAdapter mv) {
+            emitTimestamp(mv, nativeEnd);
+        }
+
+        @Override
+        void emitRecord(AsmBuilder builder, SkinnyMethodAdapter mv) {
+            mv.aload(0);
+            mv.getfield(builder.getClassNamePath(), field.name, ci(field.klass));
+            mv.lload(start, nativeStart, nativeEnd);
+            mv.invokevirtual(InvocationMetrics.Function.class, "record", void.class, long.class, long.class, long.class);
+        }
+
+        private static void emitTimestamp(SkinnyMethodAdapter mv, LocalVariable variable) {
+            mv.invokestatic(System.class, "nanoTime", long.class);
+            mv.lstore(variable);
+        }
+    }
+}
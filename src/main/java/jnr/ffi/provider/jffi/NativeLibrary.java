@@ -45,6 +45,7 @@ public class NativeLibrary {
     private final List<String> searchPaths;
     private final List<String> successfulPaths = new ArrayList<>();
     private final Map<LibraryOption, Object> options;
+    private final LibraryPathCache pathCache = LibraryPathCache.getInstance();
 
     private volatile List<com.kenai.jffi.Library> nativeLibraries = Collections.emptyList();
 
@@ -99,10 +100,20 @@ public class NativeLibrary {
 
             // try opening ignoring searchPaths AND any name mapping, so just literal given name
             lib = openLibrary(libraryName, successfulPaths);
+            if (lib == null) {
+                // try the path this library was found at before, if it is cached
+                String path = pathCache.get(libraryName, searchPaths, options);
+                if (path != null) {
+                    lib = openLibrary(path, successfulPaths);
+                }
+            }
             if (lib == null) {
                 String path = locateLibrary(libraryName); // try opening with mapping and searchPaths
                 if (!libraryName.equals(path)) {
                     lib = openLibrary(path, successfulPaths);
+                    if (lib != null) {
+                        pathCache.put(libraryName, searchPaths, options, path);
+                    }
                 }
             }
             if (lib == null) {
@@ -18,6 +18,7 @@
 
 package jnr.ffi.provider.jffi;
 
+import jnr.ffi.MemoryScope;
 import jnr.ffi.Pointer;
 import jnr.ffi.provider.BoundedMemoryIO;
 import jnr.ffi.provider.IntPointer;
@@ -27,6 +28,7 @@ import java.nio.ByteBuffer;
 public class NativeMemoryManager implements jnr.ffi.provider.MemoryManager {
     private final jnr.ffi.Runtime runtime;
     private final long addressMask;
+    private final NativeMemoryPool pool = NativeMemoryPool.getInstance();
 
     public NativeMemoryManager(NativeRuntime runtime) {
         this.runtime = runtime;
@@ -38,27 +40,34 @@ public class NativeMemoryManager implements jnr.ffi.provider.MemoryManager {
     }
 
     public Pointer allocateDirect(int size) {
-        return new BoundedMemoryIO(TransientNativeMemory.allocate(runtime, size, 8, true), 0, size);
+        return allocateDirect((long) size, true);
     }
 
     public Pointer allocateDirect(long size) {
-        return new BoundedMemoryIO(TransientNativeMemory.allocate(runtime, size, 8, true), 0, size);
+        return allocateDirect(size, true);
     }
 
     public Pointer allocateDirect(int size, boolean clear) {
-        return new BoundedMemoryIO(TransientNativeMemory.allocate(runtime, size, 8, clear), 0, size);
+        return allocateDirect((long) size, clear);
     }
 
     public Pointer allocateDirect(long size, boolean clear) {
-        return new BoundedMemoryIO(TransientNativeMemory.allocate(runtime, size, 8, clear), 0, size);
+        if (size > TransientNativeMemory.MAX_TRANSIENT_SIZE && pool.isPooled(size)) {
+            return new BoundedMemoryIO(pool.allocate(runtime, size, clear), 0, size, true);
+        }
+
+        return new BoundedMemoryIO(TransientNativeMemory.allocate(runtime, size, 8, clear), 0, size, true);
     }
 
     public Pointer allocateTemporary(int size) {
-        return new BoundedMemoryIO(TransientNativeMemory.allocate(runtime, size, 8, true), 0, size);
+        return allocateTemporary(size, true);
     }
 
     public Pointer allocateTemporary(int size, boolean clear) {
-        return new BoundedMemoryIO(TransientNativeMemory.allocate(runtime, size, 8, clear), 0, size);
+        NativeMemoryScope scope = NativeMemoryScope.current();
+        return scope != null
+                ? scope.allocate(size, clear)
+                : new BoundedMemoryIO(TransientNativeMemory.allocate(runtime, size, 8, clear), 0, size);
     }
 
     public Pointer newPointer(ByteBuffer buffer) {
@@ -77,4 +86,12 @@ public class NativeMemoryManager implements jnr.ffi.provider.MemoryManager {
         return new IntPointer(runtime, address);
     }
 
+    public MemoryScope openScope() {
+        return NativeMemoryScope.open(runtime);
+    }
+
+    public MemoryScope currentScope() {
+        return NativeMemoryScope.current();
+    }
+
 }
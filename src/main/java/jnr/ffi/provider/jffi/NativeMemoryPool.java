@@ -0,0 +1,298 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import jnr.ffi.Runtime;
+import jnr.ffi.util.ref.FinalizablePhantomReference;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static jnr.ffi.provider.jffi.DirectMemoryIO.IO;
+import static jnr.ffi.provider.jffi.Util.getBooleanProperty;
+import static jnr.ffi.provider.jffi.Util.getIntegerProperty;
+
+/**
+ * A pool of native memory blocks, used by {@link NativeMemoryManager#allocateDirect(long, boolean)} when
+ * the {@code jnr.ffi.memory.pool.enabled} system property is set to {@code true}.
+ * <p>
+ * Requests are rounded up to a power-of-two size class between 512 bytes and {@code jnr.ffi.memory.pool.max}
+ * (64 KiB by default); larger requests are allocated individually as before.  Released blocks go to a small
+ * per-thread cache first, then to a lock-free list shared by all threads, and are only returned to the system
+ * allocator when both are full.
+ * <p>
+ * Memory from the pool is returned when its {@link jnr.ffi.Pointer} is closed, or failing that, when the
+ * {@code Pointer} is garbage collected.
+ */
+public final class NativeMemoryPool {
+    static final boolean ENABLED = getBooleanProperty("jnr.ffi.memory.pool.enabled", false);
+
+    /** Smaller allocations are served by {@link TransientNativeMemory} */
+    private static final int MIN_SHIFT = 9;
+    private static final int MAX_SHIFT = Math.max(MIN_SHIFT,
+            32 - Integer.numberOfLeadingZeros(Math.max(1, getIntegerProperty("jnr.ffi.memory.pool.max", 64 * 1024) - 1)));
+    private static final int THREAD_CACHE_SIZE = Math.max(0, getIntegerProperty("jnr.ffi.memory.pool.thread.cache", 16));
+    private static final int SHARED_LIST_SIZE = Math.max(0, getIntegerProperty("jnr.ffi.memory.pool.shared", 256));
+
+    private static final class SingletonHolder {
+        private static final NativeMemoryPool INSTANCE = new NativeMemoryPool();
+    }
+
+    public static NativeMemoryPool getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+
+    /** Keeps strong references to the thread cache references until cleanup */
+    @SuppressWarnings("MismatchedQueryAndUpdateOfCollection")
+    private final Map<ThreadCacheReference, Boolean> referenceSet = new ConcurrentHashMap<ThreadCacheReference, Boolean>();
+
+    private final FreeList[] freeLists = new FreeList[MAX_SHIFT - MIN_SHIFT + 1];
+    private final ThreadLocal<ThreadCache> threadCache = new ThreadLocal<ThreadCache>() {
+        @Override
+        protected ThreadCache initialValue() {
+            ThreadCache cache = new ThreadCache(freeLists.length);
+            referenceSet.put(new ThreadCacheReference(cache), Boolean.TRUE);
+            return cache;
+        }
+    };
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder releases = new LongAdder();
+
+    private NativeMemoryPool() {
+        for (int i = 0; i < freeLists.length; i++) {
+            freeLists[i] = new FreeList();
+        }
+    }
+
+    /**
+     * Indicates whether {@code allocateDirect} uses this pool.
+     *
+     * @return true if the pool is enabled.
+     */
+    public boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Gets the largest allocation, in bytes, that is served from the pool.
+     *
+     * @return the size of the largest size class.
+     */
+    public long getMaximumSize() {
+        return 1L << MAX_SHIFT;
+    }
+
+    /**
+     * Gets the number of allocations that reused a pooled block.
+     *
+     * @return the hit count.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of allocations that had to allocate a new block from the system.
+     *
+     * @return the miss count.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of blocks that have been released back to the pool.
+     *
+     * @return the release count.
+     */
+    public long getReleaseCount() {
+        return releases.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[enabled=%s hits=%d misses=%d releases=%d]", getClass().getSimpleName(),
+                ENABLED, getHitCount(), getMissCount(), getReleaseCount());
+    }
+
+    boolean isPooled(long size) {
+        return ENABLED && size <= (1L << MAX_SHIFT);
+    }
+
+    DirectMemoryIO allocate(Runtime runtime, long size, boolean clear) {
+        int sizeClass = sizeClass(size);
+        long address = threadCache.get().pop(sizeClass);
+        if (address == 0L) {
+            address = freeLists[sizeClass].pop();
+        }
+
+        if (address != 0L) {
+            hits.increment();
+
+        } else {
+            misses.increment();
+            address = IO.allocateMemory(1L << (sizeClass + MIN_SHIFT), false);
+            if (address == 0L) {
+                throw new OutOfMemoryError("Failed to allocate " + size + " bytes");
+            }
+        }
+
+        if (clear) {
+            IO.setMemory(address, size, (byte) 0);
+        }
+
+        return new PooledDirectMemoryIO(runtime, this, address, size, sizeClass);
+    }
+
+    void release(long address, int sizeClass) {
+        releases.increment();
+        if (!threadCache.get().push(sizeClass, address) && !freeLists[sizeClass].push(address)) {
+            IO.freeMemory(address);
+        }
+    }
+
+    /**
+     * Releases a block whose memory was garbage collected.  This runs on the finalizer thread, which never
+     * allocates from the pool, so the block goes straight to the shared list instead of that thread's cache.
+     */
+    void releaseCollected(long address, int sizeClass) {
+        releases.increment();
+        if (!freeLists[sizeClass].push(address)) {
+            IO.freeMemory(address);
+        }
+    }
+
+    private static int sizeClass(long size) {
+        return size <= (1L << MIN_SHIFT) ? 0 : (64 - Long.numberOfLeadingZeros(size - 1)) - MIN_SHIFT;
+    }
+
+    /**
+     * A lock-free stack of free blocks of one size class, shared by all threads.
+     */
+    private static final class FreeList {
+        private final AtomicReference<Node> head = new AtomicReference<Node>();
+        private final AtomicInteger count = new AtomicInteger();
+
+        boolean push(long address) {
+            if (count.incrementAndGet() > SHARED_LIST_SIZE) {
+                count.decrementAndGet();
+                return false;
+            }
+
+            Node node = new Node(address);
+            do {
+                node.next = head.get();
+            } while (!head.compareAndSet(node.next, node));
+
+            return true;
+        }
+
+        long pop() {
+            Node node;
+            do {
+                if ((node = head.get()) == null) {
+                    return 0L;
+                }
+            } while (!head.compareAndSet(node, node.next));
+
+            count.decrementAndGet();
+            return node.address;
+        }
+    }
+
+    private static final class Node {
+        final long address;
+        Node next;
+
+        Node(long address) {
+            this.address = address;
+        }
+    }
+
+    /**
+     * The free blocks cached by one thread.
+     */
+    private static final class ThreadCache {
+        private final Blocks blocks;
+
+        ThreadCache(int sizeClassCount) {
+            this.blocks = new Blocks(sizeClassCount);
+        }
+
+        long pop(int sizeClass) {
+            int count = blocks.counts[sizeClass];
+            if (count == 0) {
+                return 0L;
+            }
+
+            blocks.counts[sizeClass] = --count;
+            return blocks.addresses[sizeClass][count];
+        }
+
+        boolean push(int sizeClass, long address) {
+            int count = blocks.counts[sizeClass];
+            if (count == THREAD_CACHE_SIZE) {
+                return false;
+            }
+
+            blocks.addresses[sizeClass][count] = address;
+            blocks.counts[sizeClass] = count + 1;
+            return true;
+        }
+    }
+
+    /**
+     * The native memory held by a thread cache.  This is kept separate from the cache itself, so it can be
+     * handed back to the shared lists once the cache (and the thread which owned it) has been garbage collected.
+     */
+    private static final class Blocks {
+        final long[][] addresses;
+        final int[] counts;
+
+        Blocks(int sizeClassCount) {
+            this.addresses = new long[sizeClassCount][THREAD_CACHE_SIZE];
+            this.counts = new int[sizeClassCount];
+        }
+    }
+
+    private final class ThreadCacheReference extends FinalizablePhantomReference<ThreadCache> {
+        private final Blocks blocks;
+
+        ThreadCacheReference(ThreadCache cache) {
+            super(cache, NativeFinalizer.getInstance().getFinalizerQueue());
+            this.blocks = cache.blocks;
+        }
+
+        public final void finalizeReferent() {
+            for (int sizeClass = 0; sizeClass < blocks.counts.length; sizeClass++) {
+                for (int i = 0; i < blocks.counts[sizeClass]; i++) {
+                    if (!freeLists[sizeClass].push(blocks.addresses[sizeClass][i])) {
+                        IO.freeMemory(blocks.addresses[sizeClass][i]);
+                    }
+                }
+                blocks.counts[sizeClass] = 0;
+            }
+            referenceSet.remove(this);
+        }
+    }
+}
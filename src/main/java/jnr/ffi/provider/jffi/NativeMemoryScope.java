@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import jnr.ffi.MemoryScope;
+import jnr.ffi.Pointer;
+import jnr.ffi.Runtime;
+import jnr.ffi.provider.BoundedMemoryIO;
+import jnr.ffi.util.ref.FinalizablePhantomReference;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static jnr.ffi.provider.jffi.DirectMemoryIO.IO;
+import static jnr.ffi.provider.jffi.Util.getIntegerProperty;
+
+/**
+ * A {@link MemoryScope} which bump-allocates from a thread-local {@link Arena} of native slabs.
+ * <p>
+ * Opening a scope records the current allocation position of the arena, and closing it rewinds the
+ * arena back to that position, so the slabs are reused by the next scope opened on the same thread.
+ */
+final class NativeMemoryScope extends MemoryScope {
+    private static final int SLAB_SIZE = Math.max(4096, getIntegerProperty("jnr.ffi.scope.slab.size", 64 * 1024));
+
+    /** Allocations larger than this get a dedicated block of memory instead of wasting the rest of a slab */
+    private static final int MAX_SLAB_ALLOCATION = SLAB_SIZE / 4;
+
+    /** Number of slabs an idle thread keeps for reuse */
+    private static final int RETAINED_SLABS = 4;
+
+    /** Keeps strong references to the arena references until cleanup */
+    @SuppressWarnings("MismatchedQueryAndUpdateOfCollection")
+    private static final Map<ArenaReference, Boolean> referenceSet = new ConcurrentHashMap<ArenaReference, Boolean>();
+
+    private static final ThreadLocal<Arena> currentArena = new ThreadLocal<Arena>();
+
+    private final Runtime runtime;
+    private final Arena arena;
+    private final NativeMemoryScope parent;
+    private final int markSlab;
+    private final long markAddress;
+    private long[] largeBlocks;
+    private int largeBlockCount;
+    private boolean closed;
+
+    private NativeMemoryScope(Runtime runtime, Arena arena, NativeMemoryScope parent) {
+        this.runtime = runtime;
+        this.arena = arena;
+        this.parent = parent;
+        this.markSlab = arena.slabIndex;
+        this.markAddress = arena.address;
+    }
+
+    static NativeMemoryScope open(Runtime runtime) {
+        Arena arena = currentArena.get();
+        if (arena == null) {
+            currentArena.set(arena = new Arena());
+            referenceSet.put(new ArenaReference(arena), Boolean.TRUE);
+        }
+
+        return arena.scope = new NativeMemoryScope(runtime, arena, arena.scope);
+    }
+
+    /**
+     * Gets the innermost open scope of the current thread.
+     *
+     * @return the current scope, or {@code null} if there is no open scope.
+     */
+    static NativeMemoryScope current() {
+        Arena arena = currentArena.get();
+        return arena != null ? arena.scope : null;
+    }
+
+    @Override
+    public Runtime getRuntime() {
+        return runtime;
+    }
+
+    @Override
+    public Pointer allocate(long size, boolean clear) {
+        if (size < 0) {
+            throw new IllegalArgumentException("negative size: " + size);
+        }
+
+        checkInnermost();
+
+        long address = size > MAX_SLAB_ALLOCATION ? allocateLarge(size) : arena.allocate(size, 8);
+        if (clear) {
+            IO.setMemory(address, size, (byte) 0);
+        }
+
+        return new BoundedMemoryIO(new DirectMemoryIO(runtime, address), 0, size);
+    }
+
+    private long allocateLarge(long size) {
+        long address = IO.allocateMemory(size, false);
+        if (address == 0L) {
+            throw new OutOfMemoryError("Failed to allocate " + size + " bytes");
+        }
+
+        if (largeBlocks == null) {
+            largeBlocks = new long[4];
+
+        } else if (largeBlockCount == largeBlocks.length) {
+            long[] tmp = new long[largeBlocks.length * 2];
+            System.arraycopy(largeBlocks, 0, tmp, 0, largeBlockCount);
+            largeBlocks = tmp;
+        }
+        largeBlocks[largeBlockCount++] = address;
+
+        return address;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        checkInnermost();
+        closed = true;
+
+        for (int i = 0; i < largeBlockCount; i++) {
+            IO.freeMemory(largeBlocks[i]);
+        }
+        largeBlocks = null;
+        largeBlockCount = 0;
+
+        arena.rewind(markSlab, markAddress);
+        arena.scope = parent;
+        if (parent == null) {
+            arena.trim(RETAINED_SLABS);
+        }
+    }
+
+    private void checkInnermost() {
+        if (closed) {
+            throw new IllegalStateException("memory scope is closed");
+        }
+
+        if (currentArena.get() != arena) {
+            throw new IllegalStateException("memory scope belongs to another thread");
+        }
+
+        if (arena.scope != this) {
+            throw new IllegalStateException("memory scope is not the innermost open scope");
+        }
+    }
+
+    /**
+     * The per-thread set of slabs that scopes allocate from.
+     */
+    private static final class Arena {
+        private final Slabs slabs = new Slabs();
+        private int slabIndex = -1;
+        private long address;
+        private long end;
+        private NativeMemoryScope scope;
+
+        long allocate(long size, int align) {
+            long result = align(address, align);
+            // Before the first slab, address and end are both 0, which would fit a zero size allocation
+            if (result + size > end || slabIndex < 0) {
+                nextSlab();
+                result = align(address, align);
+            }
+
+            address = result + size;
+            return result;
+        }
+
+        private void nextSlab() {
+            if (++slabIndex == slabs.count) {
+                slabs.add(SLAB_SIZE);
+            }
+            address = slabs.addresses[slabIndex];
+            end = address + SLAB_SIZE;
+        }
+
+        void rewind(int slab, long position) {
+            slabIndex = slab;
+            address = position;
+            end = slab >= 0 ? slabs.addresses[slab] + SLAB_SIZE : 0L;
+        }
+
+        void trim(int retain) {
+            slabs.truncate(Math.max(retain, slabIndex + 1));
+        }
+
+        private static long align(long offset, long align) {
+            return (offset + align - 1L) & ~(align - 1L);
+        }
+    }
+
+    /**
+     * The native memory owned by an arena.  This is kept separate from the arena itself, so it can
+     * be freed once the arena (and the thread which owned it) has been garbage collected.
+     */
+    private static final class Slabs {
+        private long[] addresses = new long[4];
+        private int count;
+
+        synchronized void add(int size) {
+            long memory = IO.allocateMemory(size, false);
+            if (memory == 0L) {
+                throw new OutOfMemoryError("Failed to allocate " + size + " bytes");
+            }
+
+            if (count == addresses.length) {
+                long[] tmp = new long[addresses.length * 2];
+                System.arraycopy(addresses, 0, tmp, 0, count);
+                addresses = tmp;
+            }
+            addresses[count++] = memory;
+        }
+
+        synchronized void truncate(int newCount) {
+            while (count > newCount) {
+                IO.freeMemory(addresses[--count]);
+                addresses[count] = 0L;
+            }
+        }
+    }
+
+    private static final class ArenaReference extends FinalizablePhantomReference<Arena> {
+        private final Slabs slabs;
+
+        ArenaReference(Arena arena) {
+            super(arena, NativeFinalizer.getInstance().getFinalizerQueue());
+            this.slabs = arena.slabs;
+        }
+
+        public final void finalizeReferent() {
+            slabs.truncate(0);
+            referenceSet.remove(this);
+        }
+    }
+}
@@ -29,6 +29,8 @@ import jnr.ffi.mapper.SignatureTypeMapperAdapter;
 import jnr.ffi.provider.AbstractRuntime;
 import jnr.ffi.provider.BadType;
 import jnr.ffi.provider.DefaultObjectReferenceManager;
+import jnr.ffi.provider.InvocationMetrics;
+import jnr.ffi.provider.TierReport;
 
 import java.lang.reflect.Field;
 import java.nio.ByteOrder;
@@ -69,6 +71,22 @@ public final class NativeRuntime extends AbstractRuntime {
         } else return Collections.emptyList();
     }
 
+    /**
+     * See and use {@link Runtime#getInvocationMetrics(Object)} (which forwards here) instead of this directly
+     */
+    public static InvocationMetrics getInvocationMetrics(Object library) {
+        return library instanceof AbstractAsmLibraryInterface
+                ? ((AbstractAsmLibraryInterface) library).getInvocationMetrics() : null;
+    }
+
+    /**
+     * See and use {@link Runtime#getTierReport(Object)} (which forwards here) instead of this directly
+     */
+    public static TierReport getTierReport(Object library) {
+        return library instanceof AbstractAsmLibraryInterface
+                ? ((AbstractAsmLibraryInterface) library).getTierReport() : null;
+    }
+
     private static final class SingletonHolder {
         public static final NativeRuntime INSTANCE = new NativeRuntime();
     }
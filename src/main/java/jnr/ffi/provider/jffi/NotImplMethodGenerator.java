@@ -27,10 +27,20 @@ import jnr.ffi.provider.ResultType;
  *
  */
 class NotImplMethodGenerator implements MethodGenerator {
+    private final String reason;
+
+    NotImplMethodGenerator(String reason) {
+        this.reason = reason;
+    }
+
     public boolean isSupported(ResultType resultType, ParameterType[] parameterTypes, CallingConvention callingConvention) {
         return false;
     }
 
+    public String getUnsupportedReason(ResultType resultType, ParameterType[] parameterTypes, CallingConvention callingConvention) {
+        return reason;
+    }
+
     public void generate(AsmBuilder builder, String functionName, Function function, ResultType resultType, ParameterType[] parameterTypes, boolean ignoreError) {
         throw new UnsupportedOperationException("not supported");
     }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import jnr.ffi.Runtime;
+import jnr.ffi.util.ref.FinalizablePhantomReference;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A block of native memory borrowed from the {@link NativeMemoryPool}.
+ */
+final class PooledDirectMemoryIO extends DirectMemoryIO {
+    private final long size;
+    private final Block block;
+
+    PooledDirectMemoryIO(Runtime runtime, NativeMemoryPool pool, long address, long size, int sizeClass) {
+        super(runtime, address);
+        this.size = size;
+        this.block = new Block(this, pool, address, sizeClass);
+    }
+
+    @Override
+    public long size() {
+        return this.size;
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof PooledDirectMemoryIO) {
+            PooledDirectMemoryIO mem = (PooledDirectMemoryIO) obj;
+            return mem.size == size && mem.address() == address();
+        }
+
+        return super.equals(obj);
+    }
+
+    @Override
+    public void close() {
+        block.release();
+    }
+
+    /**
+     * Returns the block to the pool when the memory is closed, or when it is garbage collected without being closed.
+     */
+    private static final class Block extends FinalizablePhantomReference<PooledDirectMemoryIO> {
+        /** Keeps strong references to the blocks until they are released */
+        @SuppressWarnings("MismatchedQueryAndUpdateOfCollection")
+        private static final Map<Block, Boolean> referenceSet = new ConcurrentHashMap<Block, Boolean>();
+
+        private final AtomicBoolean allocated = new AtomicBoolean(true);
+        private final NativeMemoryPool pool;
+        private final long address;
+        private final int sizeClass;
+
+        Block(PooledDirectMemoryIO memory, NativeMemoryPool pool, long address, int sizeClass) {
+            super(memory, NativeFinalizer.getInstance().getFinalizerQueue());
+            this.pool = pool;
+            this.address = address;
+            this.sizeClass = sizeClass;
+            referenceSet.put(this, Boolean.TRUE);
+        }
+
+        void release() {
+            if (allocated.getAndSet(false)) {
+                clear();
+                referenceSet.remove(this);
+                pool.release(address, sizeClass);
+            }
+        }
+
+        public final void finalizeReferent() {
+            if (allocated.getAndSet(false)) {
+                referenceSet.remove(this);
+                pool.releaseCollected(address, sizeClass);
+            }
+        }
+    }
+}
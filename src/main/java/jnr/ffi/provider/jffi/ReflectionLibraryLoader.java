@@ -22,7 +22,6 @@ import jnr.ffi.CallingConvention;
 import jnr.ffi.LibraryOption;
 import jnr.ffi.Runtime;
 import jnr.ffi.Variable;
-import jnr.ffi.annotations.Synchronized;
 import jnr.ffi.mapper.CompositeTypeMapper;
 import jnr.ffi.mapper.FunctionMapper;
 import jnr.ffi.mapper.SignatureTypeMapper;
@@ -41,6 +40,8 @@ import java.util.AbstractMap;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static jnr.ffi.provider.jffi.InvokerUtil.getCallingConvention;
 import static jnr.ffi.util.Annotations.sortedAnnotationCollection;
@@ -49,10 +50,22 @@ import static jnr.ffi.util.Annotations.sortedAnnotationCollection;
  *
  */
 class ReflectionLibraryLoader extends LibraryLoader {
+    /** hashCode, equals and toString are also dispatched to the invocation handler */
+    private static final int OBJECT_METHOD_COUNT = 3;
+
+    private final ArrayPinning arrayPinning;
+
+    ReflectionLibraryLoader() {
+        this(ArrayPinning.DEFAULT);
+    }
+
+    ReflectionLibraryLoader(ArrayPinning arrayPinning) {
+        this.arrayPinning = arrayPinning;
+    }
 
     @Override
     <T> T loadLibrary(NativeLibrary library, Class<T> interfaceClass, Map<LibraryOption, ?> libraryOptions, boolean failImmediately) {
-        Map<Method, Invoker> invokers = new LazyLoader<T>(library, interfaceClass, libraryOptions);
+        Map<Method, Invoker> invokers = new LazyLoader<T>(library, interfaceClass, libraryOptions, arrayPinning);
 
         if (failImmediately) {
             SignatureTypeMapper typeMapper = getSignatureTypeMapper(libraryOptions);
@@ -71,7 +84,8 @@ class ReflectionLibraryLoader extends LibraryLoader {
         }
 
         return interfaceClass.cast(Proxy.newProxyInstance(interfaceClass.getClassLoader(),
-                new Class[]{ interfaceClass, LoadedLibrary.class }, new NativeInvocationHandler(invokers)));
+                new Class[]{ interfaceClass, LoadedLibrary.class },
+                new NativeInvocationHandler(invokers, interfaceClass.getMethods().length + OBJECT_METHOD_COUNT)));
     }
 
     private static final class FunctionNotFoundInvoker implements Invoker {
@@ -110,7 +124,7 @@ class ReflectionLibraryLoader extends LibraryLoader {
         private final FunctionMapper functionMapper;
         private final jnr.ffi.CallingConvention libraryCallingConvention;
 
-        private final boolean libraryIsSynchronized;
+        private final ConcurrentMap<Method, Invoker> invokers = new ConcurrentHashMap<Method, Invoker>();
 
         private final NativeLibrary library;
         @SuppressWarnings("unused")
@@ -118,7 +132,8 @@ class ReflectionLibraryLoader extends LibraryLoader {
         @SuppressWarnings("unused")
         private final Map<LibraryOption, ?> libraryOptions;
 
-        private LazyLoader(NativeLibrary library, Class<T> interfaceClass, Map<LibraryOption, ?> libraryOptions) {
+        private LazyLoader(NativeLibrary library, Class<T> interfaceClass, Map<LibraryOption, ?> libraryOptions,
+                           ArrayPinning arrayPinning) {
             this.library = library;
             this.interfaceClass = interfaceClass;
             this.libraryOptions = libraryOptions;
@@ -132,8 +147,7 @@ class ReflectionLibraryLoader extends LibraryLoader {
             this.typeMapper = newCompositeTypeMapper(runtime, classLoader, typeMapper, closureTypeMapper);
 
             libraryCallingConvention = getCallingConvention(interfaceClass, libraryOptions);
-            libraryIsSynchronized = interfaceClass.isAnnotationPresent(Synchronized.class);
-            invokerFactory = new DefaultInvokerFactory(runtime, library, this.typeMapper, functionMapper, libraryCallingConvention, libraryOptions, libraryIsSynchronized);
+            invokerFactory = new DefaultInvokerFactory(runtime, library, this.typeMapper, functionMapper, libraryCallingConvention, libraryOptions, new LibraryLocks(interfaceClass), arrayPinning);
         }
 
         @Override
@@ -142,13 +156,19 @@ class ReflectionLibraryLoader extends LibraryLoader {
         }
 
         @Override
-        public synchronized Invoker get(Object key) {
+        public Invoker get(Object key) {
 
             if (!(key instanceof Method)) {
                 throw new IllegalArgumentException("key not instance of Method");
             }
 
+            // Each method is bound once; binding different methods from several threads does not serialize
             Method method = (Method) key;
+            Invoker invoker = invokers.get(method);
+            return invoker != null ? invoker : invokers.computeIfAbsent(method, this::createInvoker);
+        }
+
+        private Invoker createInvoker(Method method) {
             if (Variable.class.isAssignableFrom(method.getReturnType())) {
                 return getVariableAccessor(method);
 
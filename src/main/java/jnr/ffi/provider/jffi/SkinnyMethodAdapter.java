@@ -21,6 +21,7 @@ package jnr.ffi.provider.jffi;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.Attribute;
 import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Handle;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
@@ -278,6 +279,10 @@ public class SkinnyMethodAdapter extends MethodVisitor implements Opcodes {
         getMethodVisitor().visitMethodInsn(INVOKEDYNAMIC, arg1, arg2, arg3);
     }
 
+    public void invokedynamic(String name, String descriptor, Handle bootstrapMethod, Object... bootstrapArguments) {
+        getMethodVisitor().visitInvokeDynamicInsn(name, descriptor, bootstrapMethod, bootstrapArguments);
+    }
+
     public void aprintln() {
         dup();
         getstatic(p(System.class), "out", ci(PrintStream.class));
@@ -0,0 +1,314 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+
+import java.io.PrintWriter;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jnr.ffi.NativeType;
+import jnr.ffi.Pointer;
+import jnr.ffi.Struct;
+
+import static jnr.ffi.provider.jffi.AsmUtil.emitReturnOp;
+import static jnr.ffi.provider.jffi.AsmUtil.getParameterVariables;
+import static jnr.ffi.provider.jffi.AsmUtil.load;
+import static jnr.ffi.provider.jffi.CodegenUtils.ci;
+import static jnr.ffi.provider.jffi.CodegenUtils.p;
+import static jnr.ffi.provider.jffi.CodegenUtils.sig;
+import static jnr.ffi.provider.jffi.NumberUtil.convertPrimitive;
+import static jnr.ffi.provider.jffi.NumberUtil.sizeof;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+/**
+ * Generates flyweight accessors that read and write {@link Struct} fields at constant offsets.
+ * <p>
+ * The layout of a struct class is computed once, by instantiating it and recording the offset and native type
+ * of each {@link Struct.NumberField}.  The generated class has no state of its own - every accessor method takes
+ * the struct memory, either as a {@link Pointer} or as a raw {@code long} address, as its first parameter.
+ */
+public final class StructAccessorGenerator {
+    private static final AtomicLong nextClassID = new AtomicLong(0);
+
+    /** Generated accessors, keyed by accessor interface and then by struct class */
+    private static final ClassValue<ConcurrentMap<Class, Object>> accessors = new ClassValue<ConcurrentMap<Class, Object>>() {
+        @Override
+        protected ConcurrentMap<Class, Object> computeValue(Class<?> accessorInterface) {
+            return new ConcurrentHashMap<Class, Object>();
+        }
+    };
+
+    private StructAccessorGenerator() {
+    }
+
+    public static <T> T getAccessor(jnr.ffi.Runtime runtime, Class<? extends Struct> structClass, Class<T> accessorInterface) {
+        ConcurrentMap<Class, Object> map = accessors.get(accessorInterface);
+        Object accessor = map.get(structClass);
+        if (accessor == null) {
+            Object existing = map.putIfAbsent(structClass, accessor = newAccessor(runtime, structClass, accessorInterface));
+            accessor = existing != null ? existing : accessor;
+        }
+
+        return accessorInterface.cast(accessor);
+    }
+
+    private static Object newAccessor(jnr.ffi.Runtime runtime, Class<? extends Struct> structClass, Class accessorInterface) {
+        if (!NativeLibraryLoader.ASM_ENABLED) {
+            throw new UnsupportedOperationException("asm bytecode generation not supported");
+        }
+
+        if (!accessorInterface.isInterface() || !Modifier.isPublic(accessorInterface.getModifiers())) {
+            throw new IllegalArgumentException("struct accessor must be a public interface: " + accessorInterface.getName());
+        }
+
+        Map<String, Struct.NumberField> fields = getFields(runtime, structClass);
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        ClassVisitor cv = AsmLibraryLoader.DEBUG ? AsmUtil.newCheckClassAdapter(cw) : cw;
+
+        final String className = p(accessorInterface) + "$StructAccessor$$" + nextClassID.getAndIncrement();
+        cv.visit(V1_8, ACC_PUBLIC | ACC_FINAL, className, null, p(Object.class), new String[]{p(accessorInterface)});
+
+        SkinnyMethodAdapter init = new SkinnyMethodAdapter(cv, ACC_PUBLIC, "<init>", sig(void.class), null, null);
+        init.start();
+        init.aload(0);
+        init.invokespecial(p(Object.class), "<init>", sig(void.class));
+        init.voidreturn();
+        init.visitMaxs(10, 10);
+        init.visitEnd();
+
+        for (Method m : accessorInterface.getMethods()) {
+            if (m.isDefault() || Modifier.isStatic(m.getModifiers())) {
+                continue;
+            }
+
+            Struct.NumberField field = fields.get(m.getName());
+            if (field == null) {
+                throw new IllegalArgumentException("no numeric field named " + m.getName() + " in " + structClass.getName());
+            }
+
+            generateAccessorMethod(cv, m, field.offset(), field.getNativeType());
+        }
+
+        cv.visitEnd();
+
+        try {
+            byte[] bytes = cw.toByteArray();
+            if (AsmLibraryLoader.DEBUG) {
+                ClassVisitor trace = AsmUtil.newTraceClassVisitor(new PrintWriter(System.err));
+                new ClassReader(bytes).accept(trace, 0);
+            }
+
+            AsmClassLoader classLoader = new AsmClassLoader(accessorInterface.getClassLoader());
+            return classLoader.defineClass(className.replace("/", "."), bytes).getConstructor().newInstance();
+        } catch (Throwable ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * Instantiates {@code structClass} and collects its numeric fields by name.
+     */
+    private static Map<String, Struct.NumberField> getFields(jnr.ffi.Runtime runtime, Class<? extends Struct> structClass) {
+        Struct struct;
+        try {
+            Constructor<? extends Struct> constructor = structClass.getDeclaredConstructor(jnr.ffi.Runtime.class);
+            constructor.setAccessible(true);
+            struct = constructor.newInstance(runtime);
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalArgumentException("struct class has no (Runtime) constructor: " + structClass.getName());
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+
+        Map<String, Struct.NumberField> fields = new HashMap<String, Struct.NumberField>();
+        for (Class c = structClass; c != Struct.class; c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                if (Modifier.isStatic(f.getModifiers()) || !Struct.NumberField.class.isAssignableFrom(f.getType())
+                        || fields.containsKey(f.getName())) {
+                    continue;
+                }
+
+                try {
+                    f.setAccessible(true);
+                    Struct.NumberField field = (Struct.NumberField) f.get(struct);
+                    // Only direct members have a constant offset; skip fields of inner structs
+                    if (field != null && field.struct() == struct) {
+                        fields.put(f.getName(), field);
+                    }
+                } catch (IllegalAccessException ex) {
+                    throw new RuntimeException(ex);
+                }
+            }
+        }
+
+        return fields;
+    }
+
+    private static void generateAccessorMethod(ClassVisitor cv, Method m, long offset, NativeType nativeType) {
+        Class[] parameterTypes = m.getParameterTypes();
+        Class returnType = m.getReturnType();
+        boolean isSetter = parameterTypes.length == 2 && void.class == returnType;
+        Class javaType = isSetter ? parameterTypes[1] : returnType;
+
+        if ((parameterTypes.length != 1 && !isSetter) || (Pointer.class != parameterTypes[0] && long.class != parameterTypes[0])) {
+            throw new IllegalArgumentException("struct accessor methods must be T name(Pointer|long) or void name(Pointer|long, T): " + m);
+        }
+        boolean isAddress = long.class == parameterTypes[0];
+
+        MemoryOp op;
+        if (Pointer.class == javaType && NativeType.ADDRESS == nativeType && !isAddress) {
+            op = new MemoryOp(Pointer.class, "Pointer", Pointer.class);
+
+        } else if (!isSupportedType(javaType, nativeType)) {
+            throw new IllegalArgumentException("cannot access " + nativeType + " field as " + javaType.getName() + ": " + m);
+
+        } else {
+            op = isAddress ? MemoryOp.address(nativeType) : MemoryOp.pointer(nativeType);
+        }
+
+        SkinnyMethodAdapter mv = new SkinnyMethodAdapter(cv, ACC_PUBLIC | ACC_FINAL, m.getName(),
+                sig(returnType, parameterTypes), null, null);
+        mv.start();
+        LocalVariable[] parameters = getParameterVariables(parameterTypes);
+
+        if (isAddress) {
+            mv.getstatic(p(AsmRuntime.class), "IO", ci(com.kenai.jffi.MemoryIO.class));
+            mv.lload(parameters[0]);
+            mv.ldc(offset);
+            mv.ladd();
+        } else {
+            mv.aload(parameters[0]);
+            mv.ldc(offset);
+        }
+
+        if (isSetter) {
+            load(mv, javaType, parameters[1]);
+            emitConversion(mv, javaType, op.nativeClass, null);
+            mv.invokevirtual(op.owner, "put" + op.name, void.class, long.class, op.nativeClass);
+        } else {
+            mv.invokevirtual(op.owner, "get" + op.name, op.nativeClass, long.class);
+            emitConversion(mv, op.nativeClass, javaType, nativeType);
+        }
+
+        emitReturnOp(mv, returnType);
+        mv.visitMaxs(10, 10);
+        mv.visitEnd();
+    }
+
+    private static boolean isSupportedType(Class javaType, NativeType nativeType) {
+        switch (nativeType) {
+            case FLOAT:
+            case DOUBLE:
+                return float.class == javaType || double.class == javaType;
+
+            default:
+                return byte.class == javaType || short.class == javaType || int.class == javaType
+                        || long.class == javaType || boolean.class == javaType;
+        }
+    }
+
+    /**
+     * Converts between the java type of an accessor method and the type the memory operation uses.
+     * When reading, {@code nativeType} is used to zero-extend unsigned values.
+     */
+    private static void emitConversion(SkinnyMethodAdapter mv, Class from, Class to, NativeType nativeType) {
+        if (float.class == from && double.class == to) {
+            mv.f2d();
+
+        } else if (double.class == from && float.class == to) {
+            mv.d2f();
+
+        } else if (from.isPrimitive() && from != to && float.class != to && double.class != to) {
+            if (nativeType != null) {
+                convertPrimitive(mv, from, to, nativeType);
+            } else {
+                convertPrimitive(mv, from, to);
+            }
+        }
+    }
+
+    /**
+     * A get/put method pair on either {@link Pointer} or {@link com.kenai.jffi.MemoryIO}.
+     */
+    private static final class MemoryOp {
+        final Class owner;
+        final String name;
+        final Class nativeClass;
+
+        MemoryOp(Class owner, String name, Class nativeClass) {
+            this.owner = owner;
+            this.name = name;
+            this.nativeClass = nativeClass;
+        }
+
+        static MemoryOp pointer(NativeType nativeType) {
+            switch (nativeType) {
+                case SLONG:
+                case ULONG:
+                    return new MemoryOp(Pointer.class, "NativeLong", long.class);
+                case ADDRESS:
+                    return new MemoryOp(Pointer.class, "Address", long.class);
+                default:
+                    return sized(Pointer.class, nativeType, "LongLong");
+            }
+        }
+
+        static MemoryOp address(NativeType nativeType) {
+            return NativeType.ADDRESS == nativeType
+                    ? new MemoryOp(com.kenai.jffi.MemoryIO.class, "Address", long.class)
+                    : sized(com.kenai.jffi.MemoryIO.class, nativeType, "Long");
+        }
+
+        private static MemoryOp sized(Class owner, NativeType nativeType, String int64Name) {
+            switch (nativeType) {
+                case FLOAT:
+                    return new MemoryOp(owner, "Float", float.class);
+                case DOUBLE:
+                    return new MemoryOp(owner, "Double", double.class);
+            }
+
+            switch (sizeof(nativeType)) {
+                case 1:
+                    return new MemoryOp(owner, "Byte", byte.class);
+                case 2:
+                    return new MemoryOp(owner, "Short", short.class);
+                case 4:
+                    return new MemoryOp(owner, "Int", int.class);
+                case 8:
+                    return new MemoryOp(owner, int64Name, long.class);
+                default:
+                    throw new IllegalArgumentException("unsupported struct field type: " + nativeType);
+            }
+        }
+    }
+}
@@ -69,6 +69,10 @@ abstract class StubCompiler {
     abstract void compile(Function function, String name, ResultType returnType, ParameterType[] parameterTypes,
                           Class resultClass, Class[] parameterClasses, CallingConvention convention, boolean saveErrno);
 
+    /**
+     * Registers the stubs compiled since the last call as the native methods of a class.  The stubs of one call
+     * share the same executable pages.
+     */
     abstract void attach(Class clazz);
 
     static final class DummyStubCompiler extends StubCompiler {
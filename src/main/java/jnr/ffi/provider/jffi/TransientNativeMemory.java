@@ -37,6 +37,8 @@ public class TransientNativeMemory extends DirectMemoryIO {
 
     private static final ThreadLocal<Magazine> currentMagazine = new ThreadLocal<Magazine>();
     private static final int PAGES_PER_MAGAZINE = 2;
+    /** Only use the transient allocator for small, short lived allocations */
+    static final int MAX_TRANSIENT_SIZE = 256;
 
     private final Sentinel sentinel;
     private final long size;
@@ -50,7 +52,7 @@ public class TransientNativeMemory extends DirectMemoryIO {
             throw new IllegalArgumentException("negative size: " + size);
         }
 
-        if (size > 256) { /* Only use the transient allocator for small, short lived allocations */
+        if (size > MAX_TRANSIENT_SIZE) {
             return new AllocatedDirectMemoryIO(runtime, size, clear);
         }
 
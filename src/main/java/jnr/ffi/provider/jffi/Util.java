@@ -28,4 +28,22 @@ final class Util {
             return defaultValue;
         }
     }
+
+    static String getStringProperty(String propertyName, String defaultValue) {
+        try {
+            return System.getProperty(propertyName, defaultValue);
+        } catch (SecurityException se) {
+            return defaultValue;
+        }
+    }
+
+    static int getIntegerProperty(String propertyName, int defaultValue) {
+        try {
+            return Integer.parseInt(System.getProperty(propertyName, Integer.toString(defaultValue)));
+        } catch (SecurityException se) {
+            return defaultValue;
+        } catch (NumberFormatException nfe) {
+            return defaultValue;
+        }
+    }
 }
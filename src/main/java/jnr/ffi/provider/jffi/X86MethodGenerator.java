@@ -20,7 +20,6 @@ package jnr.ffi.provider.jffi;
 
 import com.kenai.jffi.CallContext;
 import com.kenai.jffi.Function;
-import com.kenai.jffi.ObjectParameterInfo;
 import com.kenai.jffi.Platform;
 import jnr.ffi.CallingConvention;
 import jnr.ffi.NativeType;
@@ -55,6 +54,7 @@ import static org.objectweb.asm.Opcodes.ACC_STATIC;
  */
 class X86MethodGenerator implements MethodGenerator {
     private static final boolean ENABLED = getBooleanProperty("jnr.ffi.x86asm.enabled", true);
+    private static final int MAX_OBJECT_PARAMETERS = 6;
     private final AtomicLong nextMethodID = new AtomicLong(0);
     private final StubCompiler compiler;
 
@@ -63,28 +63,32 @@ class X86MethodGenerator implements MethodGenerator {
     }
 
     public boolean isSupported(ResultType resultType, ParameterType[] parameterTypes, CallingConvention callingConvention) {
+        return getUnsupportedReason(resultType, parameterTypes, callingConvention) == null;
+    }
+
+    public String getUnsupportedReason(ResultType resultType, ParameterType[] parameterTypes, CallingConvention callingConvention) {
         if (!ENABLED) {
-            return false;
+            return "disabled by jnr.ffi.x86asm.enabled";
         }
 
         final Platform platform = Platform.getPlatform();
 
         if (platform.getOS().equals(Platform.OS.WINDOWS)) {
-            return false;
+            return "not supported on Windows";
         }
 
         if (!platform.getCPU().equals(Platform.CPU.I386) && !platform.getCPU().equals(Platform.CPU.X86_64) && !platform.getCPU().equals(Platform.CPU.AARCH64)) {
-            return false;
+            return "not supported on " + platform.getCPU();
         }
 
         if (!callingConvention.equals(CallingConvention.DEFAULT)) {
-            return false;
+            return "calling convention " + callingConvention + " is not supported";
         }
 
         int objectCount = 0;
         for (int i = 0; i < parameterTypes.length; ++i) {
             if (!isSupportedParameter(parameterTypes[i])) {
-                return false;
+                return "parameter " + (i + 1) + " is " + InvokerUtil.describe(parameterTypes[i]);
             }
 
             if (isSupportedObjectParameterType(parameterTypes[i])) {
@@ -92,14 +96,18 @@ class X86MethodGenerator implements MethodGenerator {
             }
         }
 
-        if (objectCount > 0) {
-            if (parameterTypes.length > 4 || objectCount > 3) {
-                return false;
-            }
+        // Calls with heap objects fall back to jffi's invokeN methods, which take up to 6 parameters, all of
+        // which may be objects
+        if (objectCount > 0 && parameterTypes.length > MAX_OBJECT_PARAMETERS) {
+            return "more than " + MAX_OBJECT_PARAMETERS + " parameters with a pointer or array parameter";
         }
 
-        return isSupportedResult(resultType)
-                && compiler.canCompile(resultType, parameterTypes, callingConvention);
+        if (!isSupportedResult(resultType)) {
+            return "result is " + InvokerUtil.describe(resultType);
+        }
+
+        return compiler.canCompile(resultType, parameterTypes, callingConvention)
+                ? null : "the stub compiler cannot compile the signature";
     }
 
     public void generate(AsmBuilder builder, String functionName, Function function,
@@ -125,6 +133,9 @@ class X86MethodGenerator implements MethodGenerator {
             nativeReturnType = getNativeClass(resultType.getNativeType());
         }
 
+        // Metrics are recorded by the wrapper
+        wrapperNeeded |= builder.getMetricsEmitter().isEnabled();
+
         String stubName = functionName + (wrapperNeeded ? "$jni$" + nextMethodID.incrementAndGet() : "");
 
         builder.getClassVisitor().visitMethod(ACC_PUBLIC | ACC_FINAL | ACC_NATIVE | (wrapperNeeded ? ACC_STATIC : 0),
@@ -156,6 +167,7 @@ class X86MethodGenerator implements MethodGenerator {
 
 
         LocalVariableAllocator localVariableAllocator = new LocalVariableAllocator(parameterTypes);
+        builder.getMetricsEmitter().emitStart(mv, localVariableAllocator);
         final LocalVariable objCount = localVariableAllocator.allocate(int.class);
         final LocalVariable[] parameters = AsmUtil.getParameterVariables(parameterTypes);
         final LocalVariable[] converted = new LocalVariable[parameterTypes.length];
@@ -188,7 +200,9 @@ class X86MethodGenerator implements MethodGenerator {
         }
 
         // invoke the compiled stub
+        builder.getMetricsEmitter().emitNativeStart(mv);
         mv.invokestatic(builder.getClassNamePath(), nativeMethodName, sig(nativeReturnType, nativeParameterTypes));
+        builder.getMetricsEmitter().emitNativeEnd(mv);
 
         // If boxing is neccessary, perform conversions
         final Class unboxedResultType = unboxedReturnType(resultType.effectiveJavaType());
@@ -247,19 +261,15 @@ class X86MethodGenerator implements MethodGenerator {
 
                     mv.aload(converted[i]);
                     mv.aload(strategies[i]);
-
-                    ObjectParameterInfo info = ObjectParameterInfo.create(i,
-                            AsmUtil.getNativeArrayFlags(parameterTypes[i].annotations()));
-
-                    mv.aload(0);
-                    mv.getfield(builder.getClassNamePath(), builder.getObjectParameterInfoName(info),
-                            ci(ObjectParameterInfo.class));
+                    AsmUtil.emitObjectParameterInfo(builder, mv, parameterTypes[i], i, converted[i]);
                 }
             }
 
+            builder.getMetricsEmitter().emitNativeStart(mv);
             mv.invokevirtual(p(com.kenai.jffi.Invoker.class),
                     AbstractFastNumericMethodGenerator.getObjectParameterMethodName(parameterTypes.length),
                     AbstractFastNumericMethodGenerator.getObjectParameterMethodSignature(parameterTypes.length, pointerCount));
+            builder.getMetricsEmitter().emitNativeEnd(mv);
 
             // Convert the result from long/int to the correct return type
             if (float.class == nativeReturnType) {
@@ -288,7 +298,10 @@ class X86MethodGenerator implements MethodGenerator {
 
 
     private static boolean isSupportedObjectParameterType(ParameterType type) {
-        return Pointer.class.isAssignableFrom(type.effectiveJavaType());
+        Class javaType = type.effectiveJavaType();
+        return Pointer.class.isAssignableFrom(javaType)
+                // Arrays are passed through the heap object path, like non-direct pointers
+                || (javaType.isArray() && javaType.getComponentType().isPrimitive() && hasPointerParameterStrategy(javaType));
     }
 
 
@@ -20,6 +20,7 @@ package jnr.ffi.provider.jffi;
 
 import com.kenai.jffi.Function;
 import jnr.ffi.CallingConvention;
+import jnr.ffi.NativeType;
 import jnr.ffi.provider.ParameterType;
 import jnr.ffi.provider.ResultType;
 import jnr.x86asm.Assembler;
@@ -151,8 +152,9 @@ final class X86_64StubCompiler extends AbstractX86StubCompiler {
         // So we need to shuffle all the integer args up to over-write the
         // env and self arguments
         //
+        NativeType[] intTypes = intTypes(parameterTypes);
         for (int i = 0; i < Math.min(iCount, 4); i++) {
-            switch (parameterTypes[i].getNativeType()) {
+            switch (intTypes[i]) {
                 case SCHAR:
                     a.movsx(dstRegisters64[i], srcRegisters8[i]);
                     break;
@@ -188,10 +190,10 @@ final class X86_64StubCompiler extends AbstractX86StubCompiler {
             throw new IllegalArgumentException("integer argument count > 6");
         }
 
-        // For args 5 & 6 of the function, they would have been pushed on the stack
+        // For args 5 & 6 of the function, they would have been pushed on the stack above the return address
         for (int i = 4; i < iCount; i++) {
-            int disp = 8 + ((4 - i) * 8);
-            switch (parameterTypes[i].getNativeType()) {
+            int disp = 8 + ((i - 4) * 8);
+            switch (intTypes[i]) {
                 case SCHAR:
                     a.movsx(dstRegisters64[i], byte_ptr(rsp, disp));
                     break;
@@ -365,6 +367,21 @@ final class X86_64StubCompiler extends AbstractX86StubCompiler {
         return fCount;
     }
 
+    /**
+     * Gets the native types of the integer parameters, in the order they are passed in the integer registers.
+     */
+    static NativeType[] intTypes(ParameterType[] parameterTypes) {
+        NativeType[] intTypes = new NativeType[iCount(parameterTypes)];
+        int i = 0;
+        for (ParameterType t : parameterTypes) {
+            if (t.getNativeType() != NativeType.FLOAT && t.getNativeType() != NativeType.DOUBLE) {
+                intTypes[i++] = t.getNativeType();
+            }
+        }
+
+        return intTypes;
+    }
+
     static int iCount(ParameterType[] parameterTypes) {
         int iCount = 0;
 
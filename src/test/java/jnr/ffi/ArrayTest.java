@@ -106,6 +106,11 @@ public class ArrayTest {
         void ptr_set_double(@Pinned double[] p, int offset, double value);
     }
 
+    public static interface TestLibPinnedIn {
+        void ptr_set_int8_t(@Pinned @In byte[] p, int offset, byte value);
+        void ptr_set_int32_t(@Pinned @In int[] p, int offset, int value);
+    }
+
     static TestLib testlib;
     public ArrayTest() {
     }
@@ -271,6 +276,20 @@ public class ArrayTest {
         assertEquals(MAGIC2, ref[0], "int reference not copied from native memory");
     }
 
+    @Test
+    public void pinnedArrayIsNotCopied() {
+        TestLibPinnedIn lib = TstUtil.loadTestLib(TestLibPinnedIn.class);
+
+        // @In arrays are not copied back, so the value is only seen if native code wrote to the java array
+        byte[] bytes = new byte[1024 * 1024];
+        lib.ptr_set_int8_t(bytes, bytes.length - 1, (byte) 0xca);
+        assertEquals((byte) 0xca, bytes[bytes.length - 1], "pinned byte array was copied");
+
+        int[] ints = new int[16];
+        lib.ptr_set_int32_t(ints, 4 * 15, 0xabcd1234);
+        assertEquals(0xabcd1234, ints[15], "pinned int array was copied");
+    }
+
     @Test
     public void pinnedByteReadingFaster() {
         TestLibInOnly lib = TstUtil.loadTestLib(TestLibInOnly.class);
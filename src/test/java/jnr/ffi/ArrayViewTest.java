@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ArrayViewTest {
+    static Runtime runtime;
+
+    @BeforeAll
+    public static void setUpClass() {
+        runtime = Runtime.getSystemRuntime();
+    }
+
+    @Test
+    public void intArrayReadsAndWritesMemory() {
+        Pointer p = Memory.allocateDirect(runtime, 24);
+        IntArray ints = p.asIntArray(4, 5);
+        assertEquals(5, ints.length());
+
+        for (int i = 0; i < ints.length(); i++) {
+            ints.set(i, i * 10);
+        }
+        assertEquals(0, p.getInt(4));
+        assertEquals(40, p.getInt(20));
+        assertEquals(30, ints.get(3));
+        assertArrayEquals(new int[] { 0, 10, 20, 30, 40 }, ints.toArray());
+        assertEquals(p.address() + 4, ints.getPointer().address());
+        assertEquals(20, ints.getPointer().size());
+    }
+
+    @Test
+    public void boundsAreChecked() {
+        Pointer p = Memory.allocateDirect(runtime, 16);
+        assertThrows(IndexOutOfBoundsException.class, () -> p.asIntArray(0, 5));
+        assertThrows(IndexOutOfBoundsException.class, () -> p.asLongArray(8, 2));
+        assertThrows(IllegalArgumentException.class, () -> p.asDoubleArray(0, -1));
+
+        IntArray ints = p.asIntArray(0, 4);
+        assertThrows(IndexOutOfBoundsException.class, () -> ints.get(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> ints.set(-1, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> ints.get(2, new int[4], 0, 3));
+    }
+
+    @Test
+    public void bulkOperations() {
+        Pointer p = Memory.allocateDirect(runtime, 64);
+        LongArray longs = p.asLongArray(0, 8);
+        longs.fill(7L);
+        assertEquals(56L, longs.reduce(0L, Long::sum));
+
+        longs.fill(0L);
+        longs.put(2, new long[] { 1, 2, 3 }, 0, 3);
+        final long[] sum = { 0 };
+        longs.forEach(value -> sum[0] += value);
+        assertEquals(6L, sum[0]);
+
+        long[] dst = new long[3];
+        longs.get(2, dst, 0, 3);
+        assertArrayEquals(new long[] { 1, 2, 3 }, dst);
+
+        // Overlapping copies behave like memmove
+        p.asLongArray(16, 3).copyTo(p.asLongArray(24, 3));
+        assertArrayEquals(new long[] { 0, 0, 1, 1, 2, 3, 0, 0 }, longs.toArray());
+        p.asLongArray(24, 3).copyTo(p.asLongArray(16, 3));
+        assertArrayEquals(new long[] { 0, 0, 1, 2, 3, 3, 0, 0 }, longs.toArray());
+    }
+
+    @Test
+    public void doubleArray() {
+        Pointer p = Memory.allocateDirect(runtime, 32);
+        DoubleArray doubles = p.asDoubleArray(0, 4);
+        doubles.fill(1.5);
+        doubles.set(3, -2);
+        assertEquals(2.5, doubles.reduce(0, Double::sum));
+        doubles.fill(0.0);
+        assertArrayEquals(new double[4], doubles.toArray());
+    }
+
+    @Test
+    public void heapMemory() {
+        Pointer p = Memory.allocate(runtime, 16);
+        IntArray ints = p.asIntArray(4, 3);
+        ints.fill(5);
+        ints.set(1, 6);
+        assertEquals(0, p.getInt(0));
+        assertEquals(6, p.getInt(8));
+        assertEquals(16, ints.reduce(0, Integer::sum));
+    }
+
+    @Test
+    public void overlappingIntCopies() {
+        Pointer p = Memory.allocateDirect(runtime, 24);
+        IntArray ints = p.asIntArray(0, 6);
+        ints.put(0, new int[] { 1, 2, 3, 4, 5, 6 }, 0, 6);
+        p.asIntArray(0, 4).copyTo(p.asIntArray(8, 4));
+        assertArrayEquals(new int[] { 1, 2, 1, 2, 3, 4 }, ints.toArray());
+        p.asIntArray(4, 5).copyTo(p.asIntArray(0, 5));
+        assertArrayEquals(new int[] { 2, 1, 2, 3, 4, 4 }, ints.toArray());
+    }
+}
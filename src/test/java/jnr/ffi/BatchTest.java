@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi;
+
+import jnr.ffi.annotations.Batch;
+import jnr.ffi.provider.TierReport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BatchTest {
+
+    public static interface TestLib {
+        @Batch byte[] add_int8_t(byte[] i1, byte[] i2);
+        @Batch short[] add_int16_t(short[] i1, short[] i2);
+        @Batch int[] add_int32_t(int[] i1, int[] i2);
+        @Batch long[] add_int64_t(long[] i1, long[] i2);
+        @Batch float[] add_float(float[] f1, float[] f2);
+        @Batch double[] add_double(double[] d1, double[] d2);
+        @Batch long[] weightedIIIIII(int[] i1, int[] i2, int[] i3, int[] i4, int[] i5, int[] i6);
+        @Batch double[] weightedPDPIFP(long[] p1, double[] d, long[] p2, int[] i, float[] f, long[] p3);
+        @Batch void ptr_set_array_element(long[] ptrArray, int[] arrayIndex, long[] value);
+    }
+
+    static TestLib testlib;
+    static Runtime runtime;
+
+    @BeforeAll
+    public static void setUpClass() {
+        testlib = TstUtil.loadTestLib(TestLib.class,
+                Collections.singletonMap(LibraryOption.TierReport, Boolean.TRUE));
+        runtime = Runtime.getRuntime(testlib);
+    }
+
+    @Test
+    public void integers() {
+        assertArrayEquals(new byte[] { 3, -1, (byte) 0x80 },
+                testlib.add_int8_t(new byte[] { 1, 1, 0x7f }, new byte[] { 2, -2, 1 }));
+        assertArrayEquals(new short[] { 3, -1, (short) 0x8000 },
+                testlib.add_int16_t(new short[] { 1, 1, 0x7fff }, new short[] { 2, -2, 1 }));
+        assertArrayEquals(new int[] { 3, -1, Integer.MIN_VALUE },
+                testlib.add_int32_t(new int[] { 1, 1, Integer.MAX_VALUE }, new int[] { 2, -2, 1 }));
+        assertArrayEquals(new long[] { 3, -1, 0x100000000L },
+                testlib.add_int64_t(new long[] { 1, 1, 0xffffffffL }, new long[] { 2, -2, 1 }));
+    }
+
+    @Test
+    public void floatingPoint() {
+        assertArrayEquals(new float[] { 3.5f, -0.25f }, testlib.add_float(new float[] { 1f, 0.25f }, new float[] { 2.5f, -0.5f }));
+        assertArrayEquals(new double[] { 3.5, -0.25 }, testlib.add_double(new double[] { 1, 0.25 }, new double[] { 2.5, -0.5 }));
+    }
+
+    @Test
+    public void sixParameters() {
+        long[] result = testlib.weightedIIIIII(new int[] { 1, -1 }, new int[] { 2, -2 }, new int[] { 3, -3 },
+                new int[] { 4, -4 }, new int[] { 5, -5 }, new int[] { 6, -6 });
+        assertArrayEquals(new long[] { 91, -91 }, result);
+    }
+
+    @Test
+    public void mixedParameters() {
+        Pointer p = Memory.allocateDirect(runtime, 12);
+        p.putInt(0, 1);
+        p.putInt(4, 2);
+        p.putInt(8, 3);
+        long p1 = p.address(), p2 = p1 + 4, p3 = p1 + 8;
+
+        double[] result = testlib.weightedPDPIFP(new long[] { p1, p3 }, new double[] { 0.5, -1 }, new long[] { p2, p2 },
+                new int[] { 4, 0 }, new float[] { 0.25f, 2 }, new long[] { p3, p1 });
+        assertArrayEquals(new double[] { 1 + 1.0 + 6 + 16 + 1.25 + 18, 3 - 2.0 + 6 + 0 + 10 + 6 }, result);
+    }
+
+    @Test
+    public void voidResult() {
+        Pointer array = Memory.allocateDirect(runtime, 3 * runtime.addressSize());
+        long address = array.address();
+        testlib.ptr_set_array_element(new long[] { address, address, address }, new int[] { 0, 1, 2 },
+                new long[] { 0x10, 0x20, 0x30 });
+        for (int i = 0; i < 3; i++) {
+            assertEquals((i + 1) * 0x10, array.getAddress(i * runtime.addressSize()));
+        }
+    }
+
+    @Test
+    public void empty() {
+        assertEquals(0, testlib.add_int32_t(new int[0], new int[0]).length);
+    }
+
+    @Test
+    public void lengthMismatch() {
+        assertThrows(IllegalArgumentException.class, () -> testlib.add_int32_t(new int[2], new int[3]));
+    }
+
+    @Test
+    public void largerThanChunk() {
+        int count = 2500;
+        int[] i1 = new int[count], i2 = new int[count], expected = new int[count];
+        for (int i = 0; i < count; i++) {
+            i1[i] = i;
+            i2[i] = 3 * i;
+            expected[i] = 4 * i;
+        }
+        assertArrayEquals(expected, testlib.add_int32_t(i1, i2));
+    }
+
+    @Test
+    public void reportedAsBuffer() {
+        TierReport report = Runtime.getTierReport(testlib);
+        if (report != null) {
+            for (TierReport.Entry entry : report.getEntries()) {
+                assertEquals(jnr.ffi.annotations.Tier.Kind.BUFFER, entry.getTier(), entry.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi;
+
+import jnr.ffi.annotations.Blocking;
+import jnr.ffi.annotations.Tier;
+import jnr.ffi.provider.TierReport;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class BlockingTest {
+
+    public static interface TestLib {
+        @Blocking CompletableFuture<Integer> add_int32_t(int i1, int i2);
+        @Blocking CompletionStage<Double> add_double(double d1, double d2);
+        @Blocking Future<Void> returnVoid();
+        @Blocking int sub_int32_t(int i1, int i2);
+        int mul_int32_t(int i1, int i2);
+        @Blocking CompletableFuture<NativeResult<Integer>> setLastError(int error);
+    }
+
+    @Blocking
+    public static interface BlockingLib {
+        CompletableFuture<Long> add_int64_t(long i1, long i2);
+        int div_int32_t(int i1, int i2);
+        @Blocking(false) int mul_int32_t(int i1, int i2);
+    }
+
+    /** Runs each call on the calling thread, counting the calls. */
+    private static final class CountingExecutor implements Executor {
+        final AtomicInteger count = new AtomicInteger();
+
+        public void execute(Runnable command) {
+            count.incrementAndGet();
+            command.run();
+        }
+    }
+
+    private static <T> T load(Class<T> interfaceClass, Executor executor) {
+        Map<LibraryOption, Object> options = Collections.<LibraryOption, Object>singletonMap(LibraryOption.BlockingExecutor, executor);
+        return TstUtil.loadTestLib(interfaceClass, options);
+    }
+
+    @Test
+    public void futureKeepsLastError() throws Exception {
+        TestLib lib = TstUtil.loadTestLib(TestLib.class);
+        Runtime runtime = Runtime.getRuntime(lib);
+        runtime.setLastError(0);
+
+        NativeResult<Integer> result = lib.setLastError(11).get(10, TimeUnit.SECONDS);
+        assertEquals(Integer.valueOf(-1), result.getValue());
+        assertEquals(11, result.getLastError());
+        // The call was made on another thread
+        assertEquals(0, runtime.getLastError());
+    }
+
+    @Test
+    public void futureResults() throws Exception {
+        TestLib lib = TstUtil.loadTestLib(TestLib.class);
+        assertEquals(Integer.valueOf(3), lib.add_int32_t(1, 2).get(10, TimeUnit.SECONDS));
+        assertEquals(Double.valueOf(3.5), lib.add_double(1, 2.5).toCompletableFuture().get(10, TimeUnit.SECONDS));
+        assertNull(lib.returnVoid().get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void futuresRunOnTheExecutor() throws Exception {
+        CountingExecutor executor = new CountingExecutor();
+        TestLib lib = load(TestLib.class, executor);
+        assertEquals(Integer.valueOf(3), lib.add_int32_t(1, 2).get());
+        assertEquals(Double.valueOf(3.5), lib.add_double(1, 2.5).toCompletableFuture().get());
+        assertEquals(2, executor.count.get());
+    }
+
+    @Test
+    public void platformThreadsCallDirectly() {
+        CountingExecutor executor = new CountingExecutor();
+        TestLib lib = load(TestLib.class, executor);
+        assertEquals(-1, lib.sub_int32_t(1, 2));
+        assertEquals(6, lib.mul_int32_t(2, 3));
+        assertEquals(0, executor.count.get());
+    }
+
+    @Test
+    public void libraryAnnotation() throws Exception {
+        CountingExecutor executor = new CountingExecutor();
+        BlockingLib lib = load(BlockingLib.class, executor);
+        assertEquals(Long.valueOf(0x100000000L), lib.add_int64_t(0xffffffffL, 1).get());
+        assertEquals(3, lib.div_int32_t(7, 2));
+        assertEquals(1, executor.count.get());
+    }
+
+    @Test
+    public void methodOptsOutOfLibraryAnnotation() throws Exception {
+        Map<LibraryOption, Object> options = new HashMap<LibraryOption, Object>();
+        options.put(LibraryOption.TierReport, Boolean.TRUE);
+        BlockingLib lib = TstUtil.loadTestLib(BlockingLib.class, options);
+        assertEquals(6, lib.mul_int32_t(2, 3));
+
+        TierReport report = Runtime.getTierReport(lib);
+        // Only the ASM library loader chooses between tiers
+        assumeTrue(report != null);
+        TierReport.Entry blocking = report.getEntry(BlockingLib.class.getMethod("div_int32_t", int.class, int.class));
+        TierReport.Entry notBlocking = report.getEntry(BlockingLib.class.getMethod("mul_int32_t", int.class, int.class));
+        assertEquals(Tier.Kind.BUFFER, blocking.getTier());
+        assertNotEquals(Tier.Kind.BUFFER, notBlocking.getTier());
+    }
+}
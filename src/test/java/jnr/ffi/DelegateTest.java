@@ -30,6 +30,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class DelegateTest {
@@ -468,6 +470,22 @@ public class DelegateTest {
 
     }
 
+    @Test public void functionPointerIsCached() {
+        TestLib.CallableVrV javaClosure = new TestLib.CallableVrV() {
+            @Override
+            public void call() {}
+        };
+
+        TestLib.CallableVrV callable = lib.ret_pointer(javaClosure);
+        assertSame(callable, lib.ret_pointer(javaClosure));
+        // Passing the function pointer back to native returns the same address, and so the same wrapper
+        assertSame(callable, lib.ret_pointer(callable));
+    }
+
+    @Test public void nullFunctionPointer() {
+        assertNull(lib.ret_pointer((TestLib.CallableVrV) null));
+    }
+
 
 //    @Test
 //    public void closureLrV() {
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi;
+
+import jnr.ffi.provider.InvocationMetrics;
+import jnr.ffi.provider.jffi.NoX86;
+import jnr.ffi.types.int32_t;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class InvocationMetricsTest {
+
+    public static interface TestLib {
+        @int32_t int add_int32_t(@int32_t int i1, @int32_t int i2);
+        double add_double(double d1, double d2);
+        boolean string_equals(String s1, String s2);
+        int ptr_ret_int32_t(Pointer p, int offset);
+    }
+
+    @NoX86
+    public static interface NoX86TestLib extends TestLib {
+    }
+
+    private static InvocationMetrics loadMetrics(Object lib) {
+        InvocationMetrics metrics = Runtime.getInvocationMetrics(lib);
+        // Only the ASM library loader records metrics
+        assumeTrue(metrics != null);
+        return metrics;
+    }
+
+    private static void assertCalls(InvocationMetrics metrics, String name, long count) {
+        List<InvocationMetrics.Function> functions = metrics.getFunctions(name);
+        assertEquals(1, functions.size(), name);
+        InvocationMetrics.Function f = functions.get(0);
+        assertEquals(count, f.getCallCount(), name);
+        assertEquals(count, f.getNativeTime().getCount(), name);
+        assertEquals(count, f.getConversionTime().getCount(), name);
+    }
+
+    private static void checkMetrics(TestLib lib) {
+        InvocationMetrics metrics = loadMetrics(lib);
+        Pointer memory = Memory.allocateDirect(Runtime.getRuntime(lib), 8);
+        memory.putInt(4, 0x12345678);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(3, lib.add_int32_t(1, 2));
+            assertEquals(0x12345678, lib.ptr_ret_int32_t(memory, 4));
+        }
+        assertEquals(3d, lib.add_double(1d, 2d));
+        assertTrue(lib.string_equals("test", "test"));
+
+        assertCalls(metrics, "add_int32_t", 10);
+        assertCalls(metrics, "ptr_ret_int32_t", 10);
+        assertCalls(metrics, "add_double", 1);
+        assertCalls(metrics, "string_equals", 1);
+
+        InvocationMetrics.Histogram nativeTime = metrics.getFunctions("add_int32_t").get(0).getNativeTime();
+        assertTrue(nativeTime.getPercentileNanos(50) <= nativeTime.getPercentileNanos(100));
+
+        metrics.reset();
+        assertCalls(metrics, "add_int32_t", 0);
+        assertEquals(0, nativeTime.getTotalNanos());
+    }
+
+    @Test
+    public void recordsCalls() {
+        checkMetrics(TstUtil.loadTestLib(TestLib.class, Collections.singletonMap(LibraryOption.Metrics, true)));
+    }
+
+    @Test
+    public void recordsCallsWithoutX86() {
+        checkMetrics(TstUtil.loadTestLib(NoX86TestLib.class, Collections.singletonMap(LibraryOption.Metrics, true)));
+    }
+
+    @Test
+    public void disabledByDefault() {
+        TestLib lib = TstUtil.loadTestLib(TestLib.class);
+        assertEquals(3, lib.add_int32_t(1, 2));
+        assertNull(Runtime.getInvocationMetrics(lib));
+    }
+
+    @Test
+    public void functionLookup() throws Exception {
+        InvocationMetrics metrics = loadMetrics(TstUtil.loadTestLib(TestLib.class, Collections.singletonMap(LibraryOption.Metrics, true)));
+        assertEquals(TestLib.class, metrics.getInterfaceClass());
+        assertEquals(4, metrics.getFunctions().size());
+        assertNotNull(metrics.getFunction(TestLib.class.getMethod("add_double", double.class, double.class)));
+    }
+}
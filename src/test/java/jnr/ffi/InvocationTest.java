@@ -18,6 +18,7 @@
 
 package jnr.ffi;
 
+import jnr.ffi.provider.jffi.NoX86;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -28,6 +29,18 @@ public class InvocationTest {
         int ret_int32_t(int i);
     }
 
+    public static interface SixParameterLib {
+        long weightedIIIIII(int i1, int i2, int i3, int i4, int i5, int i6);
+        long weightedPPPPII(Pointer p1, Pointer p2, Pointer p3, Pointer p4, int i1, int i2);
+        long weightedPPPPII(int[] p1, int[] p2, int[] p3, int[] p4, int i1, int i2);
+        double weightedPDPIFP(Pointer p1, double d, Pointer p2, int i, float f, Pointer p3);
+        double weightedPDPIFP(int[] p1, double d, int[] p2, int i, float f, int[] p3);
+    }
+
+    @NoX86
+    public static interface NoX86SixParameterLib extends SixParameterLib {
+    }
+
     static TestLib testlib;
 
     @BeforeAll
@@ -41,4 +54,35 @@ public class InvocationTest {
             assertEquals(i, testlib.ret_int32_t(i));
         }
     }
+
+    private static void assertSixParameters(SixParameterLib lib) {
+        Runtime runtime = Runtime.getRuntime(lib);
+        Pointer direct = Memory.allocateDirect(runtime, 4);
+        direct.putInt(0, 10);
+        Pointer heap = Memory.allocate(runtime, 4);
+        heap.putInt(0, 10);
+        int[] array = { 10 };
+
+        // the last two parameters are passed on the stack to the x86_64 stubs, and have to be sign extended
+        assertEquals(1 + 2 * 2 + 3 * 3 + 4 * 4 + 5 * -5 + 6 * -6, lib.weightedIIIIII(1, 2, 3, 4, -5, -6));
+        assertEquals(100 + 5 * 5 + 6 * 6, lib.weightedPPPPII(direct, direct, direct, direct, 5, 6));
+        assertEquals(100 + 5 * 5 + 6 * 6, lib.weightedPPPPII(direct, heap, direct, heap, 5, 6));
+        assertEquals(100 + 5 * 5 + 6 * 6, lib.weightedPPPPII(array, array, array, array, 5, 6));
+        assertEquals(10 + 2 * 2.5 + 3 * 10 + 4 * 4 + 5 * 5.5 + 6 * 10,
+                lib.weightedPDPIFP(direct, 2.5, direct, 4, 5.5f, direct), 0d);
+        assertEquals(10 + 2 * 2.5 + 3 * 10 + 4 * 4 + 5 * 5.5 + 6 * 10,
+                lib.weightedPDPIFP(heap, 2.5, direct, 4, 5.5f, heap), 0d);
+        assertEquals(10 + 2 * 2.5 + 3 * 10 + 4 * 4 + 5 * 5.5 + 6 * 10,
+                lib.weightedPDPIFP(array, 2.5, array, 4, 5.5f, array), 0d);
+    }
+
+    @Test
+    public void sixParameters() {
+        assertSixParameters(TstUtil.loadTestLib(SixParameterLib.class));
+    }
+
+    @Test
+    public void sixParametersWithoutX86Stubs() {
+        assertSixParameters(TstUtil.loadTestLib(NoX86SixParameterLib.class));
+    }
 }
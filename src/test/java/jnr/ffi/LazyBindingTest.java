@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi;
+
+import jnr.ffi.provider.InvocationMetrics;
+import jnr.ffi.provider.jffi.NoX86;
+import jnr.ffi.types.int32_t;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class LazyBindingTest {
+
+    public static interface TestLib {
+        @int32_t int add_int32_t(@int32_t int i1, @int32_t int i2);
+        long returnLongL(long l);
+        double add_double(double d1, double d2);
+        boolean string_equals(String s1, String s2);
+        void returnVoidI(int i);
+        int missing_function(int i);
+    }
+
+    @NoX86
+    public static interface NoX86TestLib extends TestLib {
+    }
+
+    private static final Map<LibraryOption, Object> LAZY = Collections.<LibraryOption, Object>singletonMap(LibraryOption.LazyBinding, Boolean.TRUE);
+
+    private static void assertCalls(TestLib lib) {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(3 + i, lib.add_int32_t(1, 2 + i));
+            assertEquals(0x123456789L + i, lib.returnLongL(0x123456789L + i));
+            assertEquals(3.5 + i, lib.add_double(1.5, 2.0 + i), 0.0);
+            assertTrue(lib.string_equals("test", "test"));
+            lib.returnVoidI(i);
+        }
+    }
+
+    @Test
+    public void lazyMethodsCallNativeFunctions() {
+        assertCalls(TstUtil.loadTestLib(TestLib.class, LAZY));
+    }
+
+    @Test
+    public void lazyMethodsWithoutX86Stubs() {
+        assertCalls(TstUtil.loadTestLib(NoX86TestLib.class, LAZY));
+    }
+
+    @Test
+    public void missingFunctionFailsOnCall() {
+        final TestLib lib = TstUtil.loadTestLib(TestLib.class, LAZY);
+        assertEquals(3, lib.add_int32_t(1, 2));
+        assertThrows(UnsatisfiedLinkError.class, () -> lib.missing_function(1));
+        assertThrows(UnsatisfiedLinkError.class, () -> lib.missing_function(2));
+    }
+
+    @Test
+    public void functionsAreBoundOnFirstCall() {
+        Map<LibraryOption, Object> options = new HashMap<LibraryOption, Object>(LAZY);
+        options.put(LibraryOption.Metrics, Boolean.TRUE);
+        TestLib lib = TstUtil.loadTestLib(TestLib.class, options);
+        InvocationMetrics metrics = Runtime.getInvocationMetrics(lib);
+        // Only the ASM library loader records metrics
+        assumeTrue(metrics != null);
+
+        assertTrue(metrics.getFunctions().isEmpty());
+        assertEquals(3, lib.add_int32_t(1, 2));
+        assertEquals(1, metrics.getFunctions("add_int32_t").get(0).getCallCount());
+    }
+
+    @Test
+    public void functionsAreBoundInBatches() {
+        Map<LibraryOption, Object> options = new HashMap<LibraryOption, Object>(LAZY);
+        options.put(LibraryOption.Metrics, Boolean.TRUE);
+        TestLib lib = TstUtil.loadTestLib(TestLib.class, options);
+        InvocationMetrics metrics = Runtime.getInvocationMetrics(lib);
+        assumeTrue(metrics != null);
+
+        // The first call binds every function of the interface that is found, since it has fewer than a batch
+        assertEquals(3, lib.add_int32_t(1, 2));
+        assertEquals(5, metrics.getFunctions().size());
+        assertEquals(0, metrics.getFunctions("returnLongL").get(0).getCallCount());
+        assertTrue(metrics.getFunctions("missing_function").isEmpty());
+
+        assertEquals(0x123456789L, lib.returnLongL(0x123456789L));
+        assertEquals(5, metrics.getFunctions().size());
+        assertEquals(1, metrics.getFunctions("returnLongL").get(0).getCallCount());
+        assertThrows(UnsatisfiedLinkError.class, () -> lib.missing_function(1));
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi;
+
+import jnr.ffi.annotations.In;
+import jnr.ffi.annotations.Out;
+import jnr.ffi.annotations.Transient;
+import jnr.ffi.types.size_t;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MemoryScopeTest {
+
+    public static final class Signed32Align extends Struct {
+        public final Signed8 first = new Signed8();
+        public final Signed32 value = new Signed32();
+
+        public Signed32Align(Runtime runtime) {
+            super(runtime);
+        }
+    }
+
+    public static final class Foo extends Struct {
+        public final UnsignedLong l1 = new UnsignedLong();
+        public final UnsignedLong l2 = new UnsignedLong();
+        public final UnsignedLong l3 = new UnsignedLong();
+
+        public Foo(Runtime runtime) {
+            super(runtime);
+        }
+    }
+
+    public static interface TestLib {
+        int struct_align_Signed32(@In @Transient Signed32Align s);
+        int fill_struct_from_longs(@size_t long l1, @size_t long l2, @Out @Transient Foo foo, @size_t long l3);
+    }
+
+    static TestLib testlib;
+    static Runtime runtime;
+
+    @BeforeAll
+    public static void beforeAll() {
+        testlib = TstUtil.loadTestLib(TestLib.class);
+        runtime = Runtime.getRuntime(testlib);
+    }
+
+    @Test
+    public void allocate() {
+        try (MemoryScope scope = runtime.getMemoryManager().openScope()) {
+            Pointer p = scope.allocate(16);
+            assertTrue(p.isDirect());
+            assertEquals(16, p.size());
+            assertEquals(0L, p.getLongLong(0));
+            assertEquals(0L, p.getLongLong(8));
+
+            p.putInt(4, 0xdeadbeef);
+            assertEquals(0xdeadbeef, p.getInt(4));
+        }
+    }
+
+    @Test
+    public void closeReusesMemory() {
+        long address;
+        try (MemoryScope scope = runtime.getMemoryManager().openScope()) {
+            address = scope.allocate(32).address();
+        }
+
+        try (MemoryScope scope = runtime.getMemoryManager().openScope()) {
+            assertEquals(address, scope.allocate(32).address());
+        }
+    }
+
+    @Test
+    public void allocationsAreAligned() {
+        try (MemoryScope scope = runtime.getMemoryManager().openScope()) {
+            for (int size = 1; size < 64; size++) {
+                assertEquals(0L, scope.allocate(size, false).address() & 7L);
+            }
+        }
+    }
+
+    @Test
+    public void allocationsSpanSlabs() {
+        try (MemoryScope scope = runtime.getMemoryManager().openScope()) {
+            Pointer[] pointers = new Pointer[10000];
+            for (int i = 0; i < pointers.length; i++) {
+                pointers[i] = scope.allocate(64, false);
+                pointers[i].putInt(0, i);
+            }
+
+            for (int i = 0; i < pointers.length; i++) {
+                assertEquals(i, pointers[i].getInt(0));
+            }
+        }
+    }
+
+    @Test
+    public void largeAllocation() {
+        try (MemoryScope scope = runtime.getMemoryManager().openScope()) {
+            Pointer p = scope.allocate(1024 * 1024);
+            p.putLongLong(1024 * 1024 - 8, 0x1234567890L);
+            assertEquals(0x1234567890L, p.getLongLong(1024 * 1024 - 8));
+        }
+    }
+
+    @Test
+    public void nestedScopes() {
+        try (MemoryScope outer = runtime.getMemoryManager().openScope()) {
+            Pointer a = outer.allocate(8);
+            long next;
+            try (MemoryScope inner = runtime.getMemoryManager().openScope()) {
+                assertSame(inner, runtime.getMemoryManager().currentScope());
+                next = inner.allocate(8).address();
+                assertThrows(IllegalStateException.class, () -> outer.allocate(8));
+                assertThrows(IllegalStateException.class, outer::close);
+            }
+
+            assertSame(outer, runtime.getMemoryManager().currentScope());
+            assertEquals(next, outer.allocate(8).address());
+            assertEquals(a.address() + 8, next);
+        }
+
+        assertNull(runtime.getMemoryManager().currentScope());
+    }
+
+    @Test
+    public void closedScope() {
+        MemoryScope scope = runtime.getMemoryManager().openScope();
+        scope.close();
+        scope.close();
+        assertThrows(IllegalStateException.class, () -> scope.allocate(8));
+    }
+
+    @Test
+    public void scopeBelongsToThread() throws InterruptedException {
+        try (final MemoryScope scope = runtime.getMemoryManager().openScope()) {
+            final Throwable[] error = new Throwable[1];
+            Thread t = new Thread(() -> {
+                try {
+                    scope.allocate(8);
+                } catch (Throwable ex) {
+                    error[0] = ex;
+                }
+            });
+            t.start();
+            t.join();
+            assertTrue(error[0] instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void zeroSizeAllocationInNewArena() throws InterruptedException {
+        // A new thread has no slabs yet
+        final long[] address = new long[1];
+        Thread t = new Thread(() -> {
+            try (MemoryScope scope = runtime.getMemoryManager().openScope()) {
+                address[0] = scope.allocate(0).address();
+            }
+        });
+        t.start();
+        t.join();
+        assertNotEquals(0L, address[0]);
+    }
+
+    @Test
+    public void allocateTemporaryUsesCurrentScope() {
+        try (MemoryScope scope = runtime.getMemoryManager().openScope()) {
+            Pointer a = scope.allocate(16);
+            Pointer b = runtime.getMemoryManager().allocateTemporary(16, true);
+            assertEquals(a.address() + 16, b.address());
+        }
+    }
+
+    @Test
+    public void transientStructParameterIsCopiedToCurrentScope() {
+        Signed32Align s;
+        try (MemoryScope scope = runtime.getMemoryManager().openScope()) {
+            s = new Signed32Align(runtime);
+            s.value.set(0x12345678);
+            assertEquals(0x12345678, testlib.struct_align_Signed32(s));
+        }
+        assertFalse(Struct.getMemory(s).isDirect());
+
+        // the struct keeps its own memory, which is still valid once the scope is closed
+        try (MemoryScope scope = runtime.getMemoryManager().openScope()) {
+            scope.allocate(Struct.size(s)).putInt(0, 0xdeadbeef);
+        }
+        assertEquals(0x12345678, s.value.get());
+    }
+
+    @Test
+    public void transientStructOutParameterIsCopiedBack() {
+        Foo foo = new Foo(runtime);
+        try (MemoryScope scope = runtime.getMemoryManager().openScope()) {
+            testlib.fill_struct_from_longs(0xdeadL, 0xbeefL, foo, 0xcafeL);
+        }
+        assertFalse(Struct.getMemory(foo).isDirect());
+        assertEquals(0xdeadL, foo.l1.get());
+        assertEquals(0xbeefL, foo.l2.get());
+        assertEquals(0xcafeL, foo.l3.get());
+    }
+}
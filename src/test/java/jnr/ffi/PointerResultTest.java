@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi;
+
+import jnr.ffi.types.size_t;
+import jnr.ffi.types.uintptr_t;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class PointerResultTest {
+
+    public static interface TestLib {
+        Pointer ptr_from_buffer(Pointer p);
+        Pointer ptr_return_array_element(Pointer array, int index);
+        @uintptr_t long ptr_malloc(@size_t int size);
+        void ptr_free(@uintptr_t long ptr);
+    }
+
+    static TestLib testlib;
+    static Runtime runtime;
+
+    @BeforeAll
+    public static void setUpClass() {
+        testlib = TstUtil.loadTestLib(TestLib.class,
+                Collections.singletonMap(LibraryOption.TierReport, Boolean.TRUE));
+        runtime = Runtime.getRuntime(testlib);
+    }
+
+    private static void assumeGenerated() {
+        // Only the code generated by the ASM library loader reuses parameters
+        assumeTrue(Runtime.getTierReport(testlib) != null);
+    }
+
+    @Test
+    public void returnedBoundedParameterIsUnbounded() {
+        Pointer memory = Memory.allocateDirect(runtime, 64);
+        Pointer p = memory.slice(0, 8);
+        Pointer result = testlib.ptr_from_buffer(p);
+        assertNotSame(p, result);
+        assertEquals(p.address(), result.address());
+        assertEquals(Long.MAX_VALUE, result.size());
+    }
+
+    @Test
+    public void returnedOwningParameterIsNotOwning() {
+        Pointer p = Memory.allocateDirect(runtime, 8);
+        Pointer result = testlib.ptr_from_buffer(p);
+        assertNotSame(p, result);
+        assertEquals(p.address(), result.address());
+        assertEquals(Long.MAX_VALUE, result.size());
+    }
+
+    @Test
+    public void otherAddressIsWrapped() {
+        Pointer array = Memory.allocateDirect(runtime, 2 * runtime.addressSize());
+        Pointer element = Memory.allocateDirect(runtime, 8);
+        array.putAddress(0, array.address());
+        array.putAddress(runtime.addressSize(), element.address());
+
+        Pointer result = testlib.ptr_return_array_element(array, 1);
+        assertNotSame(element, result);
+        assertEquals(element.address(), result.address());
+
+        result = testlib.ptr_return_array_element(array, 0);
+        assertEquals(array, result);
+    }
+
+    @Test
+    public void nullIsNotReused() {
+        assertNull(testlib.ptr_from_buffer(null));
+    }
+
+    @Test
+    public void rawAddressResultsDoNotAllocate() {
+        assumeGenerated();
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+
+        for (int i = 0; i < 1000; i++) {
+            testlib.ptr_free(testlib.ptr_malloc(16));
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        long handle = 0;
+        for (int i = 0; i < 10000; i++) {
+            handle = testlib.ptr_malloc(16);
+            testlib.ptr_free(handle);
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertNotEquals(0L, handle);
+        // Allow for the bookkeeping of the measurement, which is far less than a Pointer per call
+        assertEquals(0, allocated / 10000, "bytes allocated per call");
+    }
+}
@@ -227,4 +227,24 @@ public class PointerTest {
             dst.transferFrom(10, dst, 0, src.size());
         });
     }
+
+    @Test
+    public void testCloseDirectMemory() {
+        try (Pointer small = runtime.getMemoryManager().allocateDirect(16);
+             Pointer large = runtime.getMemoryManager().allocateDirect(8192)) {
+            small.putInt(12, 0x12345678);
+            large.putInt(8188, 0x12345678);
+            assertEquals(0x12345678, small.getInt(12));
+            assertEquals(0x12345678, large.getInt(8188));
+        }
+    }
+
+    @Test
+    public void testCloseSliceDoesNotFreeParent() {
+        try (Pointer memory = runtime.getMemoryManager().allocateDirect(8192)) {
+            memory.slice(4096).close();
+            memory.putLong(8184, 0xdeadbeefL);
+            assertEquals(0xdeadbeefL, memory.getLong(8184));
+        }
+    }
 }
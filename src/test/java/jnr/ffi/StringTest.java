@@ -18,6 +18,7 @@
 
 package jnr.ffi;
 
+import jnr.ffi.annotations.Encoding;
 import jnr.ffi.annotations.In;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -25,6 +26,8 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.Charset;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -41,6 +44,7 @@ public class StringTest {
         void string_concat(StringBuilder dst, CharSequence src);
         void string_concat(StringBuffer dst, CharSequence src);
         String ptr_return_array_element(@In String[] array, int index);
+        @Encoding("UTF-8") String string_duplicate(@Encoding("UTF-8") String s);
     }
     static TestLib testlib;
     @BeforeAll
@@ -111,4 +115,27 @@ public class StringTest {
         final String MAGIC = "deadbeef";
         assertEquals(MAGIC, testlib.ptr_return_array_element(new String[] { MAGIC }, 0));
     }
+
+    @Test public void utf8StringResult() {
+        final String MAGIC = "crème brûlée 中文 😀";
+        assertEquals(MAGIC, testlib.string_duplicate(MAGIC));
+    }
+
+    @Test public void longStringResult() {
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 20000) {
+            sb.append("deadbeef é ");
+        }
+        final String MAGIC = sb.toString();
+        assertEquals(MAGIC, testlib.string_duplicate(MAGIC));
+        assertEquals("short", testlib.string_duplicate("short"));
+    }
+
+    @Test public void getStringFromDirectMemory() {
+        Charset latin1 = Charset.forName("ISO-8859-1");
+        Pointer memory = Memory.allocateDirect(Runtime.getRuntime(testlib), 64);
+        memory.putString(0, "café", 64, latin1);
+        assertEquals("café", memory.getString(0, 64, latin1));
+        assertEquals("caf", memory.getString(0, 3, latin1));
+    }
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi;
+
+import jnr.ffi.annotations.Delegate;
+import jnr.ffi.annotations.Synchronized;
+import jnr.ffi.mapper.FunctionMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SynchronizedTest {
+
+    public static interface Callback {
+        @Delegate void call();
+    }
+
+    /**
+     * Each method calls testClosureVrV, which calls the callback while the method's lock is held.
+     */
+    public static interface TestLib {
+        @Synchronized
+        void testClosureVrV(Callback closure);
+
+        @Synchronized(group = Synchronized.METHOD)
+        void testClosureVrV$method(Callback closure);
+
+        @Synchronized(group = Synchronized.METHOD)
+        void testClosureVrV$otherMethod(Callback closure);
+
+        @Synchronized(group = "ctx")
+        void testClosureVrV$ctx(Callback closure);
+
+        @Synchronized(group = "ctx", mode = Synchronized.Mode.READ)
+        void testClosureVrV$ctxRead(Callback closure);
+
+        @Synchronized(group = "ctx", mode = Synchronized.Mode.WRITE)
+        void testClosureVrV$ctxWrite(Callback closure);
+
+        @Synchronized(group = "other")
+        void testClosureVrV$other(Callback closure);
+
+        void testClosureVrV$unlocked(Callback closure);
+    }
+
+    @Synchronized(group = "lib")
+    public static interface GroupLib {
+        void testClosureVrV(Callback closure);
+
+        @Synchronized
+        void testClosureVrV$monitor(Callback closure);
+    }
+
+    public static interface InvalidLib {
+        @Synchronized(mode = Synchronized.Mode.READ)
+        void testClosureVrV(Callback closure);
+    }
+
+    private static final Callback NOTHING = new Callback() {
+        public void call() {
+        }
+    };
+
+    private static final FunctionMapper FUNCTION_MAPPER = new FunctionMapper() {
+        public String mapFunctionName(String functionName, Context context) {
+            int suffix = functionName.indexOf('$');
+            return suffix > 0 ? functionName.substring(0, suffix) : functionName;
+        }
+    };
+
+    private static <T> T load(Class<T> interfaceClass) {
+        return TstUtil.loadTestLib(interfaceClass,
+                Collections.<LibraryOption, Object>singletonMap(LibraryOption.FunctionMapper, FUNCTION_MAPPER));
+    }
+
+    private interface Call {
+        void call(Callback callback);
+    }
+
+    /**
+     * Makes {@code outer} call {@code inner} from another thread while its lock is held.
+     *
+     * @return whether the inner call completed before the outer call returned.
+     */
+    private static boolean innerCallCompletes(Call outer, final Call inner) {
+        final AtomicBoolean completed = new AtomicBoolean();
+        outer.call(new Callback() {
+            public void call() {
+                Thread thread = new Thread(new Runnable() {
+                    public void run() {
+                        inner.call(NOTHING);
+                    }
+                });
+                thread.start();
+                try {
+                    thread.join(500);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                completed.set(!thread.isAlive());
+            }
+        });
+        return completed.get();
+    }
+
+    @Test
+    public void librarySynchronizesOnInstance() {
+        final TestLib lib = load(TestLib.class);
+        final AtomicBoolean holdsLock = new AtomicBoolean();
+        lib.testClosureVrV(new Callback() {
+            public void call() {
+                holdsLock.set(Thread.holdsLock(lib));
+            }
+        });
+        assertTrue(holdsLock.get());
+    }
+
+    @Test
+    public void groupsDoNotSynchronizeOnInstance() {
+        final TestLib lib = load(TestLib.class);
+        final AtomicBoolean holdsLock = new AtomicBoolean(true);
+        lib.testClosureVrV$ctx(new Callback() {
+            public void call() {
+                holdsLock.set(Thread.holdsLock(lib));
+            }
+        });
+        assertFalse(holdsLock.get());
+    }
+
+    @Test
+    public void methodLocks() {
+        final TestLib lib = load(TestLib.class);
+        assertFalse(innerCallCompletes(lib::testClosureVrV$method, lib::testClosureVrV$method));
+        assertTrue(innerCallCompletes(lib::testClosureVrV$method, lib::testClosureVrV$otherMethod));
+        assertTrue(innerCallCompletes(lib::testClosureVrV$method, lib::testClosureVrV$unlocked));
+    }
+
+    @Test
+    public void groupLocks() {
+        final TestLib lib = load(TestLib.class);
+        assertFalse(innerCallCompletes(lib::testClosureVrV$ctx, lib::testClosureVrV$ctxWrite));
+        assertFalse(innerCallCompletes(lib::testClosureVrV$ctx, lib::testClosureVrV$ctxRead));
+        assertTrue(innerCallCompletes(lib::testClosureVrV$ctx, lib::testClosureVrV$other));
+        assertTrue(innerCallCompletes(lib::testClosureVrV$ctx, lib::testClosureVrV));
+    }
+
+    @Test
+    public void readWriteLocks() {
+        final TestLib lib = load(TestLib.class);
+        assertTrue(innerCallCompletes(lib::testClosureVrV$ctxRead, lib::testClosureVrV$ctxRead));
+        assertFalse(innerCallCompletes(lib::testClosureVrV$ctxRead, lib::testClosureVrV$ctxWrite));
+        assertFalse(innerCallCompletes(lib::testClosureVrV$ctxWrite, lib::testClosureVrV$ctxRead));
+    }
+
+    @Test
+    public void groupsAreSeparatePerLibrary() {
+        TestLib lib = load(TestLib.class);
+        TestLib other = load(TestLib.class);
+        assertTrue(innerCallCompletes(lib::testClosureVrV$ctx, other::testClosureVrV$ctx));
+    }
+
+    @Test
+    public void libraryGroup() {
+        GroupLib lib = load(GroupLib.class);
+        assertFalse(innerCallCompletes(lib::testClosureVrV, lib::testClosureVrV));
+        assertTrue(innerCallCompletes(lib::testClosureVrV, lib::testClosureVrV$monitor));
+    }
+
+    @Test
+    public void lazyBinding() {
+        Map<LibraryOption, Object> options = new HashMap<LibraryOption, Object>();
+        options.put(LibraryOption.FunctionMapper, FUNCTION_MAPPER);
+        options.put(LibraryOption.LazyBinding, Boolean.TRUE);
+        final TestLib lib = TstUtil.loadTestLib(TestLib.class, options);
+        assertFalse(innerCallCompletes(lib::testClosureVrV$ctx, lib::testClosureVrV$ctxRead));
+        assertTrue(innerCallCompletes(lib::testClosureVrV$ctxRead, lib::testClosureVrV$ctxRead));
+    }
+
+    @Test
+    public void readWithoutGroup() {
+        assertThrows(IllegalArgumentException.class, () -> load(InvalidLib.class).testClosureVrV(NOTHING));
+    }
+}
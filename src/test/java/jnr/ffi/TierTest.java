@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi;
+
+import jnr.ffi.annotations.Tier;
+import jnr.ffi.mapper.FunctionMapper;
+import jnr.ffi.provider.TierReport;
+import jnr.ffi.types.int32_t;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class TierTest {
+
+    public static interface TestLib {
+        @int32_t int add_int32_t(@int32_t int i1, @int32_t int i2);
+
+        @Tier(Tier.Kind.BUFFER)
+        @int32_t int add_int32_t$buffer(@int32_t int i1, @int32_t int i2);
+
+        @Tier(forbid = Tier.Kind.STUB)
+        @int32_t int add_int32_t$noStub(@int32_t int i1, @int32_t int i2);
+
+        @Tier(Tier.Kind.FAST_INT)
+        double add_double$fastInt(double d1, double d2);
+
+        @Tier(value = Tier.Kind.FAST_NUMERIC, forbid = Tier.Kind.BUFFER)
+        double add_double$fastNumeric(double d1, double d2);
+    }
+
+    @Tier(Tier.Kind.BUFFER)
+    public static interface BufferLib {
+        @int32_t int add_int32_t(@int32_t int i1, @int32_t int i2);
+
+        @Tier
+        @int32_t int add_int32_t$any(@int32_t int i1, @int32_t int i2);
+    }
+
+    @Tier(Tier.Kind.BUFFER)
+    public static interface InheritingBufferLib extends TestLib {
+    }
+
+    private static final FunctionMapper FUNCTION_MAPPER = new FunctionMapper() {
+        public String mapFunctionName(String functionName, Context context) {
+            int suffix = functionName.indexOf('$');
+            return suffix > 0 ? functionName.substring(0, suffix) : functionName;
+        }
+    };
+
+    private static <T> T load(Class<T> interfaceClass, Map<LibraryOption, Object> options) {
+        options.put(LibraryOption.FunctionMapper, FUNCTION_MAPPER);
+        options.put(LibraryOption.TierReport, Boolean.TRUE);
+        return TstUtil.loadTestLib(interfaceClass, options);
+    }
+
+    private static TierReport loadReport(Object lib) {
+        TierReport report = Runtime.getTierReport(lib);
+        // Only the ASM library loader chooses between tiers
+        assumeTrue(report != null);
+        return report;
+    }
+
+    private static TierReport.Entry getEntry(TierReport report, String methodName) {
+        for (TierReport.Entry entry : report.getEntries()) {
+            if (entry.getMethod().getName().equals(methodName)) {
+                return entry;
+            }
+        }
+
+        return null;
+    }
+
+    @Test
+    public void reportsEveryMethod() {
+        TestLib lib = load(TestLib.class, new HashMap<LibraryOption, Object>());
+        TierReport report = loadReport(lib);
+
+        assertEquals(TestLib.class, report.getInterfaceClass());
+        assertEquals(5, report.getEntries().size());
+        for (TierReport.Entry entry : report.getEntries()) {
+            // The chosen tier is never rejected
+            for (Tier.Kind rejected : entry.getRejections().keySet()) {
+                assertNotEquals(entry.getTier(), rejected, entry.toString());
+                assertNotNull(entry.getRejections().get(rejected));
+            }
+        }
+        assertTrue(report.toString().contains("add_int32_t$buffer: BUFFER"), report.toString());
+    }
+
+    @Test
+    public void forcedTier() {
+        TestLib lib = load(TestLib.class, new HashMap<LibraryOption, Object>());
+        TierReport.Entry entry = getEntry(loadReport(lib), "add_int32_t$buffer");
+
+        assertEquals(Tier.Kind.BUFFER, entry.getTier());
+        assertEquals("not chosen by @Tier", entry.getRejections().get(Tier.Kind.STUB));
+        assertEquals("not chosen by @Tier", entry.getRejections().get(Tier.Kind.FAST_NUMERIC));
+        assertEquals(3, lib.add_int32_t$buffer(1, 2));
+    }
+
+    @Test
+    public void forbiddenTier() {
+        TestLib lib = load(TestLib.class, new HashMap<LibraryOption, Object>());
+        TierReport.Entry entry = getEntry(loadReport(lib), "add_int32_t$noStub");
+
+        assertNotEquals(Tier.Kind.STUB, entry.getTier());
+        assertEquals("forbidden by @Tier", entry.getRejections().get(Tier.Kind.STUB));
+        assertEquals(3, lib.add_int32_t$noStub(1, 2));
+    }
+
+    @Test
+    public void unsupportedForcedTierFallsBackToBuffer() {
+        TestLib lib = load(TestLib.class, new HashMap<LibraryOption, Object>());
+        TierReport report = loadReport(lib);
+
+        TierReport.Entry entry = getEntry(report, "add_double$fastInt");
+        assertEquals(Tier.Kind.BUFFER, entry.getTier());
+        assertNotNull(entry.getRejections().get(Tier.Kind.FAST_INT));
+        assertEquals(3d, lib.add_double$fastInt(1d, 2d));
+
+        entry = getEntry(report, "add_double$fastNumeric");
+        assertTrue(entry.getTier() == Tier.Kind.FAST_NUMERIC || entry.getTier() == Tier.Kind.BUFFER);
+        assertEquals(3d, lib.add_double$fastNumeric(1d, 2d));
+    }
+
+    @Test
+    public void unsupportedParameterIsReported() {
+        assumeTrue(Platform.getNativePlatform().getCPU() == Platform.CPU.X86_64);
+        TestLib lib = load(TestLib.class, new HashMap<LibraryOption, Object>());
+        TierReport.Entry entry = getEntry(loadReport(lib), "add_double$fastInt");
+
+        assertEquals("parameter 1 is double (DOUBLE)", entry.getRejections().get(Tier.Kind.FAST_INT));
+    }
+
+    @Test
+    public void methodAnnotationOverridesLibraryAnnotation() {
+        BufferLib lib = load(BufferLib.class, new HashMap<LibraryOption, Object>());
+        TierReport report = loadReport(lib);
+
+        assertEquals(Tier.Kind.BUFFER, getEntry(report, "add_int32_t").getTier());
+        // An empty method annotation allows every tier again
+        TierReport defaultReport = loadReport(load(TestLib.class, new HashMap<LibraryOption, Object>()));
+        assertEquals(getEntry(defaultReport, "add_int32_t").getTier(), getEntry(report, "add_int32_t$any").getTier());
+        assertEquals(3, lib.add_int32_t(1, 2));
+        assertEquals(3, lib.add_int32_t$any(1, 2));
+    }
+
+    @Test
+    public void libraryAnnotationAppliesToInheritedMethods() {
+        InheritingBufferLib lib = load(InheritingBufferLib.class, new HashMap<LibraryOption, Object>());
+        TierReport report = loadReport(lib);
+
+        assertEquals(Tier.Kind.BUFFER, getEntry(report, "add_int32_t").getTier());
+        assertEquals("not chosen by @Tier", getEntry(report, "add_int32_t").getRejections().get(Tier.Kind.STUB));
+        // Method annotations still take precedence
+        assertEquals("forbidden by @Tier", getEntry(report, "add_int32_t$noStub").getRejections().get(Tier.Kind.STUB));
+        assertEquals(3, lib.add_int32_t(1, 2));
+    }
+
+    @Test
+    public void lazyMethodsAreReportedWhenBound() throws Exception {
+        Map<LibraryOption, Object> options = new HashMap<LibraryOption, Object>();
+        options.put(LibraryOption.LazyBinding, Boolean.TRUE);
+        TestLib lib = load(TestLib.class, options);
+        TierReport report = loadReport(lib);
+
+        assertNull(report.getEntry(TestLib.class.getMethod("add_int32_t$buffer", int.class, int.class)));
+        assertEquals(3, lib.add_int32_t$buffer(1, 2));
+        assertEquals(Tier.Kind.BUFFER,
+                report.getEntry(TestLib.class.getMethod("add_int32_t$buffer", int.class, int.class)).getTier());
+        // The other methods are bound in the same batch
+        assertEquals(5, report.getEntries().size());
+    }
+
+    @Test
+    public void onlyKeptWhenRequested() {
+        Map<LibraryOption, Object> options = new HashMap<LibraryOption, Object>();
+        options.put(LibraryOption.FunctionMapper, FUNCTION_MAPPER);
+        TestLib lib = TstUtil.loadTestLib(TestLib.class, options);
+        assertEquals(3, lib.add_int32_t(1, 2));
+        assertNull(Runtime.getTierReport(lib));
+    }
+
+    @Test
+    public void notALibrary() {
+        assertNull(Runtime.getTierReport(Collections.emptyList()));
+    }
+}
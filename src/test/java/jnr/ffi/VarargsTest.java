@@ -13,6 +13,7 @@ import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class VarargsTest {
     public static interface C {
@@ -20,6 +21,8 @@ public class VarargsTest {
         public int snprintf(Pointer buffer, @size_t long bufferSize, String format, @size_t int value);
         @Variadic(fixedCount = 3)
         public int snprintf(Pointer buffer, @size_t long bufferSize, String format, long value);
+        @Variadic(fixedCount = 3)
+        public int snprintf(Pointer buffer, @size_t long bufferSize, String format, double d, String s, int i);
         public int snprintf(Pointer buffer, @size_t long bufferSize, String format, Object... varargs);
     }
 
@@ -66,6 +69,14 @@ public class VarargsTest {
         assertEquals("12345", result);
     }
 
+    @Test public void testFixedVariadicMixedTypes() {
+        Pointer ptr = Runtime.getRuntime(c).getMemoryManager().allocate(5000);
+        for (int i = 0; i < 3; i++) {
+            int size = c.snprintf(ptr, 5000, "%.2f %s %d", 2.5, "abc", i);
+            assertEquals("2.50 abc " + i, ptr.getString(0, size, Charset.defaultCharset()));
+        }
+    }
+
     @Test public void testMetaAscii() throws UnsupportedEncodingException {
         Pointer ptr = Runtime.getRuntime(c).getMemoryManager().allocate(5000);
         int size = c.snprintf(ptr, 5000, "%s", AsciiEncoding.class, "\u7684");
@@ -84,6 +95,26 @@ public class VarargsTest {
         assertEquals(expected, result);
     }
 
+    @Test public void testRepeatedCallsWithDifferentArguments() throws UnsupportedEncodingException {
+        Pointer ptr = Runtime.getRuntime(c).getMemoryManager().allocate(5000);
+        for (int i = 0; i < 3; i++) {
+            int size = c.snprintf(ptr, 5000, "%d %s %.1f", i, "abc", 1.5);
+            assertEquals(i + " abc 1.5", ptr.getString(0, size, Charset.defaultCharset()));
+
+            size = c.snprintf(ptr, 5000, "%s %d", "abc", i);
+            assertEquals("abc " + i, ptr.getString(0, size, Charset.defaultCharset()));
+
+            size = c.snprintf(ptr, 5000, "%s", UTF8Encoding.class, "\u7684");
+            assertEquals(3, size);
+
+            size = c.snprintf(ptr, 5000, "%s", AsciiEncoding.class, "\u7684");
+            assertEquals(1, size);
+
+            size = c.snprintf(ptr, 5000, "%p", (Object) null);
+            assertTrue(size > 0);
+        }
+    }
+
     @Meta
     @Encoding(value="ASCII")
     public static @interface AsciiEncoding {
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class NativeInvocationHandlerTest {
+
+    public static interface Lib {
+        int a(int i);
+        int b(int i);
+        int c(int i);
+        int d(int i);
+        int e(int i);
+        int f(int i);
+    }
+
+    /**
+     * Creates an invoker per method that returns the hash of the method name plus its argument, and counts
+     * how many times each method was looked up.
+     */
+    private static final class CountingInvokers extends AbstractMap<Method, Invoker> {
+        final Map<String, AtomicInteger> lookups = new ConcurrentHashMap<String, AtomicInteger>();
+
+        @Override
+        public Set<Entry<Method, Invoker>> entrySet() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Invoker get(Object key) {
+            final Method method = (Method) key;
+            if (method.getName().equals("f")) {
+                return null;
+            }
+
+            lookups.computeIfAbsent(method.getName(), name -> new AtomicInteger()).incrementAndGet();
+            return new Invoker() {
+                @Override
+                public Object invoke(Object self, Object[] parameters) {
+                    return method.getName().hashCode() + (Integer) parameters[0];
+                }
+            };
+        }
+    }
+
+    private static Lib newProxy(Map<Method, Invoker> invokers, int methodCount) {
+        return (Lib) Proxy.newProxyInstance(Lib.class.getClassLoader(), new Class[] { Lib.class },
+                new NativeInvocationHandler(invokers, methodCount));
+    }
+
+    @Test
+    public void invokersAreLookedUpOnce() {
+        CountingInvokers invokers = new CountingInvokers();
+        Lib lib = newProxy(invokers, 6);
+        for (int i = 0; i < 10; i++) {
+            assertEquals("a".hashCode() + i, lib.a(i));
+            assertEquals("b".hashCode() + i, lib.b(i));
+        }
+
+        assertEquals(1, invokers.lookups.get("a").get());
+        assertEquals(1, invokers.lookups.get("b").get());
+    }
+
+    @Test
+    public void missingInvoker() {
+        Lib lib = newProxy(new CountingInvokers(), 6);
+        assertThrows(UnsatisfiedLinkError.class, () -> lib.f(1));
+    }
+
+    @Test
+    public void concurrentFirstCalls() throws InterruptedException {
+        final Lib lib = newProxy(new CountingInvokers(), 6);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger failures = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < 1000; i++) {
+                        if (lib.a(i) != "a".hashCode() + i || lib.b(i) != "b".hashCode() + i
+                                || lib.c(i) != "c".hashCode() + i || lib.d(i) != "d".hashCode() + i
+                                || lib.e(i) != "e".hashCode() + i) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException ex) {
+                    failures.incrementAndGet();
+                }
+            });
+            threads[t].start();
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, failures.get());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.converters;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class CharSequenceParameterConverterTest {
+    private static final String[] STRINGS = {
+            "",
+            "hello, world",
+            "café crème brûlée",
+            "АБВ 中文 €",
+            "😀 smile 👍",
+            "unpaired \ud83d high",
+            "unpaired \ude00 low",
+            "trailing high \ud83d",
+            "\u007f\u0080߿ࠀ￿",
+    };
+
+    private static void assertEncoding(String charsetName) {
+        Charset charset = Charset.forName(charsetName);
+        CharSequenceParameterConverter converter = (CharSequenceParameterConverter)
+                CharSequenceParameterConverter.getInstance(charset, null);
+
+        for (String s : STRINGS) {
+            ByteBuffer buf = converter.toNative(s, null);
+            byte[] expected = s.getBytes(charset);
+            byte[] actual = Arrays.copyOfRange(buf.array(), buf.arrayOffset() + buf.position(), buf.arrayOffset() + buf.limit());
+
+            assertArrayEquals(expected, Arrays.copyOf(actual, expected.length), s);
+            assertEquals(0, actual[expected.length], "NUL terminator missing for " + s);
+        }
+    }
+
+    @Test
+    public void utf8() {
+        assertEncoding("UTF-8");
+    }
+
+    @Test
+    public void ascii() {
+        assertEncoding("US-ASCII");
+    }
+
+    @Test
+    public void latin1() {
+        assertEncoding("ISO-8859-1");
+    }
+
+    @Test
+    public void utf16() {
+        assertEncoding("UTF-16LE");
+    }
+
+    @Test
+    public void nullString() {
+        assertNull(CharSequenceParameterConverter.getInstance(Charset.forName("UTF-8"), null).toNative(null, null));
+    }
+
+    @Test
+    public void stringBuilder() {
+        CharSequence cs = new StringBuilder("café");
+        ByteBuffer buf = CharSequenceParameterConverter.getInstance(Charset.forName("UTF-8"), null).toNative(cs, null);
+        assertArrayEquals(new byte[] { 'c', 'a', 'f', (byte) 0xc3, (byte) 0xa9, 0 },
+                Arrays.copyOfRange(buf.array(), buf.position(), buf.limit()));
+    }
+}
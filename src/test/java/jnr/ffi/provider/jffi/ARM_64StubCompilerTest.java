@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import com.kenai.jffi.Function;
+import jnr.a64asm.Assembler_A64;
+import jnr.ffi.CallingConvention;
+import jnr.ffi.NativeType;
+import jnr.ffi.Runtime;
+import jnr.ffi.provider.ParameterType;
+import jnr.ffi.provider.ResultType;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The aarch64 stubs are only assembled here, so these tests run on any platform.
+ */
+public class ARM_64StubCompilerTest {
+    private static final int SXTW_X2_W2 = 0x93407c42;
+    private static final int STR_X0 = 0xf9000ba0;
+    private static final int STR_D0 = 0xfd000ba0;
+    private static final int LDR_D0 = 0xfd400ba0;
+    private static final int STR_S0 = 0xbd0013a0;
+    private static final int LDR_S0 = 0xbd4013a0;
+
+    private static ParameterType parameter(Class javaType, NativeType nativeType) {
+        return new ParameterType(javaType, nativeType, Collections.<Annotation>emptyList(), null, null);
+    }
+
+    private static ResultType result(Class javaType, NativeType nativeType) {
+        return new ResultType(javaType, nativeType, Collections.<Annotation>emptyList(), null, null);
+    }
+
+    private static Assembler_A64 compile(ResultType resultType, ParameterType[] parameterTypes, boolean saveErrno) {
+        ARM_64StubCompiler compiler = new ARM_64StubCompiler(Runtime.getSystemRuntime());
+        Class[] parameterClasses = new Class[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            parameterClasses[i] = parameterTypes[i].effectiveJavaType();
+        }
+        Function function = new Function(0x1000L, InvokerUtil.getCallContext(resultType, parameterTypes,
+                CallingConvention.DEFAULT, saveErrno));
+
+        compiler.compile(function, "test", resultType, parameterTypes, resultType.effectiveJavaType(),
+                parameterClasses, CallingConvention.DEFAULT, saveErrno);
+
+        return compiler.stubs_A64.get(0).assembler;
+    }
+
+    private static boolean contains(Assembler_A64 a, int instruction) {
+        for (int offset = 0; offset < a.offset(); offset += 4) {
+            if (a.getDWordAt(offset) == instruction) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Test
+    public void intAfterDoubleIsSignExtended() {
+        Assembler_A64 a = compile(result(int.class, NativeType.SINT),
+                new ParameterType[] { parameter(double.class, NativeType.DOUBLE), parameter(int.class, NativeType.SINT) },
+                false);
+
+        assertTrue(contains(a, SXTW_X2_W2));
+    }
+
+    @Test
+    public void doubleResultIsPreservedAcrossErrnoSave() {
+        Assembler_A64 a = compile(result(double.class, NativeType.DOUBLE),
+                new ParameterType[] { parameter(int.class, NativeType.SINT), parameter(double.class, NativeType.DOUBLE) },
+                true);
+
+        assertTrue(contains(a, STR_D0));
+        assertTrue(contains(a, LDR_D0));
+        assertFalse(contains(a, STR_X0));
+    }
+
+    @Test
+    public void floatResultIsPreservedAcrossErrnoSave() {
+        Assembler_A64 a = compile(result(float.class, NativeType.FLOAT),
+                new ParameterType[] { parameter(float.class, NativeType.FLOAT) }, true);
+
+        assertTrue(contains(a, STR_S0));
+        assertTrue(contains(a, LDR_S0));
+        assertFalse(contains(a, STR_X0));
+    }
+
+    @Test
+    public void intResultIsPreservedAcrossErrnoSave() {
+        Assembler_A64 a = compile(result(long.class, NativeType.SLONGLONG),
+                new ParameterType[] { parameter(long.class, NativeType.SLONGLONG) }, true);
+
+        assertTrue(contains(a, STR_X0));
+    }
+}
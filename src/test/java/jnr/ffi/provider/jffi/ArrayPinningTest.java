@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import com.kenai.jffi.ArrayFlags;
+import jnr.ffi.annotations.In;
+import jnr.ffi.annotations.Out;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArrayPinningTest {
+    private static final int THRESHOLD = 64;
+    private static final ArrayPinning PINNING = new ArrayPinning(THRESHOLD);
+
+    public static interface TestLib {
+        void ptr_set_int32_t(@Out int[] p, int offset, int value);
+        void ptr_set_int64_t(@In long[] p, int offset, long value);
+        void ptr_set_int8_t(@In byte[] p, int offset, byte value);
+    }
+
+    private static NativeLibrary library;
+
+    @BeforeAll
+    public static void setUpClass() {
+        String path = System.getProperty("jnr.ffi.library.path");
+        library = new NativeLibrary(Collections.singletonList("test"),
+                path != null ? Arrays.asList(path.split(File.pathSeparator)) : Collections.<String>emptyList(),
+                new HashMap<>());
+    }
+
+    @Test
+    public void sizeDependentArrays() {
+        assertTrue(PINNING.isSizeDependent(int[].class, ArrayFlags.IN | ArrayFlags.OUT));
+        assertTrue(PINNING.isSizeDependent(int[].class, ArrayFlags.OUT));
+        assertFalse(PINNING.isSizeDependent(int[].class, ArrayFlags.IN | ArrayFlags.NULTERMINATE),
+                "@In array is NUL terminated");
+        assertFalse(PINNING.isSizeDependent(byte[].class, ArrayFlags.IN | ArrayFlags.OUT | ArrayFlags.NULTERMINATE),
+                "@NulTerminate array");
+        assertFalse(PINNING.isSizeDependent(int[].class, ArrayFlags.IN | ArrayFlags.OUT | ArrayFlags.PINNED),
+                "@Pinned array is always pinned");
+        assertFalse(PINNING.isSizeDependent(Object[].class, ArrayFlags.IN | ArrayFlags.OUT));
+        assertFalse(new ArrayPinning(-1).isSizeDependent(int[].class, ArrayFlags.IN | ArrayFlags.OUT),
+                "no threshold");
+    }
+
+    @Test
+    public void minimumLength() {
+        assertEquals(64, PINNING.minimumLength(byte[].class));
+        assertEquals(16, PINNING.minimumLength(int[].class));
+        assertEquals(8, PINNING.minimumLength(double[].class));
+        assertEquals(3, new ArrayPinning(20).minimumLength(long[].class));
+    }
+
+    /**
+     * An {@code @Out} array is not copied to native memory before the call, so only a pinned array keeps the elements
+     * the function does not store; an {@code @In} array is not copied back after the call, so the value the function
+     * stores is only seen in a pinned array.
+     */
+    private static void assertPinnedFromThreshold(TestLib lib) {
+        int[] pinned = new int[THRESHOLD / 4];
+        Arrays.fill(pinned, 7);
+        lib.ptr_set_int32_t(pinned, 0, 42);
+        int[] expected = new int[pinned.length];
+        Arrays.fill(expected, 7);
+        expected[0] = 42;
+        assertArrayEquals(expected, pinned, "array at the threshold is pinned");
+
+        long[] in = new long[THRESHOLD];
+        lib.ptr_set_int64_t(in, 0, 42L);
+        assertEquals(0L, in[0], "@In array is copied");
+
+        byte[] string = new byte[THRESHOLD * 4];
+        lib.ptr_set_int8_t(string, 0, (byte) 42);
+        assertEquals(0, string[0], "@In byte array is copied");
+    }
+
+    @Test
+    public void asmLibraryLoader() {
+        assertPinnedFromThreshold(new AsmLibraryLoader(PINNING)
+                .loadLibrary(library, TestLib.class, Collections.emptyMap(), true));
+    }
+
+    @Test
+    public void reflectionLibraryLoader() {
+        assertPinnedFromThreshold(new ReflectionLibraryLoader(PINNING)
+                .loadLibrary(library, TestLib.class, Collections.emptyMap(), true));
+    }
+}
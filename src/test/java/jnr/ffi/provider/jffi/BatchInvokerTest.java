@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import com.kenai.jffi.Platform;
+import jnr.ffi.CallingConvention;
+import jnr.ffi.annotations.Batch;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BatchInvokerTest {
+
+    public static interface TestLib {
+        @Batch double[] add_double(double[] d1, double[] d2);
+        @Batch long[] weightedIIIIII(int[] i1, int[] i2, int[] i3, int[] i4, int[] i5, int[] i6);
+        @Batch int[] add_int32_t(int[] i1, Object[] i2);
+        @Batch byte[] add_int8_t(byte[] b1, byte[] b2);
+        @Batch short[] add_int16_t(short[] s1, short[] s2);
+    }
+
+    private static NativeLibrary library;
+
+    @BeforeAll
+    public static void setUpClass() {
+        String path = System.getProperty("jnr.ffi.library.path");
+        library = new NativeLibrary(Collections.singletonList("test"),
+                path != null ? Arrays.asList(path.split(File.pathSeparator)) : Collections.<String>emptyList(),
+                new HashMap<>());
+    }
+
+    private static Method getMethod(String methodName) {
+        for (Method m : TestLib.class.getMethods()) {
+            if (m.getName().equals(methodName)) {
+                return m;
+            }
+        }
+        throw new IllegalArgumentException(methodName);
+    }
+
+    private static Object invoke(String methodName, boolean compileStub, Object... arrays) {
+        Method method = getMethod(methodName);
+        BatchInvoker invoker = BatchInvoker.create(method, library.getSymbolAddress(methodName),
+                CallingConvention.DEFAULT, compileStub);
+        assertEquals(compileStub && Platform.getPlatform().getCPU() == Platform.CPU.X86_64
+                && Platform.getPlatform().getOS() != Platform.OS.WINDOWS, invoker.hasStub());
+        return invoker.invoke(null, arrays);
+    }
+
+    @Test
+    public void stubAndFallbackAgree() {
+        int count = BatchInvoker.CHUNK_SIZE + 3;
+        double[] d1 = new double[count], d2 = new double[count];
+        int[][] ints = new int[6][count];
+        for (int i = 0; i < count; i++) {
+            d1[i] = i * 0.5;
+            d2[i] = -i;
+            for (int j = 0; j < ints.length; j++) {
+                ints[j][i] = i * (j + 1) - j;
+            }
+        }
+
+        assertArrayEquals((double[]) invoke("add_double", false, d1, d2), (double[]) invoke("add_double", true, d1, d2));
+        assertArrayEquals((long[]) invoke("weightedIIIIII", false, (Object[]) ints),
+                (long[]) invoke("weightedIIIIII", true, (Object[]) ints));
+    }
+
+    @Test
+    public void narrowIntegers() {
+        byte[] b1 = { -128, -1, 0, 1, 100 }, b2 = { 1, -2, 0, 2, 27 };
+        short[] s1 = { -32768, -1, 0, 1, 30000 }, s2 = { 1, -2, 0, 2, 2767 };
+        byte[] bytes = { -127, -3, 0, 3, 127 };
+        short[] shorts = { -32767, -3, 0, 3, 32767 };
+
+        for (boolean compileStub : new boolean[] { false, true }) {
+            assertArrayEquals(bytes, (byte[]) invoke("add_int8_t", compileStub, b1, b2));
+            assertArrayEquals(shorts, (short[]) invoke("add_int16_t", compileStub, s1, s2));
+        }
+    }
+
+    @Test
+    public void unsupportedParameter() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchInvoker.create(getMethod("add_int32_t"), 0L, CallingConvention.DEFAULT, false));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import jnr.ffi.Runtime;
+import jnr.ffi.provider.Invoker;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BlockingInvokerTest {
+    private final Runtime runtime = Runtime.getSystemRuntime();
+
+    @Test
+    public void platformThreadIsNotVirtual() {
+        assertFalse(BlockingInvoker.isVirtual(Thread.currentThread()));
+    }
+
+    @Test
+    public void lastErrorIsCopiedToTheCallingThread() {
+        final Thread caller = Thread.currentThread();
+        Invoker invoker = new Invoker() {
+            public Object invoke(Object self, Object[] parameters) {
+                assertNotSame(caller, Thread.currentThread());
+                runtime.setLastError(42);
+                return "result";
+            }
+        };
+
+        runtime.setLastError(0);
+        BlockingInvoker blockingInvoker = new BlockingInvoker(runtime, invoker, null, false, false);
+        assertEquals("result", blockingInvoker.invokeOnExecutor(null, new Object[0]));
+        assertEquals(42, runtime.getLastError());
+    }
+
+    @Test
+    public void exceptionsAreRethrown() {
+        Invoker invoker = new Invoker() {
+            public Object invoke(Object self, Object[] parameters) {
+                throw new IllegalStateException("failed");
+            }
+        };
+
+        BlockingInvoker blockingInvoker = new BlockingInvoker(runtime, invoker, null, false, false);
+        assertEquals("failed", assertThrows(IllegalStateException.class,
+                () -> blockingInvoker.invokeOnExecutor(null, new Object[0])).getMessage());
+    }
+}
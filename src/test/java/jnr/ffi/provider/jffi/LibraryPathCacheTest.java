@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import jnr.ffi.LibraryOption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class LibraryPathCacheTest {
+    private static final Map<LibraryOption, Object> NO_OPTIONS = Collections.emptyMap();
+
+    @TempDir
+    File tempDir;
+
+    private File library(String name, int size) throws IOException {
+        File lib = new File(tempDir, name);
+        Files.write(lib.toPath(), new byte[size]);
+        return lib;
+    }
+
+    @Test
+    public void pathIsPersisted() throws IOException {
+        File cacheFile = new File(tempDir, "cache/paths.properties");
+        List<String> searchPaths = Arrays.asList(tempDir.getPath(), "/usr/lib");
+        String path = library("libfoo.so", 16).getAbsolutePath();
+
+        new LibraryPathCache(cacheFile).put("foo", searchPaths, NO_OPTIONS, path);
+
+        LibraryPathCache cache = new LibraryPathCache(cacheFile);
+        assertEquals(path, cache.get("foo", searchPaths, NO_OPTIONS));
+        assertNull(cache.get("bar", searchPaths, NO_OPTIONS));
+        assertNull(cache.get("foo", Collections.singletonList("/usr/lib"), NO_OPTIONS));
+        assertNull(cache.get("foo", searchPaths, Collections.<LibraryOption, Object>singletonMap(LibraryOption.PreferCustomPaths, true)));
+    }
+
+    @Test
+    public void changedLibraryIsIgnored() throws IOException {
+        File cacheFile = new File(tempDir, "paths.properties");
+        List<String> searchPaths = Collections.singletonList(tempDir.getPath());
+        File lib = library("libfoo.so", 16);
+
+        new LibraryPathCache(cacheFile).put("foo", searchPaths, NO_OPTIONS, lib.getAbsolutePath());
+        library("libfoo.so", 32);
+
+        assertNull(new LibraryPathCache(cacheFile).get("foo", searchPaths, NO_OPTIONS));
+    }
+
+    @Test
+    public void deletedLibraryIsIgnored() throws IOException {
+        File cacheFile = new File(tempDir, "paths.properties");
+        List<String> searchPaths = Collections.singletonList(tempDir.getPath());
+        File lib = library("libfoo.so", 16);
+
+        LibraryPathCache cache = new LibraryPathCache(cacheFile);
+        cache.put("foo", searchPaths, NO_OPTIONS, lib.getAbsolutePath());
+        assertEquals(lib.getAbsolutePath(), cache.get("foo", searchPaths, NO_OPTIONS));
+
+        lib.delete();
+        assertNull(cache.get("foo", searchPaths, NO_OPTIONS));
+    }
+
+    @Test
+    public void relativePathsAreNotCached() throws IOException {
+        File cacheFile = new File(tempDir, "paths.properties");
+        List<String> searchPaths = Collections.emptyList();
+
+        LibraryPathCache cache = new LibraryPathCache(cacheFile);
+        cache.put("foo", searchPaths, NO_OPTIONS, "libfoo.so");
+        assertNull(cache.get("foo", searchPaths, NO_OPTIONS));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import jnr.ffi.Pointer;
+import jnr.ffi.Runtime;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class NativeMemoryPoolTest {
+    private static Runtime runtime;
+    private static NativeMemoryPool pool;
+
+    @BeforeAll
+    public static void setUpClass() {
+        runtime = Runtime.getSystemRuntime();
+        pool = NativeMemoryPool.getInstance();
+    }
+
+    @Test
+    public void closedMemoryIsReused() {
+        DirectMemoryIO first = pool.allocate(runtime, 1000, true);
+        long address = first.address();
+        first.close();
+
+        long hits = pool.getHitCount();
+        DirectMemoryIO second = pool.allocate(runtime, 1024, true);
+        try {
+            assertEquals(address, second.address());
+            assertEquals(1024, second.size());
+            assertEquals(hits + 1, pool.getHitCount());
+        } finally {
+            second.close();
+        }
+    }
+
+    @Test
+    public void sizeClassesAreSeparate() {
+        DirectMemoryIO small = pool.allocate(runtime, 600, false);
+        long address = small.address();
+        small.close();
+
+        DirectMemoryIO large = pool.allocate(runtime, 4000, false);
+        try {
+            assertNotEquals(address, large.address());
+        } finally {
+            large.close();
+        }
+    }
+
+    @Test
+    public void closeIsIdempotent() {
+        DirectMemoryIO memory = pool.allocate(runtime, 2048, false);
+        long releases = pool.getReleaseCount();
+        memory.close();
+        memory.close();
+        assertEquals(releases + 1, pool.getReleaseCount());
+    }
+
+    @Test
+    public void reusedMemoryIsCleared() {
+        DirectMemoryIO first = pool.allocate(runtime, 512, false);
+        first.putLong(0, 0xdeadbeefL);
+        first.putLong(504, 0xdeadbeefL);
+        first.close();
+
+        DirectMemoryIO second = pool.allocate(runtime, 512, true);
+        try {
+            assertEquals(0L, second.getLong(0));
+            assertEquals(0L, second.getLong(504));
+        } finally {
+            second.close();
+        }
+    }
+
+    @Test
+    public void closeOwningPointer() {
+        Pointer memory = new jnr.ffi.provider.BoundedMemoryIO(pool.allocate(runtime, 8192, false), 0, 8000, true);
+        long releases = pool.getReleaseCount();
+        memory.putInt(7996, 1);
+        memory.close();
+        assertEquals(releases + 1, pool.getReleaseCount());
+    }
+
+    @Test
+    public void collectedMemoryIsSharedWithOtherThreads() throws InterruptedException {
+        long releases = pool.getReleaseCount();
+        long address = allocateAndDrop(16384);
+        for (int i = 0; i < 100 && pool.getReleaseCount() == releases; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertEquals(releases + 1, pool.getReleaseCount(), "memory was not collected");
+
+        // The finalizer thread released the block, so it must be in the shared list rather than in its own cache
+        final AtomicLong reused = new AtomicLong();
+        Thread thread = new Thread(() -> {
+            DirectMemoryIO memory = pool.allocate(runtime, 16384, false);
+            reused.set(memory.address());
+            memory.close();
+        });
+        thread.start();
+        thread.join();
+        assertEquals(address, reused.get());
+    }
+
+    private static long allocateAndDrop(long size) {
+        return pool.allocate(runtime, size, false).address();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.provider.jffi;
+
+import jnr.ffi.Pointer;
+import jnr.ffi.Runtime;
+import jnr.ffi.Struct;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class StructAccessorTest {
+    private static final Runtime runtime = Runtime.getSystemRuntime();
+
+    public static class Sample extends Struct {
+        public final Signed8 s8 = new Signed8();
+        public final Unsigned8 u8 = new Unsigned8();
+        public final Unsigned16 u16 = new Unsigned16();
+        public final Unsigned32 u32 = new Unsigned32();
+        public final Signed64 s64 = new Signed64();
+        public final SignedLong slong = new SignedLong();
+        public final Float f = new Float();
+        public final Double d = new Double();
+        public final Pointer p = new Pointer();
+        public final UTF8String name = new UTF8String(8);
+
+        public Sample(Runtime runtime) {
+            super(runtime);
+        }
+    }
+
+    public interface SampleAccessor {
+        byte s8(jnr.ffi.Pointer memory);
+        int u8(jnr.ffi.Pointer memory);
+        int u16(jnr.ffi.Pointer memory);
+        long u32(jnr.ffi.Pointer memory);
+        long s64(jnr.ffi.Pointer memory);
+        long slong(jnr.ffi.Pointer memory);
+        double f(jnr.ffi.Pointer memory);
+        double d(jnr.ffi.Pointer memory);
+        jnr.ffi.Pointer p(jnr.ffi.Pointer memory);
+
+        void s8(jnr.ffi.Pointer memory, int value);
+        void u32(jnr.ffi.Pointer memory, long value);
+        void f(jnr.ffi.Pointer memory, double value);
+        void p(jnr.ffi.Pointer memory, jnr.ffi.Pointer value);
+    }
+
+    public interface SampleAddressAccessor {
+        int u16(long address);
+        long u32(long address);
+        long s64(long address);
+        double d(long address);
+        long p(long address);
+
+        void s64(long address, long value);
+        void d(long address, double value);
+    }
+
+    public interface UnknownFieldAccessor {
+        int missing(jnr.ffi.Pointer memory);
+    }
+
+    public interface StringFieldAccessor {
+        int name(jnr.ffi.Pointer memory);
+    }
+
+    private Sample sample;
+
+    @BeforeEach
+    public void setUp() {
+        assumeTrue(NativeLibraryLoader.ASM_ENABLED, "struct accessors are generated by the asm library loader");
+        sample = new Sample(runtime);
+        sample.useMemory(runtime.getMemoryManager().allocateDirect(Struct.size(sample), true));
+        sample.s8.set((byte) -5);
+        sample.u8.set((short) 0xfe);
+        sample.u16.set(0xfedc);
+        sample.u32.set(0xfedcba98L);
+        sample.s64.set(-0x123456789L);
+        sample.slong.set(-42L);
+        sample.f.set(1.5f);
+        sample.d.set(-2.25);
+        sample.p.set(runtime.getMemoryManager().newPointer(0xdead0L));
+    }
+
+    @Test
+    public void readsFieldsThroughPointer() {
+        SampleAccessor accessor = Struct.getAccessor(runtime, Sample.class, SampleAccessor.class);
+        jnr.ffi.Pointer memory = Struct.getMemory(sample);
+        assertEquals(-5, accessor.s8(memory));
+        assertEquals(0xfe, accessor.u8(memory));
+        assertEquals(0xfedc, accessor.u16(memory));
+        assertEquals(0xfedcba98L, accessor.u32(memory));
+        assertEquals(-0x123456789L, accessor.s64(memory));
+        assertEquals(-42L, accessor.slong(memory));
+        assertEquals(1.5, accessor.f(memory), 0);
+        assertEquals(-2.25, accessor.d(memory), 0);
+        assertEquals(0xdead0L, accessor.p(memory).address());
+    }
+
+    @Test
+    public void writesFieldsThroughPointer() {
+        SampleAccessor accessor = Struct.getAccessor(runtime, Sample.class, SampleAccessor.class);
+        jnr.ffi.Pointer memory = Struct.getMemory(sample);
+        accessor.s8(memory, 0x17f);
+        accessor.u32(memory, 0xffffffffL);
+        accessor.f(memory, 0.5);
+        accessor.p(memory, runtime.getMemoryManager().newPointer(0xbeef0L));
+        assertEquals(127, sample.s8.get());
+        assertEquals(0xffffffffL, sample.u32.get());
+        assertEquals(0.5f, sample.f.get(), 0);
+        assertEquals(0xbeef0L, sample.p.get().address());
+    }
+
+    @Test
+    public void accessesFieldsByAddress() {
+        SampleAddressAccessor accessor = Struct.getAccessor(runtime, Sample.class, SampleAddressAccessor.class);
+        long address = Struct.getMemory(sample).address();
+        assertEquals(0xfedc, accessor.u16(address));
+        assertEquals(0xfedcba98L, accessor.u32(address));
+        assertEquals(-2.25, accessor.d(address), 0);
+        assertEquals(0xdead0L, accessor.p(address));
+
+        accessor.s64(address, Long.MAX_VALUE);
+        accessor.d(address, 3.75);
+        assertEquals(Long.MAX_VALUE, sample.s64.get());
+        assertEquals(3.75, sample.d.get(), 0);
+    }
+
+    @Test
+    public void accessorIsCached() {
+        assertSame(Struct.getAccessor(runtime, Sample.class, SampleAccessor.class),
+                Struct.getAccessor(runtime, Sample.class, SampleAccessor.class));
+    }
+
+    @Test
+    public void unsupportedFields() {
+        Throwable missing = assertThrows(IllegalArgumentException.class,
+                () -> Struct.getAccessor(runtime, Sample.class, UnknownFieldAccessor.class));
+        assertTrue(missing.getMessage().contains("missing"));
+        assertThrows(IllegalArgumentException.class,
+                () -> Struct.getAccessor(runtime, Sample.class, StringFieldAccessor.class));
+    }
+}
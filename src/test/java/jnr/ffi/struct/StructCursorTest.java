@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2026 The JNR project
+ *
+ * This file is part of the JNR project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jnr.ffi.struct;
+
+import jnr.ffi.Memory;
+import jnr.ffi.Pointer;
+import jnr.ffi.Runtime;
+import jnr.ffi.StructCursor;
+import jnr.ffi.StructLayout;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StructCursorTest {
+    private static final Runtime runtime = Runtime.getSystemRuntime();
+
+    public static final class Event extends StructLayout {
+        public final Unsigned32 events = new Unsigned32();
+        public final Signed64 data = new Signed64();
+
+        public Event(Runtime runtime) {
+            super(runtime);
+        }
+    }
+
+    private static final Event layout = new Event(runtime);
+
+    private static Pointer newEvents(int count, long stride) {
+        Pointer memory = Memory.allocateDirect(runtime, (int) (stride * count), true);
+        for (int i = 0; i < count; i++) {
+            layout.events.set(memory.slice(i * stride), i + 1);
+            layout.data.set(memory.slice(i * stride), i * 100L);
+        }
+        return memory;
+    }
+
+    @Test
+    public void iteratesElements() {
+        StructCursor cursor = new StructCursor(layout);
+        Pointer memory = newEvents(5, layout.size());
+        long events = 0, data = 0;
+        int visited = 0;
+        for (cursor.reset(memory, 5); cursor.next(); ) {
+            assertEquals(visited++, cursor.index());
+            events += layout.events.get(cursor);
+            data += layout.data.get(cursor);
+        }
+        assertEquals(5, visited);
+        assertEquals(15, events);
+        assertEquals(1000, data);
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    public void reusedAcrossBuffers() {
+        StructCursor cursor = new StructCursor(layout);
+        cursor.reset(newEvents(2, layout.size()), 2);
+        while (cursor.next()) {
+            layout.data.set(cursor, -1);
+        }
+
+        Pointer memory = newEvents(3, layout.size());
+        cursor.reset(memory, 3);
+        assertTrue(cursor.next());
+        assertEquals(0, layout.data.get(cursor));
+        assertEquals(200, layout.data.get(cursor.moveTo(2)));
+        assertEquals(3, layout.events.get(cursor.current()));
+    }
+
+    @Test
+    public void paddedStride() {
+        long stride = layout.size() + 16;
+        StructCursor cursor = new StructCursor(layout, stride);
+        cursor.reset(newEvents(3, stride), 3);
+        cursor.moveTo(1);
+        assertEquals(2, layout.events.get(cursor));
+        assertEquals(100, layout.data.get(cursor));
+        assertEquals(stride, cursor.current().size());
+    }
+
+    @Test
+    public void notOnAnElement() {
+        StructCursor cursor = new StructCursor(layout);
+        assertThrows(IllegalStateException.class, () -> layout.events.get(cursor));
+        cursor.reset(newEvents(1, layout.size()), 1);
+        assertThrows(IllegalStateException.class, () -> layout.events.get(cursor));
+        assertTrue(cursor.next());
+        assertFalse(cursor.next());
+        assertThrows(IllegalStateException.class, () -> layout.events.get(cursor));
+        assertThrows(IndexOutOfBoundsException.class, () -> cursor.moveTo(1));
+        assertThrows(IllegalArgumentException.class, () -> new StructCursor(layout, layout.size() - 1));
+    }
+}